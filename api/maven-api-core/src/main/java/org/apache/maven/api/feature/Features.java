@@ -37,6 +37,49 @@ public final class Features {
      */
     public static final String BUILDCONSUMER = "maven.buildconsumer";
 
+    /**
+     * Name of the Maven user property to enable or disable the persistent cache of the models read from the local
+     * repository.
+     */
+    public static final String PERSISTENT_MODEL_CACHE = "maven.modelCache.persistent";
+
+    /**
+     * Name of the Maven user property to enable or disable the persistent index of the plugin descriptors of the
+     * plugins in the local repository.
+     */
+    public static final String PERSISTENT_PLUGIN_DESCRIPTOR_INDEX = "maven.pluginDescriptorIndex.persistent";
+
+    /**
+     * Name of the Maven user property to enable or disable the deferred parsing of the XML configurations of the POMs.
+     */
+    public static final String DEFERRED_XML_NODES = "maven.modelBuilder.deferredXmlNodes";
+
+    /**
+     * Name of the Maven user property to enable or disable the sharing of plugin realms between the projects whose
+     * build extensions do not export classes.
+     */
+    public static final String SHARED_PLUGIN_REALMS = "maven.pluginRealm.shared";
+
+    /**
+     * Name of the Maven user property to enable or disable the reuse of the effective models of the reactor projects
+     * whose inputs did not change since they were last built by the same project builder.
+     */
+    public static final String INCREMENTAL_PROJECT_BUILDING = "maven.projectBuilder.incremental";
+
+    /**
+     * Name of the Maven user property to enable or disable the asynchronous notification of the event spies. The
+     * execution events are then delivered as snapshots of the current project of the build thread, the other events
+     * are delivered as is.
+     */
+    public static final String ASYNC_EVENT_SPIES = "maven.eventSpy.async";
+
+    /**
+     * Name of the Maven user or system property to enable or disable the pipelining of the project builds at mojo
+     * granularity by the multithreaded builder. Unlike the other features, it is also read from the system
+     * properties, so it has no accessor here.
+     */
+    public static final String BUILDER_PIPELINING = "maven.builder.pipelining";
+
     private Features() {}
 
     /**
@@ -60,6 +103,48 @@ public static boolean buildConsumer(@Nullable Session session) {
         return buildConsumer(session != null ? session.getUserProperties() : null);
     }
 
+    /**
+     * Check if the persistent model cache feature is active.
+     */
+    public static boolean persistentModelCache(@Nullable Map<String, String> userProperties) {
+        return doGet(userProperties, PERSISTENT_MODEL_CACHE, false);
+    }
+
+    /**
+     * Check if the persistent plugin descriptor index feature is active.
+     */
+    public static boolean persistentPluginDescriptorIndex(@Nullable Map<String, String> userProperties) {
+        return doGet(userProperties, PERSISTENT_PLUGIN_DESCRIPTOR_INDEX, false);
+    }
+
+    /**
+     * Check if the deferred XML nodes feature is active.
+     */
+    public static boolean deferredXmlNodes(@Nullable Map<String, String> userProperties) {
+        return doGet(userProperties, DEFERRED_XML_NODES, false);
+    }
+
+    /**
+     * Check if the shared plugin realms feature is active.
+     */
+    public static boolean sharedPluginRealms(@Nullable Map<String, String> userProperties) {
+        return doGet(userProperties, SHARED_PLUGIN_REALMS, false);
+    }
+
+    /**
+     * Check if the incremental project building feature is active.
+     */
+    public static boolean incrementalProjectBuilding(@Nullable Map<String, String> userProperties) {
+        return doGet(userProperties, INCREMENTAL_PROJECT_BUILDING, false);
+    }
+
+    /**
+     * Check if the asynchronous event spies feature is active.
+     */
+    public static boolean asyncEventSpies(@Nullable Properties userProperties) {
+        return doGet(userProperties, ASYNC_EVENT_SPIES, false);
+    }
+
     private static boolean doGet(Properties userProperties, String key, boolean def) {
         return doGet(userProperties != null ? userProperties.get(key) : null, def);
     }
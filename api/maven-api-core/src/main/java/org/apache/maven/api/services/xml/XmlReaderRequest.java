@@ -66,6 +66,17 @@ public interface XmlReaderRequest {
 
     boolean isAddDefaultEntities();
 
+    /**
+     * Whether nested XML content, such as plugin configurations, may be parsed lazily when it is first accessed
+     * instead of when the document is read. Implementations are free to ignore this hint.
+     *
+     * @return {@code true} if nested XML content may be parsed lazily
+     * @since 4.0.0
+     */
+    default boolean isDeferXmlNodes() {
+        return false;
+    }
+
     interface Transformer {
         /**
          * Interpolate the value read from the xml document
@@ -95,6 +106,7 @@ class XmlReaderRequestBuilder {
         String modelId;
         String location;
         boolean addDefaultEntities = true;
+        boolean deferXmlNodes;
 
         public XmlReaderRequestBuilder path(Path path) {
             this.path = path;
@@ -146,6 +158,11 @@ public XmlReaderRequestBuilder addDefaultEntities(boolean addDefaultEntities) {
             return this;
         }
 
+        public XmlReaderRequestBuilder deferXmlNodes(boolean deferXmlNodes) {
+            this.deferXmlNodes = deferXmlNodes;
+            return this;
+        }
+
         public XmlReaderRequest build() {
             return new DefaultXmlReaderRequest(
                     path,
@@ -157,7 +174,8 @@ public XmlReaderRequest build() {
                     strict,
                     modelId,
                     location,
-                    addDefaultEntities);
+                    addDefaultEntities,
+                    deferXmlNodes);
         }
 
         private static class DefaultXmlReaderRequest implements XmlReaderRequest {
@@ -171,6 +189,7 @@ private static class DefaultXmlReaderRequest implements XmlReaderRequest {
             final String modelId;
             final String location;
             final boolean addDefaultEntities;
+            final boolean deferXmlNodes;
 
             @SuppressWarnings("checkstyle:ParameterNumber")
             DefaultXmlReaderRequest(
@@ -183,7 +202,8 @@ private static class DefaultXmlReaderRequest implements XmlReaderRequest {
                     boolean strict,
                     String modelId,
                     String location,
-                    boolean addDefaultEntities) {
+                    boolean addDefaultEntities,
+                    boolean deferXmlNodes) {
                 this.path = path;
                 this.rootDirectory = rootDirectory;
                 this.url = url;
@@ -194,6 +214,7 @@ private static class DefaultXmlReaderRequest implements XmlReaderRequest {
                 this.modelId = modelId;
                 this.location = location;
                 this.addDefaultEntities = addDefaultEntities;
+                this.deferXmlNodes = deferXmlNodes;
             }
 
             @Override
@@ -244,6 +265,11 @@ public String getLocation() {
             public boolean isAddDefaultEntities() {
                 return addDefaultEntities;
             }
+
+            @Override
+            public boolean isDeferXmlNodes() {
+                return deferXmlNodes;
+            }
         }
     }
 }
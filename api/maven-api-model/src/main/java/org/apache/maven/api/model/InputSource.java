@@ -64,6 +64,16 @@ public String getModelId() {
         return this.modelId;
     }
 
+    /**
+     * Get the sources this source has been merged from, or {@code null} if not merged.
+     *
+     * @return the merged sources
+     * @since 4.0.0
+     */
+    public List<InputSource> getInputs() {
+        return this.inputs;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
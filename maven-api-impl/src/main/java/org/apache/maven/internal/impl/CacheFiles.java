@@ -0,0 +1,148 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.internal.impl;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.zip.CRC32C;
+
+/**
+ * Reads and writes the binary cache files derived from a source file, such as the models of the POMs or the plugin
+ * descriptors of the JARs of the local repository. A cache file starts with a magic number and a format version,
+ * followed by the size, the modification time and the checksum of its source, and is only read as long as the source
+ * is unchanged. The source is only hashed again when its modification time changed, or is too close to the time the
+ * cache file was written to tell a later change apart.
+ * <p>
+ * Cache files are written to a temporary file first, then moved in place, so that concurrent builds never read a
+ * partially written file.
+ * </p>
+ * <strong>NOTE:</strong> This class is not part of any public api and can be changed or deleted without prior notice.
+ *
+ * @since 4.0.0
+ */
+public final class CacheFiles {
+
+    private static final long MODIFICATION_TIME_RESOLUTION = 2000L;
+
+    /**
+     * Reads the content of a cache file, after its header.
+     *
+     * @param <T> the type of the content
+     */
+    @FunctionalInterface
+    public interface Reader<T> {
+        T read(InputStream in) throws IOException;
+    }
+
+    /**
+     * Writes the content of a cache file, after its header.
+     */
+    @FunctionalInterface
+    public interface Writer {
+        void write(OutputStream out) throws IOException;
+    }
+
+    private CacheFiles() {}
+
+    /**
+     * Reads a cache file.
+     *
+     * @param file the cache file
+     * @param source the file the cache file is derived from
+     * @param magic the magic number of the cache file
+     * @param formatVersion the format version of the cache file
+     * @param reader the reader of the content of the cache file
+     * @return the content, or {@code null} if the cache file does not exist, has another format or if the source has
+     *         changed since it was written
+     * @throws IOException if the cache file cannot be read
+     */
+    public static <T> T read(Path file, Path source, int magic, int formatVersion, Reader<T> reader)
+            throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != magic || in.readInt() != formatVersion) {
+                return null;
+            }
+            long size = in.readLong();
+            long lastModified = in.readLong();
+            long checksum = in.readLong();
+            BasicFileAttributes attributes = Files.readAttributes(source, BasicFileAttributes.class);
+            if (size != attributes.size()) {
+                return null;
+            }
+            boolean unchanged = lastModified == attributes.lastModifiedTime().toMillis()
+                    && Files.getLastModifiedTime(file).toMillis() - lastModified >= MODIFICATION_TIME_RESOLUTION;
+            if (!unchanged && checksum != checksum(source)) {
+                return null;
+            }
+            return reader.read(in);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Writes a cache file.
+     *
+     * @param file the cache file
+     * @param source the file the cache file is derived from
+     * @param magic the magic number of the cache file
+     * @param formatVersion the format version of the cache file
+     * @param writer the writer of the content of the cache file
+     * @throws IOException if the cache file cannot be written
+     */
+    public static void write(Path file, Path source, int magic, int formatVersion, Writer writer) throws IOException {
+        Files.createDirectories(file.getParent());
+        Path tmp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(source, BasicFileAttributes.class);
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeInt(magic);
+                out.writeInt(formatVersion);
+                out.writeLong(attributes.size());
+                out.writeLong(attributes.lastModifiedTime().toMillis());
+                out.writeLong(checksum(source));
+                writer.write(out);
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    private static long checksum(Path source) throws IOException {
+        CRC32C crc = new CRC32C();
+        byte[] buffer = new byte[8192];
+        try (InputStream is = Files.newInputStream(source)) {
+            for (int n; (n = is.read(buffer)) >= 0; ) {
+                crc.update(buffer, 0, n);
+            }
+        }
+        return crc.getValue();
+    }
+}
@@ -18,6 +18,9 @@
  */
 package org.apache.maven.internal.impl;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import java.util.regex.Pattern;
 
 import org.apache.maven.api.Version;
@@ -33,28 +36,50 @@
 
 import static java.util.Objects.requireNonNull;
 
+/**
+ * A model version parser backed by a resolver version scheme. As this parser is a singleton, the parsed versions,
+ * ranges and constraints, which are immutable, are cached for the whole process, bounded by the
+ * {@value #MAX_ENTRIES} system property.
+ */
 @Named
 @Singleton
 public class DefaultModelVersionParser implements ModelVersionParser {
+    /**
+     * System property for the maximum number of entries of each cache of parsed values. It has the same meaning as
+     * for the version cache of {@code maven-artifact}: each cache keeps at most that many entries, in two generations
+     * of half that size.
+     *
+     * @since 4.0.0
+     */
+    public static final String MAX_ENTRIES = "maven.versionCache.maxEntries";
+
+    private static final int DEFAULT_MAX_ENTRIES = 16384;
     private static final String SNAPSHOT = "SNAPSHOT";
     private static final Pattern SNAPSHOT_TIMESTAMP = Pattern.compile("^(.*-)?([0-9]{8}\\.[0-9]{6}-[0-9]+)$");
     private final VersionScheme versionScheme;
+    private final Cache<Version> versions;
+    private final Cache<VersionRange> ranges;
+    private final Cache<VersionConstraint> constraints;
 
     @Inject
     public DefaultModelVersionParser(VersionScheme versionScheme) {
         this.versionScheme = requireNonNull(versionScheme, "versionScheme");
+        int maxEntries = Integer.getInteger(MAX_ENTRIES, DEFAULT_MAX_ENTRIES);
+        this.versions = new Cache<>(maxEntries);
+        this.ranges = new Cache<>(maxEntries);
+        this.constraints = new Cache<>(maxEntries);
     }
 
     @Override
     public Version parseVersion(String version) {
         requireNonNull(version, "version");
-        return new DefaultVersion(versionScheme, version);
+        return versions.computeIfAbsent(version, v -> new DefaultVersion(versionScheme, v));
     }
 
     @Override
     public VersionRange parseVersionRange(String range) {
         requireNonNull(range, "range");
-        return new DefaultVersionRange(versionScheme, range);
+        return ranges.computeIfAbsent(range, r -> new DefaultVersionRange(versionScheme, r));
     }
 
     @Override
@@ -69,7 +94,55 @@ public static boolean checkSnapshot(String version) {
     @Override
     public VersionConstraint parseVersionConstraint(String constraint) {
         requireNonNull(constraint, "constraint");
-        return new DefaultVersionConstraint(versionScheme, constraint);
+        return constraints.computeIfAbsent(constraint, c -> new DefaultVersionConstraint(versionScheme, c));
+    }
+
+    /**
+     * A concurrent cache keeping its entries in two generations of at most half of its maximum size each, like the
+     * version cache of {@code maven-artifact}: once the young generation is full, it becomes the old one and the
+     * previous old generation is dropped. An entry found in the old generation is moved back to the young one, so the
+     * strings parsed over and over during a build stay cached, without the bookkeeping of a least recently used policy.
+     */
+    static class Cache<V> {
+        private final int generationSize;
+        private volatile Map<String, V> young = new ConcurrentHashMap<>();
+        private volatile Map<String, V> old = new ConcurrentHashMap<>();
+
+        Cache(int maxEntries) {
+            this.generationSize = maxEntries / 2;
+        }
+
+        V computeIfAbsent(String key, Function<String, V> parser) {
+            V value = young.get(key);
+            if (value == null) {
+                value = old.get(key);
+                if (value == null) {
+                    // parse outside of the map, as parsing may fail and the parsers are cheap enough to race
+                    value = parser.apply(key);
+                }
+                add(key, value);
+            }
+            return value;
+        }
+
+        private void add(String key, V value) {
+            if (generationSize <= 0) {
+                return;
+            }
+            Map<String, V> young = this.young;
+            if (young.size() >= generationSize) {
+                young = rotate(young);
+            }
+            young.put(key, value);
+        }
+
+        private synchronized Map<String, V> rotate(Map<String, V> full) {
+            if (young == full) {
+                old = full;
+                young = new ConcurrentHashMap<>();
+            }
+            return young;
+        }
     }
 
     static class DefaultVersion implements Version {
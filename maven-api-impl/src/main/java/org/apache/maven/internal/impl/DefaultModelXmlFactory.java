@@ -18,13 +18,26 @@
  */
 package org.apache.maven.internal.impl;
 
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.transform.stream.StreamSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
 import java.io.Writer;
 import java.net.URL;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import org.apache.maven.api.annotations.Nonnull;
 import org.apache.maven.api.di.Named;
@@ -36,6 +49,7 @@
 import org.apache.maven.api.services.xml.XmlReaderRequest;
 import org.apache.maven.api.services.xml.XmlWriterException;
 import org.apache.maven.api.services.xml.XmlWriterRequest;
+import org.apache.maven.internal.xml.XmlNodeStaxBuilder;
 import org.apache.maven.model.v4.MavenStaxReader;
 import org.apache.maven.model.v4.MavenStaxWriter;
 
@@ -46,6 +60,8 @@
 @Named
 @Singleton
 public class DefaultModelXmlFactory implements ModelXmlFactory {
+    private static final Pattern ENCODING = Pattern.compile("encoding\\s*=\\s*(['\"])([A-Za-z0-9._:-]+)\\1");
+
     @Override
     public Model read(@Nonnull XmlReaderRequest request) throws XmlReaderException {
         nonNull(request, "request");
@@ -62,9 +78,21 @@ public Model read(@Nonnull XmlReaderRequest request) throws XmlReaderException {
                 source = new InputSource(
                         request.getModelId(), path != null ? path.toUri().toString() : null);
             }
-            MavenStaxReader xml = new MavenStaxReader();
+            XmlReaderRequest.Transformer transformer = request.getTransformer();
+            MavenStaxReader xml;
+            if (transformer instanceof InterningTransformer interning) {
+                // the reader interns the trimmed values itself
+                xml = new MavenStaxReader();
+                xml.setInterner(interning.getInterner());
+            } else if (transformer != null) {
+                xml = new MavenStaxReader(transformer::transform);
+            } else {
+                xml = new MavenStaxReader();
+            }
             xml.setAddDefaultEntities(request.isAddDefaultEntities());
-            if (inputStream != null) {
+            if (request.isDeferXmlNodes()) {
+                return readDeferred(xml, request, source);
+            } else if (inputStream != null) {
                 return xml.read(inputStream, request.isStrict(), source);
             } else if (reader != null) {
                 return xml.read(reader, request.isStrict(), source);
@@ -82,6 +110,79 @@ public Model read(@Nonnull XmlReaderRequest request) throws XmlReaderException {
         }
     }
 
+    /**
+     * Reads the whole document in memory, so that the nested XML nodes of the model can keep their text and only be
+     * parsed when they are accessed. Documents whose encoding cannot be trivially detected, or that declare a DTD which
+     * could define entities, are parsed eagerly.
+     */
+    private static Model readDeferred(MavenStaxReader xml, XmlReaderRequest request, InputSource source)
+            throws IOException, XMLStreamException {
+        String document;
+        if (request.getReader() != null) {
+            StringWriter writer = new StringWriter();
+            request.getReader().transferTo(writer);
+            document = writer.toString();
+        } else {
+            byte[] bytes;
+            if (request.getInputStream() != null) {
+                bytes = request.getInputStream().readAllBytes();
+            } else if (request.getPath() != null) {
+                bytes = Files.readAllBytes(request.getPath());
+            } else {
+                try (InputStream is = request.getURL().openStream()) {
+                    bytes = is.readAllBytes();
+                }
+            }
+            document = decode(bytes);
+            if (document == null) {
+                return xml.read(new ByteArrayInputStream(bytes), request.isStrict(), source);
+            }
+        }
+        if (document.contains("<!DOCTYPE")) {
+            return xml.read(new StringReader(document), request.isStrict(), source);
+        }
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.IS_REPLACING_ENTITY_REFERENCES, false);
+        XMLStreamReader parser = factory.createXMLStreamReader(
+                new StreamSource(new StringReader(document), source != null ? source.getLocation() : null));
+        return xml.read(new XmlNodeStaxBuilder.DocumentStreamReader(parser, document), request.isStrict(), source);
+    }
+
+    /**
+     * Decodes a document encoded in UTF-8 or in the ASCII compatible encoding of its XML declaration.
+     *
+     * @return the decoded document, or {@code null} if the encoding is not supported
+     */
+    private static String decode(byte[] bytes) {
+        int offset = 0;
+        if (bytes.length >= 3 && bytes[0] == (byte) 0xEF && bytes[1] == (byte) 0xBB && bytes[2] == (byte) 0xBF) {
+            offset = 3;
+        } else if (bytes.length >= 2 && (bytes[0] == 0 || bytes[1] == 0 || (bytes[0] & 0xFE) == 0xFE)) {
+            // UTF-16 or UTF-32
+            return null;
+        }
+        String prolog = new String(bytes, offset, Math.min(bytes.length - offset, 256), StandardCharsets.ISO_8859_1);
+        Matcher matcher = ENCODING.matcher(prolog);
+        if (!prolog.startsWith("<?xml")) {
+            // without a declaration the document is in UTF-8, unless it is in an encoding such as EBCDIC whose
+            // markup does not read as ASCII
+            return prolog.stripLeading().startsWith("<")
+                    ? new String(bytes, offset, bytes.length - offset, StandardCharsets.UTF_8)
+                    : null;
+        }
+        if (!matcher.find() || matcher.start() > prolog.indexOf("?>")) {
+            return new String(bytes, offset, bytes.length - offset, StandardCharsets.UTF_8);
+        }
+        String document;
+        try {
+            document = new String(bytes, offset, bytes.length - offset, Charset.forName(matcher.group(2)));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        // the declaration must read the same, which rules out encodings that are not ASCII compatible
+        return document.startsWith(prolog.substring(0, matcher.end())) ? document : null;
+    }
+
     @Override
     public void write(XmlWriterRequest<Model> request) throws XmlWriterException {
         nonNull(request, "request");
@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.internal.impl;
+
+import org.apache.maven.api.Session;
+import org.apache.maven.api.SessionData;
+import org.apache.maven.api.services.xml.XmlReaderRequest;
+import org.apache.maven.internal.xml.Interner;
+
+/**
+ * A transformer sharing the values read through the session wide {@link Interner}, so that the many models of a
+ * large reactor do not each retain their own copies of the same group ids, versions, scopes and such.
+ * The {@link DefaultModelXmlFactory} also uses its interner for the property keys and values and for the plugin
+ * configurations, which are not transformed.
+ *
+ * @since 4.0.0
+ */
+public class InterningTransformer implements XmlReaderRequest.Transformer {
+    private static final SessionData.Key<InterningTransformer> KEY = SessionData.key(InterningTransformer.class);
+
+    private final Interner interner;
+
+    public InterningTransformer(Interner interner) {
+        this.interner = Utils.nonNull(interner, "interner");
+    }
+
+    /**
+     * @return the transformer of the given session, or {@code null} if none
+     */
+    public static InterningTransformer of(Session session) {
+        return session != null
+                ? session.getData().computeIfAbsent(KEY, () -> new InterningTransformer(new Interner()))
+                : null;
+    }
+
+    public Interner getInterner() {
+        return interner;
+    }
+
+    @Override
+    public String transform(String source, String fieldName) {
+        return interner.intern(source);
+    }
+}
@@ -99,6 +99,8 @@
 import org.apache.maven.api.services.model.WorkspaceModelResolver;
 import org.apache.maven.api.services.xml.XmlReaderException;
 import org.apache.maven.api.services.xml.XmlReaderRequest;
+import org.apache.maven.internal.impl.InterningTransformer;
+import org.apache.maven.internal.impl.model.ModelBuilderTimings.Step;
 import org.apache.maven.internal.impl.resolver.DefaultModelCache;
 import org.apache.maven.internal.impl.resolver.DefaultModelRepositoryHolder;
 import org.apache.maven.internal.impl.resolver.DefaultModelResolver;
@@ -589,7 +591,9 @@ private ModelBuilderResult build(
         result.setEffectiveModel(resultModel);
 
         // effective model validation
-        modelValidator.validateEffectiveModel(resultModel, request, problems);
+        Model effectiveModel = resultModel;
+        timings(request)
+                .time(Step.VALIDATION, () -> modelValidator.validateEffectiveModel(effectiveModel, request, problems));
 
         if (hasModelErrors(problems)) {
             throw problems.newModelBuilderException();
@@ -638,8 +642,11 @@ public Result<? extends Model> buildRawModel(
     Model readFileModel(ModelBuilderRequest request, DefaultModelProblemCollector problems)
             throws ModelBuilderException {
         ModelSource modelSource = request.getSource();
-        Model model =
-                cache(getModelCache(request), modelSource, FILE, () -> doReadFileModel(modelSource, request, problems));
+        Model model = cache(
+                getModelCache(request),
+                modelSource,
+                FILE,
+                () -> timings(request).time(Step.READ, () -> doReadFileModel(modelSource, request, problems)));
 
         if (modelSource.getPath() != null) {
             if (getTransformerContextBuilder(request) instanceof DefaultModelTransformerContextBuilder contextBuilder) {
@@ -665,49 +672,72 @@ private Model doReadFileModel(
             } catch (IllegalStateException ignore) {
                 rootDirectory = modelSource.getPath();
             }
-            try (InputStream is = modelSource.openStream()) {
-                model = modelProcessor.read(XmlReaderRequest.builder()
-                        .strict(strict)
-                        .location(modelSource.getLocation())
-                        .path(modelSource.getPath())
-                        .rootDirectory(rootDirectory)
-                        .inputStream(is)
-                        .build());
-            } catch (XmlReaderException e) {
-                if (!strict) {
-                    throw e;
-                }
+            PersistentModelCache persistentCache = PersistentModelCache.of(request);
+            if (persistentCache != null && !persistentCache.isCacheable(modelSource.getPath())) {
+                persistentCache = null;
+            }
+            Model cached = persistentCache != null ? persistentCache.read(modelSource.getPath()) : null;
+            if (cached != null) {
+                model = cached;
+            } else {
+                boolean cacheable = persistentCache != null;
+                InterningTransformer transformer = InterningTransformer.of(request.getSession());
+                // dependency POMs are built with empty user properties, so look at the session ones
+                boolean deferXmlNodes = request.getSession() != null
+                        && Features.deferredXmlNodes(request.getSession().getUserProperties());
                 try (InputStream is = modelSource.openStream()) {
                     model = modelProcessor.read(XmlReaderRequest.builder()
-                            .strict(false)
+                            .strict(strict)
+                            .transformer(transformer)
+                            .deferXmlNodes(deferXmlNodes)
                             .location(modelSource.getLocation())
                             .path(modelSource.getPath())
                             .rootDirectory(rootDirectory)
                             .inputStream(is)
                             .build());
-                } catch (XmlReaderException ne) {
-                    // still unreadable even in non-strict mode, rethrow original error
-                    throw e;
+                } catch (XmlReaderException e) {
+                    if (!strict) {
+                        throw e;
+                    }
+                    try (InputStream is = modelSource.openStream()) {
+                        model = modelProcessor.read(XmlReaderRequest.builder()
+                                .strict(false)
+                                .transformer(transformer)
+                                .deferXmlNodes(deferXmlNodes)
+                                .location(modelSource.getLocation())
+                                .path(modelSource.getPath())
+                                .rootDirectory(rootDirectory)
+                                .inputStream(is)
+                                .build());
+                    } catch (XmlReaderException ne) {
+                        // still unreadable even in non-strict mode, rethrow original error
+                        throw e;
+                    }
+
+                    cacheable = false;
+                    Severity severity = request.isProjectBuild() ? Severity.ERROR : Severity.WARNING;
+                    problems.add(
+                            severity,
+                            ModelProblem.Version.V20,
+                            "Malformed POM " + modelSource.getLocation() + ": " + e.getMessage(),
+                            e);
                 }
 
-                Severity severity = request.isProjectBuild() ? Severity.ERROR : Severity.WARNING;
-                problems.add(
-                        severity,
-                        ModelProblem.Version.V20,
-                        "Malformed POM " + modelSource.getLocation() + ": " + e.getMessage(),
-                        e);
-            }
+                InputLocation loc = model.getLocation("");
+                InputSource v4src = loc != null ? loc.getSource() : null;
+                if (v4src != null) {
+                    try {
+                        Field field = InputSource.class.getDeclaredField("modelId");
+                        field.setAccessible(true);
+                        field.set(v4src, ModelProblemUtils.toId(model));
+                    } catch (Throwable t) {
+                        // TODO: use a lazy source ?
+                        throw new IllegalStateException("Unable to set modelId on InputSource", t);
+                    }
+                }
 
-            InputLocation loc = model.getLocation("");
-            InputSource v4src = loc != null ? loc.getSource() : null;
-            if (v4src != null) {
-                try {
-                    Field field = InputSource.class.getDeclaredField("modelId");
-                    field.setAccessible(true);
-                    field.set(v4src, ModelProblemUtils.toId(model));
-                } catch (Throwable t) {
-                    // TODO: use a lazy source ?
-                    throw new IllegalStateException("Unable to set modelId on InputSource", t);
+                if (cacheable) {
+                    persistentCache.write(modelSource.getPath(), model);
                 }
             }
         } catch (XmlReaderException e) {
@@ -740,7 +770,8 @@ private Model doReadFileModel(
         }
 
         problems.setSource(model);
-        modelValidator.validateFileModel(model, request, problems);
+        Model fileModel = model;
+        timings(request).time(Step.VALIDATION, () -> modelValidator.validateFileModel(fileModel, request, problems));
         if (hasFatalErrors(problems)) {
             throw problems.newModelBuilderException();
         }
@@ -781,7 +812,9 @@ private ModelData doReadRawModel(
             rawModel = rawModel.withModelVersion(namespace.substring(NAMESPACE_PREFIX.length()));
         }
 
-        modelValidator.validateRawModel(rawModel, request, problems);
+        Model validatedModel = rawModel;
+        timings(request)
+                .time(Step.VALIDATION, () -> modelValidator.validateRawModel(validatedModel, request, problems));
 
         if (hasFatalErrors(problems)) {
             throw problems.newModelBuilderException();
@@ -897,6 +930,10 @@ private Model injectProfileActivations(Model model, Map<String, Activation> acti
     }
 
     private Model interpolateModel(Model model, ModelBuilderRequest request, ModelProblemCollector problems) {
+        return timings(request).time(Step.INTERPOLATION, () -> doInterpolateModel(model, request, problems));
+    }
+
+    private Model doInterpolateModel(Model model, ModelBuilderRequest request, ModelProblemCollector problems) {
         Model interpolatedModel =
                 modelInterpolator.interpolateModel(model, model.getProjectDirectory(), request, problems);
         if (interpolatedModel.getParent() != null) {
@@ -929,6 +966,16 @@ private ModelData readParent(
             ModelBuilderRequest request,
             DefaultModelProblemCollector problems)
             throws ModelBuilderException {
+        return timings(request)
+                .time(Step.PARENT_RESOLUTION, () -> doReadParent(childModel, childSource, request, problems));
+    }
+
+    private ModelData doReadParent(
+            Model childModel,
+            ModelSource childSource,
+            ModelBuilderRequest request,
+            DefaultModelProblemCollector problems)
+            throws ModelBuilderException {
         ModelData parentData = null;
 
         Parent parent = childModel.getParent();
@@ -1474,6 +1521,10 @@ ModelProcessor getModelProcessor() {
         return modelProcessor;
     }
 
+    private static ModelBuilderTimings timings(ModelBuilderRequest request) {
+        return ModelBuilderTimings.of(request.getSession());
+    }
+
     private static ModelCache getModelCache(ModelBuilderRequest request) {
         return request.getModelCache();
     }
@@ -43,6 +43,8 @@
 import org.apache.maven.api.services.model.PathTranslator;
 import org.apache.maven.api.services.model.RootLocator;
 import org.apache.maven.api.services.model.UrlNormalizer;
+import org.apache.maven.api.xml.XmlNode;
+import org.apache.maven.internal.xml.DeferredXmlNode;
 import org.apache.maven.model.v4.MavenTransformer;
 import org.codehaus.plexus.interpolation.AbstractDelegatingValueSource;
 import org.codehaus.plexus.interpolation.AbstractValueSource;
@@ -112,7 +114,16 @@ public Model interpolateModel(
 
         InnerInterpolator innerInterpolator = createInterpolator(valueSources, postProcessors, request, problems);
 
-        return new MavenTransformer(innerInterpolator::interpolate).visit(model);
+        return new MavenTransformer(innerInterpolator::interpolate) {
+            @Override
+            protected XmlNode transform(XmlNode node) {
+                // do not parse deferred configurations which have nothing to interpolate
+                if (node instanceof DeferredXmlNode deferred && !deferred.mayContain("${")) {
+                    return node;
+                }
+                return super.transform(node);
+            }
+        }.visit(model);
     }
 
     private InnerInterpolator createInterpolator(
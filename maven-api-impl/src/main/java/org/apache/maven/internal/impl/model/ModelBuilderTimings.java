@@ -0,0 +1,166 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.internal.impl.model;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.apache.maven.api.Session;
+import org.apache.maven.api.SessionData;
+
+/**
+ * The time spent by the {@link DefaultModelBuilder} in some of its steps, summed over all the threads. The timings are
+ * only collected while an instance is {@link #start(Session) started} in the session.
+ * <p>
+ * The steps nest: a parent POM may be read and validated while the parent of a child is resolved. Each step only
+ * counts its own time, without the time of the steps it runs, so the timings add up to the time spent in these steps.
+ *
+ * @since 4.0.0
+ */
+public class ModelBuilderTimings {
+    private static final SessionData.Key<ModelBuilderTimings> KEY = SessionData.key(ModelBuilderTimings.class);
+
+    private static final ModelBuilderTimings DISABLED = new ModelBuilderTimings();
+
+    /**
+     * The steps running on the current thread, the innermost one last.
+     */
+    private static final ThreadLocal<Deque<Frame>> RUNNING = ThreadLocal.withInitial(ArrayDeque::new);
+
+    /**
+     * The steps of the model builder which are timed.
+     */
+    public enum Step {
+        READ("read"),
+        PARENT_RESOLUTION("parent resolution"),
+        INTERPOLATION("interpolation"),
+        VALIDATION("validation");
+
+        private final String description;
+
+        Step(String description) {
+            this.description = description;
+        }
+    }
+
+    private final LongAdder[] nanos = new LongAdder[Step.values().length];
+
+    public ModelBuilderTimings() {
+        for (int i = 0; i < nanos.length; i++) {
+            nanos[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Starts collecting the timings of the model builder in the given session.
+     *
+     * @return the timings, until {@link #stop(Session)} is called
+     */
+    public static ModelBuilderTimings start(Session session) {
+        ModelBuilderTimings timings = new ModelBuilderTimings();
+        session.getData().set(KEY, timings);
+        return timings;
+    }
+
+    /**
+     * Stops collecting the timings of the model builder in the given session.
+     */
+    public static void stop(Session session) {
+        session.getData().set(KEY, null);
+    }
+
+    /**
+     * @return the timings collected in the given session, or an instance ignoring them if none are
+     */
+    static ModelBuilderTimings of(Session session) {
+        ModelBuilderTimings timings = session != null ? session.getData().get(KEY) : null;
+        return timings != null ? timings : DISABLED;
+    }
+
+    <T> T time(Step step, Supplier<T> supplier) {
+        if (this == DISABLED) {
+            return supplier.get();
+        }
+        Deque<Frame> running = RUNNING.get();
+        long now = System.nanoTime();
+        Frame outer = running.peekLast();
+        if (outer != null) {
+            outer.pause(now);
+        }
+        Frame frame = new Frame(this, step, now);
+        running.addLast(frame);
+        try {
+            return supplier.get();
+        } finally {
+            now = System.nanoTime();
+            running.removeLast();
+            frame.pause(now);
+            if (outer != null) {
+                outer.start = now;
+            }
+        }
+    }
+
+    void time(Step step, Runnable runnable) {
+        time(step, () -> {
+            runnable.run();
+            return null;
+        });
+    }
+
+    /**
+     * @return the time spent in the given step, in milliseconds
+     */
+    public long getMillis(Step step) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos[step.ordinal()].sum());
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (Step step : Step.values()) {
+            if (sb.length() > 0) {
+                sb.append(", ");
+            }
+            sb.append(step.description).append(' ').append(getMillis(step)).append(" ms");
+        }
+        return sb.toString();
+    }
+
+    private static class Frame {
+        final ModelBuilderTimings timings;
+
+        final Step step;
+
+        long start;
+
+        Frame(ModelBuilderTimings timings, Step step, long start) {
+            this.timings = timings;
+            this.step = step;
+            this.start = start;
+        }
+
+        void pause(long now) {
+            timings.nanos[step.ordinal()].add(now - start);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.internal.impl.model;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.apache.maven.api.LocalRepository;
+import org.apache.maven.api.Session;
+import org.apache.maven.api.feature.Features;
+import org.apache.maven.api.model.Model;
+import org.apache.maven.api.services.ModelBuilderRequest;
+import org.apache.maven.internal.impl.CacheFiles;
+import org.apache.maven.internal.impl.InterningTransformer;
+import org.apache.maven.internal.xml.Interner;
+import org.apache.maven.model.v4.MavenBinaryReader;
+import org.apache.maven.model.v4.MavenBinaryWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Persists the file models of the released POMs of the local repository, so that later builds do not need to parse
+ * them again. The models are stored under <code>.cache/maven-models</code> in the local repository as
+ * {@link CacheFiles cache files} of the POM they were read from, and are only used as long as the POM is unchanged.
+ * <p>
+ * The cache is enabled with the {@value Features#PERSISTENT_MODEL_CACHE} user property. SNAPSHOT POMs, and POMs
+ * outside the local repository, are never cached.
+ * </p>
+ *
+ * @since 4.0.0
+ */
+class PersistentModelCache {
+    static final String CACHE_DIRECTORY = ".cache/maven-models";
+
+    private static final int MAGIC = 0x4d564d43;
+
+    private static final int FORMAT_VERSION = 3;
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private final Path localRepository;
+
+    private final Path directory;
+
+    private final Interner interner;
+
+    PersistentModelCache(Path localRepository) {
+        this(localRepository, null);
+    }
+
+    PersistentModelCache(Path localRepository, Interner interner) {
+        this.localRepository = localRepository.toAbsolutePath().normalize();
+        this.directory = this.localRepository.resolve(CACHE_DIRECTORY);
+        this.interner = interner;
+    }
+
+    /**
+     * @return the cache to use for the given request, or {@code null} if disabled
+     */
+    static PersistentModelCache of(ModelBuilderRequest request) {
+        // dependency POMs are built with empty user properties, so look at the session ones
+        Session session = request.getSession();
+        if (session == null || !Features.persistentModelCache(session.getUserProperties())) {
+            return null;
+        }
+        LocalRepository localRepository = session.getLocalRepository();
+        return localRepository != null
+                ? new PersistentModelCache(
+                        localRepository.getPath(),
+                        InterningTransformer.of(session).getInterner())
+                : null;
+    }
+
+    /**
+     * @return whether the model of the given POM can be cached
+     */
+    boolean isCacheable(Path pom) {
+        if (pom == null) {
+            return false;
+        }
+        pom = pom.toAbsolutePath().normalize();
+        if (!pom.startsWith(localRepository) || pom.startsWith(directory)) {
+            return false;
+        }
+        String name = pom.getFileName().toString();
+        return name.endsWith(".pom") && !name.contains("SNAPSHOT");
+    }
+
+    /**
+     * Reads the model cached for the given POM.
+     *
+     * @param pom the POM, must be cacheable
+     * @return the model, or {@code null} if not cached or if the POM has changed
+     */
+    Model read(Path pom) {
+        try {
+            MavenBinaryReader reader = new MavenBinaryReader();
+            reader.setInterner(interner);
+            return CacheFiles.read(getCacheFile(pom), pom, MAGIC, FORMAT_VERSION, reader::read);
+        } catch (IOException | RuntimeException e) {
+            logger.debug("Unable to read the cached model of {}", pom, e);
+            return null;
+        }
+    }
+
+    /**
+     * Caches the model read from the given POM.
+     *
+     * @param pom the POM, must be cacheable
+     * @param model the model read from the POM
+     */
+    void write(Path pom, Model model) {
+        try {
+            // the POM file is not written, and set again by the model builder
+            CacheFiles.write(
+                    getCacheFile(pom), pom, MAGIC, FORMAT_VERSION, out -> new MavenBinaryWriter().write(out, model));
+        } catch (IOException | RuntimeException e) {
+            logger.debug("Unable to cache the model of {}", pom, e);
+        }
+    }
+
+    private Path getCacheFile(Path pom) {
+        return directory.resolve(
+                localRepository.relativize(pom.toAbsolutePath().normalize()).toString() + ".bin");
+    }
+}
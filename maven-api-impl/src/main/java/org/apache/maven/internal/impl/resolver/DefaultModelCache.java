@@ -18,51 +18,86 @@
  */
 package org.apache.maven.internal.impl.resolver;
 
+import java.lang.ref.SoftReference;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Supplier;
 
 import org.apache.maven.api.services.ModelCache;
 import org.apache.maven.api.services.Source;
 import org.eclipse.aether.RepositoryCache;
 import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.util.ConfigUtils;
 
 import static java.util.Objects.requireNonNull;
 
 /**
  * A model builder cache backed by the repository system cache.
- *
+ * <p>
+ * By default, the cache keeps every entry for the whole session. Long-lived sessions, such as the ones of IDEs or
+ * daemons, can bound it with the following configuration properties:
+ * <ul>
+ *     <li>{@value #MAX_ENTRIES}: the maximum number of entries, the least recently used entries being evicted
+ *     first;</li>
+ *     <li>{@value #SOFT_REFERENCES}: whether the raw and file models, which can be read again from their source,
+ *     are only softly referenced, so that they are reclaimed when the heap runs low.</li>
+ * </ul>
+ * The hit, miss and eviction counts are shared by all the caches of a session.
  */
 public class DefaultModelCache implements ModelCache {
+    /**
+     * Configuration property for the maximum number of entries, {@code 0} meaning unbounded.
+     *
+     * @since 4.0.0
+     */
+    public static final String MAX_ENTRIES = "maven.modelCache.maxEntries";
+
+    /**
+     * Configuration property enabling soft references for the raw and file models.
+     *
+     * @since 4.0.0
+     */
+    public static final String SOFT_REFERENCES = "maven.modelCache.softReferences";
+
     private static final String KEY = DefaultModelCache.class.getName();
 
-    @SuppressWarnings("unchecked")
-    public static ModelCache newInstance(RepositorySystemSession session, boolean anew) {
-        ConcurrentHashMap<Object, Supplier<?>> cache;
+    /**
+     * The tags of the models read from a {@link Source}, see {@code DefaultModelBuilder}.
+     */
+    private static final List<String> SOURCE_TAGS = List.of("raw", "file");
+
+    public static DefaultModelCache newInstance(RepositorySystemSession session, boolean anew) {
         RepositoryCache repositoryCache = session != null ? session.getCache() : null;
         if (repositoryCache == null) {
-            return new DefaultModelCache(new ConcurrentHashMap<>());
+            return new DefaultModelCache();
         } else {
+            Store store;
             if (anew) {
-                cache = new ConcurrentHashMap<>();
-                repositoryCache.put(session, KEY, cache);
+                store = new Store(session);
+                repositoryCache.put(session, KEY, store);
             } else {
-                cache = (ConcurrentHashMap<Object, Supplier<?>>)
-                        repositoryCache.computeIfAbsent(session, KEY, ConcurrentHashMap::new);
+                store = (Store) repositoryCache.computeIfAbsent(session, KEY, () -> new Store(session));
             }
-            return new DefaultModelCache(cache);
+            return new DefaultModelCache(store);
         }
     }
 
-    private final ConcurrentMap<Object, Supplier<?>> cache;
+    private final Store store;
 
     public DefaultModelCache() {
-        this(new ConcurrentHashMap<>());
+        this(new Store(0, false));
     }
 
-    private DefaultModelCache(ConcurrentMap<Object, Supplier<?>> cache) {
-        this.cache = requireNonNull(cache);
+    DefaultModelCache(Store store) {
+        this.store = requireNonNull(store);
     }
 
     @Override
@@ -78,7 +113,155 @@ public <T> T computeIfAbsent(Source path, String tag, Supplier<T> data) {
     }
 
     protected Object computeIfAbsent(Object key, Supplier<?> data) {
-        return cache.computeIfAbsent(key, k -> new CachingSupplier<>(data)).get();
+        return store.get(key, data);
+    }
+
+    /**
+     * @return the number of lookups that found a value in the cache
+     * @since 4.0.0
+     */
+    public long getHitCount() {
+        return store.hits.sum();
+    }
+
+    /**
+     * @return the number of lookups that had to compute the value
+     * @since 4.0.0
+     */
+    public long getMissCount() {
+        return store.misses.sum();
+    }
+
+    /**
+     * @return the number of entries evicted because the cache was full, or reclaimed by the garbage collector
+     * @since 4.0.0
+     */
+    public long getEvictionCount() {
+        return store.evictions.sum();
+    }
+
+    /**
+     * @return the sources whose models are currently cached
+     * @since 4.0.0
+     */
+    public List<Source> getSources() {
+        List<Source> sources = new ArrayList<>();
+        for (Object key : store.entries.keySet()) {
+            if (key instanceof SourceCacheKey) {
+                sources.add(((SourceCacheKey) key).source);
+            }
+        }
+        return sources;
+    }
+
+    @Override
+    public String toString() {
+        return "DefaultModelCache[size=" + store.entries.size() + ", hits=" + getHitCount() + ", misses="
+                + getMissCount() + ", evictions=" + getEvictionCount() + ']';
+    }
+
+    /**
+     * The entries of a cache and their statistics, shared by all the caches of a session.
+     */
+    static final class Store {
+        final ConcurrentMap<Object, CachingSupplier<?>> entries = new ConcurrentHashMap<>();
+
+        final int maxEntries;
+
+        final boolean softReferences;
+
+        final AtomicLong clock = new AtomicLong();
+
+        final AtomicBoolean evicting = new AtomicBoolean();
+
+        final LongAdder hits = new LongAdder();
+
+        final LongAdder misses = new LongAdder();
+
+        final LongAdder evictions = new LongAdder();
+
+        Store(RepositorySystemSession session) {
+            this(
+                    ConfigUtils.getInteger(session, 0, MAX_ENTRIES),
+                    ConfigUtils.getBoolean(session, false, SOFT_REFERENCES));
+        }
+
+        Store(int maxEntries, boolean softReferences) {
+            this.maxEntries = maxEntries;
+            this.softReferences = softReferences;
+        }
+
+        Object get(Object key, Supplier<?> data) {
+            CachingSupplier<?> entry = entries.get(key);
+            if (entry == null || entry.isCleared()) {
+                CachingSupplier<?> created = new CachingSupplier<>(data, isSoft(key));
+                created.lastAccess = clock.incrementAndGet();
+                entry = entries.compute(key, (k, v) -> v == null || v.isCleared() ? created : v);
+                if (entry == created) {
+                    misses.increment();
+                    if (maxEntries > 0 && entries.size() > maxEntries) {
+                        evict();
+                    }
+                } else {
+                    hits.increment();
+                    entry.lastAccess = clock.incrementAndGet();
+                }
+            } else {
+                hits.increment();
+                entry.lastAccess = clock.incrementAndGet();
+            }
+            Object value = entry.get();
+            if (value == null && entry.isCleared()) {
+                // reclaimed between the lookup and the read: compute the value again before publishing the new entry,
+                // so that this caller holds it strongly and cannot see it reclaimed
+                CachingSupplier<?> recomputed = new CachingSupplier<>(data, isSoft(key));
+                recomputed.lastAccess = clock.incrementAndGet();
+                misses.increment();
+                try {
+                    value = recomputed.get();
+                } finally {
+                    entries.replace(key, entry, recomputed);
+                }
+            }
+            return value;
+        }
+
+        private boolean isSoft(Object key) {
+            return softReferences && key instanceof SourceCacheKey && SOURCE_TAGS.contains(((SourceCacheKey) key).tag);
+        }
+
+        /**
+         * Evicts the least recently used entries, along with the reclaimed soft entries, until the cache is back to
+         * three quarters of its maximum size, so that the cost of sorting the entries is spread over many insertions.
+         */
+        private void evict() {
+            if (!evicting.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                List<Map.Entry<Object, CachingSupplier<?>>> candidates = new ArrayList<>(entries.entrySet());
+                for (Map.Entry<Object, CachingSupplier<?>> candidate : candidates) {
+                    if (candidate.getValue().isCleared() && entries.remove(candidate.getKey(), candidate.getValue())) {
+                        evictions.increment();
+                    }
+                }
+                int target = maxEntries - maxEntries / 4;
+                if (entries.size() > target) {
+                    candidates.removeIf(e -> e.getValue().isCleared());
+                    candidates.sort(Comparator.comparingLong(e -> e.getValue().lastAccess));
+                    for (Map.Entry<Object, CachingSupplier<?>> candidate : candidates) {
+                        if (entries.size() <= target) {
+                            break;
+                        }
+                        if (entries.remove(candidate.getKey(), candidate.getValue())) {
+                            evictions.increment();
+                        }
+                    }
+                }
+            } finally {
+                evicting.set(false);
+            }
+        }
     }
 
     static class GavCacheKey {
@@ -138,7 +321,7 @@ public String toString() {
         }
     }
 
-    private static final class SourceCacheKey {
+    static final class SourceCacheKey {
         private final Source source;
 
         private final String tag;
@@ -175,12 +358,32 @@ public int hashCode() {
         }
     }
 
+    /**
+     * Computes its value once. The supplier is dropped once the value is known, and soft entries only keep a soft
+     * reference to their value: once reclaimed, the entry is cleared and replaced by the next lookup.
+     */
     static class CachingSupplier<T> implements Supplier<T> {
-        final Supplier<T> supplier;
+        private static final Object NONE = new Object();
+
+        private final boolean soft;
+
+        Supplier<T> supplier;
+
         volatile Object value;
 
-        CachingSupplier(Supplier<T> supplier) {
+        volatile long lastAccess;
+
+        CachingSupplier(Supplier<T> supplier, boolean soft) {
             this.supplier = supplier;
+            this.soft = soft;
+        }
+
+        /**
+         * @return whether the value of this soft entry has been reclaimed by the garbage collector
+         */
+        boolean isCleared() {
+            Object v = value;
+            return v instanceof SoftReference && ((SoftReference<?>) v).get() == null;
         }
 
         @Override
@@ -191,17 +394,35 @@ public T get() {
                 synchronized (this) {
                     if ((v = value) == null) {
                         try {
-                            v = value = supplier.get();
+                            v = supplier.get();
                         } catch (Exception e) {
-                            v = value = new AltRes(e);
+                            v = new AltRes(e);
                         }
+                        if (v == null) {
+                            v = NONE;
+                        }
+                        value = soft && !(v instanceof AltRes) ? new SoftReference<>(v) : v;
+                        supplier = null;
+                        return unwrap(v);
                     }
                 }
             }
+            if (v instanceof SoftReference) {
+                v = ((SoftReference<?>) v).get();
+                if (v == null) {
+                    // reclaimed, the caller looks the entry up again
+                    return null;
+                }
+            }
+            return unwrap(v);
+        }
+
+        @SuppressWarnings("unchecked")
+        private T unwrap(Object v) {
             if (v instanceof AltRes) {
                 uncheckedThrow(((AltRes) v).t);
             }
-            return (T) v;
+            return v == NONE ? null : (T) v;
         }
 
         static class AltRes {
@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.internal.impl;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class CacheFilesTest {
+
+    private static final int MAGIC = 0x54455354;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testRoundTrip() throws Exception {
+        Path source = write("source.txt", "source");
+        Path file = dir.resolve("cache/source.txt.bin");
+
+        assertNull(read(file, source, 1));
+        CacheFiles.write(file, source, MAGIC, 1, out -> new DataOutputStream(out).writeUTF("content"));
+
+        assertEquals("content", read(file, source, 1));
+        assertNull(read(file, source, 2));
+        try (Stream<Path> files = Files.list(file.getParent())) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    void testChangedSource() throws Exception {
+        Path source = write("source.txt", "source");
+        Path file = dir.resolve("source.txt.bin");
+        CacheFiles.write(file, source, MAGIC, 1, out -> new DataOutputStream(out).writeUTF("content"));
+
+        // same size, the modification time is too close to the write of the cache file to be trusted
+        FileTime lastModified = Files.getLastModifiedTime(source);
+        write("source.txt", "change");
+        Files.setLastModifiedTime(source, lastModified);
+
+        assertNull(read(file, source, 1));
+    }
+
+    @Test
+    void testUnchangedStampSkipsChecksum() throws Exception {
+        Path source = write("source.txt", "source");
+        Files.setLastModifiedTime(source, FileTime.fromMillis(1_000_000_000_000L));
+        Path file = dir.resolve("source.txt.bin");
+        CacheFiles.write(file, source, MAGIC, 1, out -> new DataOutputStream(out).writeUTF("content"));
+
+        // the content is not hashed as long as the size and the modification time are unchanged
+        write("source.txt", "change");
+        Files.setLastModifiedTime(source, FileTime.fromMillis(1_000_000_000_000L));
+        assertEquals("content", read(file, source, 1));
+
+        Files.setLastModifiedTime(source, FileTime.fromMillis(1_000_000_001_000L));
+        assertNull(read(file, source, 1));
+        assertFalse(Files.exists(dir.resolve("missing.txt")));
+        assertNull(read(file, dir.resolve("missing.txt"), 1));
+    }
+
+    private static String read(Path file, Path source, int formatVersion) throws Exception {
+        return CacheFiles.read(file, source, MAGIC, formatVersion, in -> new DataInputStream(in).readUTF());
+    }
+
+    private Path write(String name, String content) throws Exception {
+        Path file = dir.resolve(name);
+        Files.writeString(file, content);
+        return file;
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.internal.impl;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class DefaultModelVersionParserTest {
+
+    @Test
+    void testRecentlyUsedEntriesAreKept() {
+        DefaultModelVersionParser.Cache<Object> cache = new DefaultModelVersionParser.Cache<>(8);
+        AtomicInteger parses = new AtomicInteger();
+        Object hot = cache.computeIfAbsent("hot", k -> new Object());
+        for (int i = 0; i < 100; i++) {
+            cache.computeIfAbsent(Integer.toString(i), k -> {
+                parses.incrementAndGet();
+                return new Object();
+            });
+            assertSame(hot, cache.computeIfAbsent("hot", k -> new Object()));
+        }
+        assertEquals(100, parses.get());
+        cache.computeIfAbsent("0", k -> {
+            parses.incrementAndGet();
+            return new Object();
+        });
+        assertEquals(101, parses.get());
+    }
+
+    @Test
+    void testDisabled() {
+        DefaultModelVersionParser.Cache<Object> cache = new DefaultModelVersionParser.Cache<>(0);
+        assertNotSame(cache.computeIfAbsent("1.0", k -> new Object()), cache.computeIfAbsent("1.0", k -> new Object()));
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.internal.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.maven.api.model.InputLocation;
+import org.apache.maven.api.model.Model;
+import org.apache.maven.api.services.xml.XmlReaderRequest;
+import org.apache.maven.api.xml.XmlNode;
+import org.apache.maven.internal.xml.DeferredXmlNode;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+class DefaultModelXmlFactoryTest {
+
+    private static final String BODY = "<project>\n"
+            + "  <modelVersion>4.0.0</modelVersion>\n"
+            + "  <groupId>org.example</groupId>\n"
+            + "  <artifactId>café</artifactId>\n"
+            + "  <version>1.0</version>\n"
+            + "  <build>\n"
+            + "    <plugins>\n"
+            + "      <plugin>\n"
+            + "        <artifactId>maven-example-plugin</artifactId>\n"
+            + "        <configuration combine.children=\"append\">\n"
+            + "          <name>naïve &amp; déjà vu</name>\n"
+            + "          <items>\n"
+            + "            <item>été</item>\n"
+            + "            <item>&#233;</item>\n"
+            + "          </items>\n"
+            + "        </configuration>\n"
+            + "      </plugin>\n"
+            + "    </plugins>\n"
+            + "  </build>\n"
+            + "</project>\n";
+
+    @Test
+    void testUtf8() throws Exception {
+        assertSameModel(("<?xml version=\"1.0\"?>\n" + BODY).getBytes(StandardCharsets.UTF_8), true);
+    }
+
+    @Test
+    void testUtf8WithoutDeclaration() throws Exception {
+        assertSameModel(BODY.getBytes(StandardCharsets.UTF_8), true);
+    }
+
+    @Test
+    void testUtf8WithBom() throws Exception {
+        byte[] document = ("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" + BODY).getBytes(StandardCharsets.UTF_8);
+        assertSameModel(concat(new byte[] {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF}, document), true);
+    }
+
+    @Test
+    void testDeclaredIso88591() throws Exception {
+        assertSameModel(
+                ("<?xml version=\"1.0\" encoding=\"ISO-8859-1\"?>\n" + BODY).getBytes(StandardCharsets.ISO_8859_1),
+                true);
+    }
+
+    @Test
+    void testUtf16WithBom() throws Exception {
+        // Java writes a big endian byte order mark
+        assertSameModel(
+                ("<?xml version=\"1.0\" encoding=\"UTF-16\"?>\n" + BODY).getBytes(StandardCharsets.UTF_16), false);
+    }
+
+    @Test
+    void testUtf16LittleEndian() throws Exception {
+        assertSameModel(
+                ("<?xml version=\"1.0\" encoding=\"UTF-16LE\"?>\n" + BODY).getBytes(StandardCharsets.UTF_16LE),
+                false);
+    }
+
+    @Test
+    void testUtf32() throws Exception {
+        assertSameModel(
+                ("<?xml version=\"1.0\" encoding=\"UTF-32\"?>\n" + BODY).getBytes(Charset.forName("UTF-32BE")), false);
+    }
+
+    @Test
+    void testDeclaredEbcdic() throws Exception {
+        assertSameModel(
+                ("<?xml version=\"1.0\" encoding=\"IBM037\"?>\n" + BODY).getBytes(Charset.forName("IBM037")), false);
+    }
+
+    @Test
+    void testDoctype() throws Exception {
+        assertSameModel(
+                ("<?xml version=\"1.0\"?>\n<!DOCTYPE project>\n" + BODY).getBytes(StandardCharsets.UTF_8), false);
+    }
+
+    private static void assertSameModel(byte[] document, boolean deferred) throws Exception {
+        Model expected = read(document, false);
+        Model actual = read(document, true);
+
+        assertEquals("café", actual.getArtifactId());
+        assertLocation(expected.getLocation("artifactId"), actual.getLocation("artifactId"));
+        assertLocation(expected.getLocation(""), actual.getLocation(""));
+
+        XmlNode expectedConfiguration = expected.getBuild().getPlugins().get(0).getConfiguration();
+        XmlNode actualConfiguration = actual.getBuild().getPlugins().get(0).getConfiguration();
+        if (deferred) {
+            DeferredXmlNode node = assertInstanceOf(DeferredXmlNode.class, actualConfiguration);
+            assertFalse(node.isParsed());
+        } else {
+            assertFalse(actualConfiguration instanceof DeferredXmlNode);
+        }
+        assertEquals("naïve & déjà vu", actualConfiguration.getChild("name").getValue());
+        assertSameNode(expectedConfiguration, actualConfiguration);
+    }
+
+    private static void assertSameNode(XmlNode expected, XmlNode actual) {
+        assertEquals(expected.getName(), actual.getName());
+        assertEquals(expected.getValue(), actual.getValue());
+        assertEquals(expected.getAttributes(), actual.getAttributes());
+        assertLocation((InputLocation) expected.getInputLocation(), (InputLocation) actual.getInputLocation());
+        assertEquals(expected.getChildren().size(), actual.getChildren().size());
+        for (int i = 0; i < expected.getChildren().size(); i++) {
+            assertSameNode(expected.getChildren().get(i), actual.getChildren().get(i));
+        }
+    }
+
+    private static void assertLocation(InputLocation expected, InputLocation actual) {
+        assertNotNull(expected);
+        assertNotNull(actual);
+        assertEquals(expected.getLineNumber(), actual.getLineNumber());
+        assertEquals(expected.getColumnNumber(), actual.getColumnNumber());
+        assertEquals(expected.getSource().getModelId(), actual.getSource().getModelId());
+    }
+
+    private static Model read(byte[] document, boolean deferXmlNodes) throws Exception {
+        return new DefaultModelXmlFactory()
+                .read(XmlReaderRequest.builder()
+                        .inputStream(new ByteArrayInputStream(document))
+                        .modelId("org.example:café:1.0")
+                        .location("pom.xml")
+                        .strict(true)
+                        .deferXmlNodes(deferXmlNodes)
+                        .build());
+    }
+
+    private static byte[] concat(byte[] first, byte[] second) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.writeBytes(first);
+        out.writeBytes(second);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.internal.impl.model;
+
+import org.apache.maven.internal.impl.model.ModelBuilderTimings.Step;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for the {@code ModelBuilderTimings}.
+ */
+class ModelBuilderTimingsTest {
+
+    @Test
+    void testNestedStepsCountTheirOwnTime() {
+        ModelBuilderTimings timings = new ModelBuilderTimings();
+        Object parent = timings.time(Step.PARENT_RESOLUTION, () -> {
+            sleep(20);
+            timings.time(Step.READ, () -> {
+                sleep(200);
+                timings.time(Step.VALIDATION, () -> sleep(20));
+            });
+            return "parent";
+        });
+
+        assertEquals("parent", parent);
+        assertTrue(timings.getMillis(Step.READ) >= 200, timings.toString());
+        assertTrue(timings.getMillis(Step.VALIDATION) >= 20, timings.toString());
+        long parentResolution = timings.getMillis(Step.PARENT_RESOLUTION);
+        assertTrue(parentResolution >= 20 && parentResolution < 200, timings.toString());
+        assertEquals(0, timings.getMillis(Step.INTERPOLATION));
+    }
+
+    @Test
+    void testDisabledWithoutSession() {
+        ModelBuilderTimings timings = ModelBuilderTimings.of(null);
+        assertSame("value", timings.time(Step.READ, () -> "value"));
+        assertEquals(0, timings.getMillis(Step.READ));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
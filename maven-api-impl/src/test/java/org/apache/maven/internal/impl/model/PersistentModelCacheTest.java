@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.internal.impl.model;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.apache.maven.api.model.InputLocation;
+import org.apache.maven.api.model.InputSource;
+import org.apache.maven.api.model.Model;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for the {@code PersistentModelCache}.
+ */
+class PersistentModelCacheTest {
+
+    @TempDir
+    Path localRepository;
+
+    @Test
+    void testRoundTrip() throws Exception {
+        PersistentModelCache cache = new PersistentModelCache(localRepository);
+        Path pom = writePom("g/a/1.0/a-1.0.pom");
+        InputSource source = new InputSource("g:a:1.0", pom.toString());
+        Model model = Model.newBuilder()
+                .groupId("g")
+                .artifactId("a")
+                .version("1.0")
+                .location("", new InputLocation(1, 1, source))
+                .pomFile(pom)
+                .build();
+
+        assertNull(cache.read(pom));
+        cache.write(pom, model);
+        Model cached = cache.read(pom);
+
+        assertNotNull(cached);
+        assertEquals("g", cached.getGroupId());
+        assertEquals("a", cached.getArtifactId());
+        assertEquals("1.0", cached.getVersion());
+        assertNull(cached.getPomFile());
+        assertEquals("g:a:1.0", cached.getLocation("").getSource().getModelId());
+        assertTrue(Files.isRegularFile(
+                localRepository.resolve(PersistentModelCache.CACHE_DIRECTORY).resolve("g/a/1.0/a-1.0.pom.bin")));
+    }
+
+    @Test
+    void testChangedPom() throws Exception {
+        PersistentModelCache cache = new PersistentModelCache(localRepository);
+        Path pom = writePom("g/a/1.0/a-1.0.pom");
+        cache.write(pom, Model.newBuilder().artifactId("a").build());
+
+        Files.writeString(pom, "<project><artifactId>b</artifactId></project>");
+
+        assertNull(cache.read(pom));
+    }
+
+    @Test
+    void testCacheable() throws Exception {
+        PersistentModelCache cache = new PersistentModelCache(localRepository);
+
+        assertTrue(cache.isCacheable(localRepository.resolve("g/a/1.0/a-1.0.pom")));
+        assertFalse(cache.isCacheable(localRepository.resolve("g/a/1.0-SNAPSHOT/a-1.0-SNAPSHOT.pom")));
+        assertFalse(cache.isCacheable(localRepository.resolve("g/a/1.0/a-1.0.jar")));
+        assertFalse(cache.isCacheable(localRepository.resolveSibling("project").resolve("pom.xml")));
+        assertFalse(cache.isCacheable(null));
+    }
+
+    private Path writePom(String path) throws Exception {
+        Path pom = localRepository.resolve(path);
+        Files.createDirectories(pom.getParent());
+        Files.writeString(pom, "<project><artifactId>a</artifactId></project>");
+        return pom;
+    }
+}
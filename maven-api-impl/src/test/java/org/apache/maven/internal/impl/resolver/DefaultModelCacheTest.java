@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.internal.impl.resolver;
+
+import java.lang.ref.SoftReference;
+import java.nio.file.Paths;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.maven.api.services.ModelSource;
+import org.apache.maven.api.services.Source;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test cases for the {@code DefaultModelCache}.
+ */
+class DefaultModelCacheTest {
+
+    @Test
+    void testUnboundedByDefault() {
+        DefaultModelCache cache = new DefaultModelCache();
+        for (int i = 0; i < 100; i++) {
+            String version = Integer.toString(i);
+            cache.computeIfAbsent("g", "a", version, "import", () -> version);
+        }
+        assertEquals("0", cache.computeIfAbsent("g", "a", "0", "import", () -> "other"));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(100, cache.getMissCount());
+        assertEquals(0, cache.getEvictionCount());
+    }
+
+    @Test
+    void testLeastRecentlyUsedEviction() {
+        DefaultModelCache cache = new DefaultModelCache(new DefaultModelCache.Store(4, false));
+        for (int i = 0; i < 4; i++) {
+            String version = Integer.toString(i);
+            cache.computeIfAbsent("g", "a", version, "import", () -> version);
+        }
+        // touch the first entry, so that the next ones are evicted first
+        cache.computeIfAbsent("g", "a", "0", "import", () -> "other");
+        cache.computeIfAbsent("g", "a", "4", "import", () -> "4");
+
+        // back to three quarters of the maximum size
+        assertEquals(2, cache.getEvictionCount());
+        assertEquals("0", cache.computeIfAbsent("g", "a", "0", "import", () -> "other"));
+        assertEquals("4", cache.computeIfAbsent("g", "a", "4", "import", () -> "other"));
+        assertEquals("other", cache.computeIfAbsent("g", "a", "1", "import", () -> "other"));
+    }
+
+    @Test
+    void testNullAndFailuresAreCached() {
+        DefaultModelCache cache = new DefaultModelCache();
+        AtomicInteger calls = new AtomicInteger();
+        assertNull(cache.computeIfAbsent("g", "a", "1", "import", () -> {
+            calls.incrementAndGet();
+            return null;
+        }));
+        assertNull(cache.computeIfAbsent("g", "a", "1", "import", () -> "other"));
+
+        assertThrows(
+                IllegalStateException.class,
+                () -> cache.computeIfAbsent("g", "a", "2", "import", () -> {
+                    calls.incrementAndGet();
+                    throw new IllegalStateException();
+                }));
+        assertThrows(IllegalStateException.class, () -> cache.computeIfAbsent("g", "a", "2", "import", () -> "other"));
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void testReclaimedSoftEntry() {
+        DefaultModelCache.Store store = new DefaultModelCache.Store(0, true);
+        DefaultModelCache cache = new DefaultModelCache(store);
+        Source source = ModelSource.fromPath(Paths.get("pom.xml"));
+
+        Object model = new Object();
+        assertSame(model, cache.computeIfAbsent(source, "raw", () -> model));
+        assertSame(model, cache.computeIfAbsent(source, "raw", Object::new));
+        assertEquals(1, cache.getSources().size());
+
+        // simulate the garbage collector
+        store.entries.values().forEach(e -> e.value = new SoftReference<>(null));
+        Object reloaded = new Object();
+        assertSame(reloaded, cache.computeIfAbsent(source, "raw", () -> reloaded));
+        assertEquals(2, cache.getMissCount());
+    }
+
+    @Test
+    void testSoftEntryReclaimedAfterLookup() {
+        DefaultModelCache.Store store = new DefaultModelCache.Store(0, true);
+        DefaultModelCache cache = new DefaultModelCache(store);
+        Source source = ModelSource.fromPath(Paths.get("pom.xml"));
+
+        Object model = new Object();
+        assertSame(model, cache.computeIfAbsent(source, "raw", () -> model));
+
+        // simulate the garbage collector reclaiming the value right after the entry has been looked up
+        store.entries.values().forEach(e -> e.value = new SoftReference<>(model) {
+            private int reads;
+
+            @Override
+            public Object get() {
+                return reads++ == 0 ? super.get() : null;
+            }
+        });
+        Object reloaded = new Object();
+        assertSame(reloaded, cache.computeIfAbsent(source, "raw", () -> reloaded));
+        assertSame(reloaded, cache.computeIfAbsent(source, "raw", Object::new));
+        assertEquals(2, cache.getMissCount());
+    }
+}
@@ -66,12 +66,33 @@ public class ComparableVersion implements Comparable<ComparableVersion> {
 
     private static final int MAX_LONGITEM_LENGTH = 18;
 
+    /**
+     * The number of bits of each component of a {@link #packed} version.
+     */
+    private static final int PACKED_BITS = 15;
+
+    private static final int PACKED_COMPONENTS = 4;
+
+    private static final long NOT_PACKED = -1;
+
+    /**
+     * The parsed items, shared by all the instances parsed from the same string.
+     */
+    private static final VersionCache<ListItem> CACHE = new VersionCache<>();
+
     private String value;
 
     private String canonical;
 
     private ListItem items;
 
+    /**
+     * The version packed in a long, for versions of at most {@value #PACKED_COMPONENTS} numeric components lower than
+     * {@code 2^}{@value #PACKED_BITS}, such as {@code 1.2.3}, or {@link #NOT_PACKED}. Packed versions compare like
+     * their items.
+     */
+    private long packed;
+
     private interface Item {
         int INT_ITEM = 3;
         int LONG_ITEM = 4;
@@ -657,11 +678,25 @@ public ComparableVersion(String version) {
         parseVersion(version);
     }
 
-    @SuppressWarnings("checkstyle:innerassignment")
     public final void parseVersion(String version) {
         this.value = version;
+        this.canonical = null;
 
-        items = new ListItem();
+        ListItem items = CACHE.get(version);
+        if (items == null) {
+            items = parseItems(version);
+            CACHE.put(version, items);
+        }
+        this.items = items;
+        this.packed = pack(items);
+    }
+
+    /**
+     * Parses the items of a version. The returned list must not be modified, as it is shared through the cache.
+     */
+    @SuppressWarnings("checkstyle:innerassignment")
+    private static ListItem parseItems(String version) {
+        ListItem items = new ListItem();
 
         version = version.toLowerCase(Locale.ENGLISH);
 
@@ -749,6 +784,29 @@ public final void parseVersion(String version) {
             list = (ListItem) stack.pop();
             list.normalize();
         }
+        return items;
+    }
+
+    private static long pack(ListItem items) {
+        if (items.size() > PACKED_COMPONENTS) {
+            return NOT_PACKED;
+        }
+        long packed = 0;
+        for (int i = 0; i < PACKED_COMPONENTS; i++) {
+            int component = 0;
+            if (i < items.size()) {
+                Item item = items.get(i);
+                if (item.getType() != Item.INT_ITEM) {
+                    return NOT_PACKED;
+                }
+                component = ((IntItem) item).value;
+                if (component >= 1 << PACKED_BITS) {
+                    return NOT_PACKED;
+                }
+            }
+            packed = packed << PACKED_BITS | component;
+        }
+        return packed;
     }
 
     private static Item parseItem(boolean isDigit, String buf) {
@@ -787,6 +845,9 @@ private static String stripLeadingZeroes(String buf) {
 
     @Override
     public int compareTo(ComparableVersion o) {
+        if (packed != NOT_PACKED && o.packed != NOT_PACKED) {
+            return Long.compare(packed, o.packed);
+        }
         return items.compareTo(o.items);
     }
 
@@ -804,7 +865,15 @@ public String getCanonical() {
 
     @Override
     public boolean equals(Object o) {
-        return (o instanceof ComparableVersion) && items.equals(((ComparableVersion) o).items);
+        if (!(o instanceof ComparableVersion)) {
+            return false;
+        }
+        ComparableVersion that = (ComparableVersion) o;
+        if (packed != NOT_PACKED || that.packed != NOT_PACKED) {
+            // equal items are either both packed or both not packed
+            return packed == that.packed;
+        }
+        return items.equals(that.items);
     }
 
     @Override
@@ -812,6 +881,16 @@ public int hashCode() {
         return items.hashCode();
     }
 
+    /**
+     * Returns the hits, misses and evictions of the cache of parsed versions, which is shared by the whole process.
+     *
+     * @return the statistics of the cache, for diagnostics
+     * @since 4.0.0
+     */
+    public static String getCacheStatistics() {
+        return CACHE.toString();
+    }
+
     // CHECKSTYLE_OFF: LineLength
 
     /**
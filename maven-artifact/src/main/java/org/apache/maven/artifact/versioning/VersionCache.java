@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.artifact.versioning;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A process-wide cache of parsed versions and ranges, keyed by their string representation. Lookups never lock.
+ * <p>
+ * The cache is bounded by the {@value #MAX_ENTRIES} system property, and keeps its entries in two generations of at
+ * most half of that size each: once the young generation is full, it becomes the old one and the previous old
+ * generation is dropped. An entry found in the old generation is moved back to the young one, so the versions used
+ * throughout a build stay cached, whatever happens to the strings they have been parsed from.
+ * <p>
+ * The hits, misses and evictions are counted, see {@link #toString()}. They are exposed by
+ * {@link ComparableVersion#getCacheStatistics()} and {@link VersionRange#getCacheStatistics()}, and logged at debug
+ * level at the end of each Maven session.
+ *
+ * @param <V> the type of the parsed values, which must not be modified once cached
+ */
+final class VersionCache<V> {
+    /**
+     * System property for the maximum number of entries of each cache. The model version parser of Maven reads it with
+     * the same meaning, for its own caches.
+     */
+    static final String MAX_ENTRIES = "maven.versionCache.maxEntries";
+
+    private static final int DEFAULT_MAX_ENTRIES = 16384;
+
+    private final int generationSize;
+
+    private volatile Map<String, V> young = new ConcurrentHashMap<>();
+
+    private volatile Map<String, V> old = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    VersionCache() {
+        this(Integer.getInteger(MAX_ENTRIES, DEFAULT_MAX_ENTRIES));
+    }
+
+    VersionCache(int maxEntries) {
+        this.generationSize = maxEntries / 2;
+    }
+
+    V get(String key) {
+        V value = young.get(key);
+        if (value == null) {
+            value = old.get(key);
+            if (value == null) {
+                misses.increment();
+                return null;
+            }
+            add(key, value);
+        }
+        hits.increment();
+        return value;
+    }
+
+    void put(String key, V value) {
+        add(key, value);
+    }
+
+    private void add(String key, V value) {
+        if (generationSize <= 0) {
+            return;
+        }
+        Map<String, V> young = this.young;
+        if (young.size() >= generationSize) {
+            young = rotate(young);
+        }
+        young.put(key, value);
+    }
+
+    private synchronized Map<String, V> rotate(Map<String, V> full) {
+        if (young == full) {
+            // the entries used since the last rotation have been moved to the full generation
+            evictions.add(old.keySet().stream().filter(k -> !full.containsKey(k)).count());
+            old = full;
+            young = new ConcurrentHashMap<>();
+        }
+        return young;
+    }
+
+    long getHitCount() {
+        return hits.sum();
+    }
+
+    long getMissCount() {
+        return misses.sum();
+    }
+
+    long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "VersionCache{hits=" + hits.sum() + ", misses=" + misses.sum() + ", evictions=" + evictions.sum() + "}";
+    }
+}
@@ -22,9 +22,7 @@
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
-import java.util.WeakHashMap;
 
 import org.apache.maven.artifact.Artifact;
 
@@ -33,9 +31,9 @@
  *
  */
 public class VersionRange {
-    private static final Map<String, VersionRange> CACHE_SPEC = Collections.synchronizedMap(new WeakHashMap<>());
+    private static final VersionCache<VersionRange> CACHE_SPEC = new VersionCache<>();
 
-    private static final Map<String, VersionRange> CACHE_VERSION = Collections.synchronizedMap(new WeakHashMap<>());
+    private static final VersionCache<VersionRange> CACHE_VERSION = new VersionCache<>();
 
     private final ArtifactVersion recommendedVersion;
 
@@ -211,6 +209,17 @@ public static VersionRange createFromVersion(String version) {
         return cached;
     }
 
+    /**
+     * Returns the hits, misses and evictions of the caches of {@link #createFromVersionSpec(String)} and
+     * {@link #createFromVersion(String)}, which are shared by the whole process.
+     *
+     * @return the statistics of the caches, for diagnostics
+     * @since 4.0.0
+     */
+    public static String getCacheStatistics() {
+        return "spec=" + CACHE_SPEC + ", version=" + CACHE_VERSION;
+    }
+
     /**
      * Creates and returns a new <code>VersionRange</code> that is a restriction of this
      * version range and the specified version range.
@@ -402,4 +402,31 @@ public void testMng7714() {
         assertTrue(f.compareTo(sp2) < 0, "expected " + f + " < " + sp2);
         assertTrue(f.compareTo(sp3) < 0, "expected " + f + " < " + sp3);
     }
+
+    /**
+     * Versions of at most four small numeric components are compared as packed longs, the others item by item.
+     */
+    @Test
+    void testPackedVersionsOrder() {
+        checkVersionsOrder(new String[] {
+            "0.0.1", "0.1", "1", "1.0.0.1", "1.0.1", "1.2.3", "1.2.3.4", "1.2.3.4.5", "1.2.32767", "1.2.32768", "1.3",
+            "1.32767", "1.32768", "2", "32767", "32768"
+        });
+        checkVersionsEqual("1", "1.0.0.0");
+        checkVersionsEqual("1.2", "1.2.0.0.0");
+        checkVersionsEqual("1.32768", "1.32768.0");
+        checkVersionsOrder("1-1", "1.0.1");
+        checkVersionsOrder("1-SNAPSHOT", "1");
+        checkVersionsOrder("1", "1-sp");
+    }
+
+    @Test
+    void testReparse() {
+        ComparableVersion c = new ComparableVersion("1.0");
+        assertEquals("1", c.getCanonical());
+        c.parseVersion("2.0-SNAPSHOT");
+        assertEquals("2-snapshot", c.getCanonical());
+        assertEquals(new ComparableVersion("2-SNAPSHOT"), c);
+        assertEquals(new ComparableVersion("1.0"), new ComparableVersion("1.0"));
+    }
 }
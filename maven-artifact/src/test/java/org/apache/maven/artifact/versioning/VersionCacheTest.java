@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.artifact.versioning;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VersionCacheTest {
+
+    @Test
+    void testHitsAndMisses() {
+        VersionCache<Object> cache = new VersionCache<>(8);
+        Object value = new Object();
+        assertNull(cache.get("1.0"));
+        cache.put("1.0", value);
+        assertSame(value, cache.get("1.0"));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(0, cache.getEvictionCount());
+    }
+
+    @Test
+    void testRecentlyUsedEntriesAreKept() {
+        VersionCache<Object> cache = new VersionCache<>(8);
+        Object value = new Object();
+        cache.put("hot", value);
+        for (int i = 0; i < 100; i++) {
+            cache.put(Integer.toString(i), new Object());
+            assertSame(value, cache.get("hot"));
+        }
+        assertNull(cache.get("0"));
+        // at most eight entries are kept, one of them being the hot one
+        assertTrue(cache.getEvictionCount() >= 100 - 7, cache.toString());
+    }
+
+    @Test
+    void testDisabled() {
+        VersionCache<Object> cache = new VersionCache<>(0);
+        cache.put("1.0", new Object());
+        assertNull(cache.get("1.0"));
+    }
+}
@@ -745,5 +745,7 @@ void testCache() throws InvalidVersionSpecificationException {
         assertFalse(
                 spec.equals(version),
                 "check !VersionRange.createFromVersionSpec(x).equals(VersionRange.createFromVersion(x))");
+
+        assertTrue(VersionRange.getCacheStatistics().matches("spec=VersionCache\\{hits=[1-9].*"));
     }
 }
@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.artifact.versioning.ComparableVersion;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Parses and compares {@link ComparableVersion}s, which version ranges, plugin version resolution and conflict
+ * resolution do for every candidate version.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@State(Scope.Benchmark)
+public class ComparableVersionBenchmark {
+
+    private static final int COUNT = 1000;
+
+    private static final String[] QUALIFIERS = {
+        "", "-SNAPSHOT", "-alpha-1", "-beta-2", "-M3", "-rc-1", "-RC2", ".Final", ".RELEASE", "-jre", "-android", "-sp1"
+    };
+
+    private String[] versions;
+
+    private ComparableVersion[] parsed;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        versions = new String[COUNT];
+        for (int i = 0; i < COUNT; i++) {
+            StringBuilder sb = new StringBuilder();
+            sb.append(random.nextInt(5));
+            for (int j = random.nextInt(4); j > 0; j--) {
+                sb.append('.').append(random.nextInt(j == 3 ? 20240101 : 30));
+            }
+            sb.append(QUALIFIERS[random.nextInt(QUALIFIERS.length)]);
+            versions[i] = sb.toString();
+        }
+        parsed = Arrays.stream(versions).map(ComparableVersion::new).toArray(ComparableVersion[]::new);
+    }
+
+    @Benchmark
+    public List<ComparableVersion> parse() {
+        List<ComparableVersion> result = new ArrayList<>(COUNT);
+        for (String version : versions) {
+            result.add(new ComparableVersion(version));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public ComparableVersion[] sort() {
+        ComparableVersion[] copy = parsed.clone();
+        Arrays.sort(copy);
+        return copy;
+    }
+
+    /**
+     * Parses both sides of every comparison, as code comparing version strings does.
+     */
+    @Benchmark
+    public int parseAndCompare() {
+        int result = 0;
+        for (int i = 1; i < COUNT; i++) {
+            result += new ComparableVersion(versions[i - 1]).compareTo(new ComparableVersion(versions[i]));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.benchmarks;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.lifecycle.MavenExecutionPlan;
+import org.apache.maven.lifecycle.internal.LifecycleExecutionPlanCalculator;
+import org.apache.maven.lifecycle.internal.LifecycleTask;
+import org.apache.maven.lifecycle.internal.Task;
+import org.apache.maven.project.MavenProject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Calculates the {@code verify} execution plan of every module of a reactor, as {@code LifecycleModuleBuilder}
+ * does before building each module.
+ * <p>
+ * The plugins bound by the default lifecycle are resolved offline from the user's local repository, so they must
+ * have been downloaded before, e.g. by building any jar project with this Maven version.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@State(Scope.Benchmark)
+public class LifecycleExecutionPlanBenchmark {
+
+    @Param({"10", "100", "1000"})
+    int modules;
+
+    private final List<Task> tasks = List.of(new LifecycleTask("verify"));
+
+    private MavenHarness harness;
+
+    private LifecycleExecutionPlanCalculator calculator;
+
+    private MavenSession session;
+
+    private List<MavenProject> projects;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        Path basedir = Reactors.createTempDirectory("execution-plan");
+        Path rootPom = Reactors.generate(basedir, modules);
+        harness = new MavenHarness();
+        calculator = harness.lookup(LifecycleExecutionPlanCalculator.class);
+        session = harness.newSession(rootPom, Reactors.repository(basedir));
+        projects = harness.buildReactor(session);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        harness.close();
+    }
+
+    @Benchmark
+    public int calculateExecutionPlans() throws Exception {
+        int mojos = 0;
+        for (MavenProject project : projects) {
+            session.setCurrentProject(project);
+            MavenExecutionPlan plan = calculator.calculateExecutionPlan(session, project, tasks);
+            mojos += plan.size();
+        }
+        return mojos;
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.benchmarks;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import org.apache.maven.api.Session;
+import org.apache.maven.bridge.MavenRepositorySystem;
+import org.apache.maven.execution.DefaultMavenExecutionRequest;
+import org.apache.maven.execution.DefaultMavenExecutionResult;
+import org.apache.maven.execution.MavenExecutionRequest;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.internal.impl.DefaultSessionFactory;
+import org.apache.maven.internal.impl.InternalMavenSession;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.project.ProjectBuilder;
+import org.apache.maven.project.ProjectBuildingRequest;
+import org.apache.maven.project.ProjectBuildingResult;
+import org.apache.maven.repository.internal.MavenSessionBuilderSupplier;
+import org.apache.maven.session.scope.internal.SessionScope;
+import org.codehaus.plexus.ContainerConfiguration;
+import org.codehaus.plexus.DefaultContainerConfiguration;
+import org.codehaus.plexus.DefaultPlexusContainer;
+import org.codehaus.plexus.PlexusConstants;
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.RepositorySystemSession.CloseableSession;
+import org.eclipse.aether.repository.LocalRepository;
+
+/**
+ * A Plexus container wired the way the Maven CLI wires it, plus the plumbing to open offline sessions on a
+ * generated reactor.
+ * <p>
+ * Sessions use the reactor's private repository (holding its BOMs) in front of the user's local repository
+ * (holding the plugins the lifecycle binds), and never go online.
+ */
+final class MavenHarness implements AutoCloseable {
+
+    private final DefaultPlexusContainer container;
+
+    private final SessionScope sessionScope;
+
+    private CloseableSession repositorySession;
+
+    private boolean inScope;
+
+    MavenHarness() throws Exception {
+        ContainerConfiguration cc = new DefaultContainerConfiguration()
+                .setClassPathScanning(PlexusConstants.SCANNING_INDEX)
+                .setAutoWiring(true)
+                .setJSR250Lifecycle(true)
+                .setName("maven");
+        container = new DefaultPlexusContainer(cc);
+        sessionScope = container.lookup(SessionScope.class);
+    }
+
+    <T> T lookup(Class<T> type) throws Exception {
+        return container.lookup(type);
+    }
+
+    /**
+     * Opens a new session on the reactor rooted at {@code rootPom}, closing the previous one. The session is
+     * seeded into the session scope, as {@code DefaultMaven} does, so session scoped components can be used.
+     */
+    MavenSession newSession(Path rootPom, Path fixtureRepository) throws Exception {
+        closeSession();
+
+        Path userRepository = Paths.get(System.getProperty(
+                "maven.repo.local",
+                Paths.get(System.getProperty("user.home"), ".m2", "repository").toString()));
+
+        MavenExecutionRequest request = new DefaultMavenExecutionRequest()
+                .setPom(rootPom.toFile())
+                .setTopDirectory(rootPom.getParent())
+                .setRootDirectory(rootPom.getParent())
+                .setProjectPresent(true)
+                .setOffline(true)
+                .setGoals(List.of("verify"))
+                .setSystemProperties(System.getProperties())
+                .setLocalRepository(
+                        lookup(MavenRepositorySystem.class).createLocalRepository(fixtureRepository.toFile()));
+
+        repositorySession = new MavenSessionBuilderSupplier(lookup(RepositorySystem.class))
+                .get()
+                .withLocalRepositories(
+                        new LocalRepository(fixtureRepository, "simple"), new LocalRepository(userRepository, "simple"))
+                .setOffline(true)
+                .setSystemProperties(System.getProperties())
+                .build();
+
+        MavenSession session = new MavenSession(repositorySession, request, new DefaultMavenExecutionResult());
+        session.setSession(lookup(DefaultSessionFactory.class).newSession(session));
+
+        sessionScope.enter();
+        inScope = true;
+        sessionScope.seed(MavenSession.class, session);
+        sessionScope.seed(Session.class, session.getSession());
+        sessionScope.seed(InternalMavenSession.class, InternalMavenSession.from(session.getSession()));
+        return session;
+    }
+
+    /**
+     * Builds all projects of the session's reactor and registers them with the session.
+     */
+    List<MavenProject> buildReactor(MavenSession session) throws Exception {
+        List<MavenProject> projects = lookup(ProjectBuilder.class)
+                .build(List.of(session.getRequest().getPom()), true, projectBuildingRequest(session))
+                .stream()
+                .map(ProjectBuildingResult::getProject)
+                .toList();
+        session.setProjects(projects);
+        session.setAllProjects(projects);
+        return projects;
+    }
+
+    ProjectBuildingRequest projectBuildingRequest(MavenSession session) {
+        return session.getRequest().getProjectBuildingRequest().setRepositorySession(session.getRepositorySession());
+    }
+
+    private void closeSession() {
+        if (inScope) {
+            sessionScope.exit();
+            inScope = false;
+        }
+        if (repositorySession != null) {
+            repositorySession.close();
+            repositorySession = null;
+        }
+    }
+
+    @Override
+    public void close() {
+        closeSession();
+        container.dispose();
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.benchmarks;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.project.MavenProject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Builds the projects of a whole reactor, which is what {@code DefaultGraphBuilder} does at the start of every
+ * build: each module goes through {@code DefaultModelBuilder.build}, including parent and BOM import resolution,
+ * inheritance, interpolation and plugin configuration merging.
+ * <p>
+ * Every invocation starts from a fresh session, so nothing is served from the session scoped model caches.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@State(Scope.Benchmark)
+public class ModelBuilderBenchmark {
+
+    @Param({"10", "100", "1000"})
+    int modules;
+
+    private MavenHarness harness;
+
+    private Path rootPom;
+
+    private Path repository;
+
+    private MavenSession session;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        Path basedir = Reactors.createTempDirectory("model-builder");
+        rootPom = Reactors.generate(basedir, modules);
+        repository = Reactors.repository(basedir);
+        harness = new MavenHarness();
+    }
+
+    @Setup(Level.Invocation)
+    public void newSession() throws Exception {
+        session = harness.newSession(rootPom, repository);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        harness.close();
+    }
+
+    @Benchmark
+    public List<MavenProject> buildReactor() throws Exception {
+        return harness.buildReactor(session);
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.benchmarks;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.api.model.InputLocation;
+import org.apache.maven.api.model.Model;
+import org.apache.maven.api.services.BuilderProblem;
+import org.apache.maven.api.services.ModelBuilderRequest;
+import org.apache.maven.api.services.ModelProblem;
+import org.apache.maven.api.services.ModelProblemCollector;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.internal.impl.DefaultUrlNormalizer;
+import org.apache.maven.internal.impl.model.DefaultModelInterpolator;
+import org.apache.maven.internal.impl.model.DefaultPathTranslator;
+import org.apache.maven.internal.impl.model.DefaultRootLocator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Interpolates a model whose properties, dependencies and plugin configuration are full of expressions, as
+ * {@code DefaultModelBuilder} does once per module after inheritance.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@State(Scope.Benchmark)
+public class ModelInterpolatorBenchmark {
+
+    @Param({"10", "100"})
+    int size;
+
+    private MavenHarness harness;
+
+    private DefaultModelInterpolator interpolator;
+
+    private ModelBuilderRequest request;
+
+    private Model model;
+
+    private Path projectDir;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        Path basedir = Reactors.createTempDirectory("model-interpolator");
+        Path rootPom = Reactors.generate(basedir, 1);
+        harness = new MavenHarness();
+        MavenSession session = harness.newSession(rootPom, Reactors.repository(basedir));
+        interpolator = new DefaultModelInterpolator(
+                new DefaultPathTranslator(), new DefaultUrlNormalizer(), new DefaultRootLocator());
+        request = ModelBuilderRequest.builder()
+                .session(session.getSession())
+                .systemProperties(session.getSession().getSystemProperties())
+                .userProperties(Map.of("bench.user", "true"))
+                .build();
+        model = Models.interpolatable(size);
+        projectDir = rootPom.getParent();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        harness.close();
+    }
+
+    @Benchmark
+    public Model interpolateModel() {
+        return interpolator.interpolateModel(model, projectDir, request, new Problems());
+    }
+
+    private static class Problems implements ModelProblemCollector {
+        private final List<ModelProblem> problems = new ArrayList<>();
+
+        @Override
+        public List<ModelProblem> getProblems() {
+            return problems;
+        }
+
+        @Override
+        public boolean hasErrors() {
+            return false;
+        }
+
+        @Override
+        public boolean hasFatalErrors() {
+            return false;
+        }
+
+        @Override
+        public void add(
+                BuilderProblem.Severity severity,
+                ModelProblem.Version version,
+                String message,
+                InputLocation location,
+                Exception exception) {
+            // the fixture is expected to interpolate cleanly, anything else would skew the measurement
+            throw new IllegalStateException(message, exception);
+        }
+
+        @Override
+        public void add(ModelProblem problem) {
+            problems.add(problem);
+        }
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.benchmarks;
+
+import javax.xml.stream.XMLStreamException;
+
+import java.io.StringReader;
+
+import org.apache.maven.api.model.InputSource;
+import org.apache.maven.api.model.Model;
+import org.apache.maven.model.v4.MavenStaxReader;
+
+/**
+ * Synthetic models for the benchmarks working on a single {@link Model} rather than on a whole reactor.
+ */
+final class Models {
+
+    private Models() {}
+
+    /**
+     * Returns a model shaped like the result of inheritance, with {@code size} properties, dependencies and
+     * plugins, most of whose values are expressions that interpolation has to resolve.
+     */
+    static Model interpolatable(int size) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("  <groupId>org.apache.maven.benchmarks.fixture</groupId>\n");
+        sb.append("  <artifactId>interpolated</artifactId>\n");
+        sb.append("  <version>1.0-SNAPSHOT</version>\n");
+        sb.append("  <name>${project.artifactId} built by ${user.name}</name>\n");
+        sb.append("  <url>https://example.org/${project.groupId}/${project.artifactId}/${project.version}</url>\n");
+        sb.append("  <properties>\n");
+        for (int i = 0; i < size; i++) {
+            sb.append("    <prop.")
+                    .append(i)
+                    .append(">value-")
+                    .append(i)
+                    .append("-${project.version}</prop.")
+                    .append(i)
+                    .append(">\n");
+        }
+        sb.append("  </properties>\n");
+        sb.append("  <dependencies>\n");
+        for (int i = 0; i < size; i++) {
+            sb.append("    <dependency>\n");
+            sb.append("      <groupId>${project.groupId}</groupId>\n");
+            sb.append("      <artifactId>lib-").append(i).append("</artifactId>\n");
+            sb.append("      <version>${prop.").append(i).append("}</version>\n");
+            sb.append("    </dependency>\n");
+        }
+        sb.append("  </dependencies>\n");
+        sb.append("  <build>\n");
+        sb.append("    <finalName>${project.artifactId}-${project.version}</finalName>\n");
+        sb.append("    <plugins>\n");
+        for (int i = 0; i < size; i++) {
+            sb.append("      <plugin>\n");
+            sb.append("        <artifactId>plugin-").append(i).append("</artifactId>\n");
+            sb.append("        <version>${prop.").append(i).append("}</version>\n");
+            sb.append("        <configuration>\n");
+            sb.append("          <output>${project.build.directory}/plugin-")
+                    .append(i)
+                    .append("</output>\n");
+            sb.append("          <encoding>${project.build.sourceEncoding}</encoding>\n");
+            sb.append("        </configuration>\n");
+            sb.append("      </plugin>\n");
+        }
+        sb.append("    </plugins>\n");
+        sb.append("  </build>\n");
+        return read(sb);
+    }
+
+    /**
+     * Returns a parent model managing {@code size} dependencies and plugins, with configuration for each plugin.
+     */
+    static Model parent(int size) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("  <groupId>org.apache.maven.benchmarks.fixture</groupId>\n");
+        sb.append("  <artifactId>parent</artifactId>\n");
+        sb.append("  <version>1.0-SNAPSHOT</version>\n");
+        sb.append("  <packaging>pom</packaging>\n");
+        sb.append("  <properties>\n");
+        for (int i = 0; i < size; i++) {
+            sb.append("    <parent.")
+                    .append(i)
+                    .append(">")
+                    .append(i)
+                    .append("</parent.")
+                    .append(i)
+                    .append(">\n");
+        }
+        sb.append("  </properties>\n");
+        sb.append("  <dependencyManagement>\n    <dependencies>\n");
+        for (int i = 0; i < size; i++) {
+            dependency(sb, "lib-" + i, "1." + i);
+        }
+        sb.append("    </dependencies>\n  </dependencyManagement>\n");
+        sb.append("  <dependencies>\n");
+        for (int i = 0; i < size / 4; i++) {
+            dependency(sb, "common-" + i, "2." + i);
+        }
+        sb.append("  </dependencies>\n");
+        sb.append("  <build>\n    <plugins>\n");
+        for (int i = 0; i < size; i++) {
+            plugin(sb, i, "parent");
+        }
+        sb.append("    </plugins>\n  </build>\n");
+        return read(sb);
+    }
+
+    /**
+     * Returns a child model overriding half of the parent's plugins and adding dependencies of its own.
+     */
+    static Model child(int size) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("  <artifactId>child</artifactId>\n");
+        sb.append("  <properties>\n");
+        for (int i = 0; i < size; i++) {
+            sb.append("    <child.")
+                    .append(i)
+                    .append(">")
+                    .append(i)
+                    .append("</child.")
+                    .append(i)
+                    .append(">\n");
+        }
+        sb.append("  </properties>\n");
+        sb.append("  <dependencies>\n");
+        for (int i = 0; i < size; i++) {
+            dependency(sb, "lib-" + i, null);
+        }
+        sb.append("  </dependencies>\n");
+        sb.append("  <build>\n    <plugins>\n");
+        for (int i = 0; i < size; i += 2) {
+            plugin(sb, i, "child");
+        }
+        sb.append("    </plugins>\n  </build>\n");
+        return read(sb);
+    }
+
+    private static void dependency(StringBuilder sb, String artifactId, String version) {
+        sb.append("      <dependency>\n");
+        sb.append("        <groupId>org.example</groupId>\n");
+        sb.append("        <artifactId>").append(artifactId).append("</artifactId>\n");
+        if (version != null) {
+            sb.append("        <version>").append(version).append("</version>\n");
+        }
+        sb.append("      </dependency>\n");
+    }
+
+    private static void plugin(StringBuilder sb, int index, String owner) {
+        sb.append("      <plugin>\n");
+        sb.append("        <groupId>org.example</groupId>\n");
+        sb.append("        <artifactId>plugin-").append(index).append("</artifactId>\n");
+        sb.append("        <configuration>\n");
+        sb.append("          <owner>").append(owner).append("</owner>\n");
+        sb.append("          <").append(owner).append(">true</").append(owner).append(">\n");
+        sb.append("          <items>\n");
+        for (int i = 0; i < 3; i++) {
+            sb.append("            <item>").append(owner).append('-').append(i).append("</item>\n");
+        }
+        sb.append("          </items>\n");
+        sb.append("        </configuration>\n");
+        sb.append("        <executions>\n");
+        sb.append("          <execution>\n");
+        sb.append("            <id>default</id>\n");
+        sb.append("            <goals><goal>").append(owner).append("</goal></goals>\n");
+        sb.append("          </execution>\n");
+        sb.append("        </executions>\n");
+        sb.append("      </plugin>\n");
+    }
+
+    private static Model read(StringBuilder content) {
+        String pom = "<project xmlns=\"http://maven.apache.org/POM/4.0.0\">\n  <modelVersion>4.0.0</modelVersion>\n"
+                + content + "</project>\n";
+        try {
+            return new MavenStaxReader().read(new StringReader(pom), true, new InputSource("bench", "pom.xml"));
+        } catch (XMLStreamException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
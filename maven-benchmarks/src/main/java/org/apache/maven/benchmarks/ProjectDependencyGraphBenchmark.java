@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.graph.DefaultProjectDependencyGraph;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Model;
+import org.apache.maven.project.MavenProject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Sorts a reactor into a {@link DefaultProjectDependencyGraph} and queries it the way the multithreaded builders
+ * and {@code -am}/{@code -amd} do.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@State(Scope.Benchmark)
+public class ProjectDependencyGraphBenchmark {
+
+    @Param({"10", "100", "1000"})
+    int modules;
+
+    private List<MavenProject> projects;
+
+    private DefaultProjectDependencyGraph graph;
+
+    @Setup
+    public void setUp() throws Exception {
+        projects = new ArrayList<>(modules);
+        for (int i = 0; i < modules; i++) {
+            Model model = new Model();
+            model.setGroupId(Reactors.GROUP_ID);
+            model.setArtifactId(Reactors.moduleId(i));
+            model.setVersion(Reactors.VERSION);
+            for (int upstream : Reactors.upstream(i)) {
+                Dependency dependency = new Dependency();
+                dependency.setGroupId(Reactors.GROUP_ID);
+                dependency.setArtifactId(Reactors.moduleId(upstream));
+                dependency.setVersion(Reactors.VERSION);
+                model.addDependency(dependency);
+            }
+            projects.add(new MavenProject(model));
+        }
+        graph = new DefaultProjectDependencyGraph(projects);
+    }
+
+    @Benchmark
+    public DefaultProjectDependencyGraph sort() throws Exception {
+        return new DefaultProjectDependencyGraph(projects);
+    }
+
+    @Benchmark
+    public int upstreamTransitive() {
+        int count = 0;
+        for (MavenProject project : projects) {
+            count += graph.getUpstreamProjects(project, true).size();
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int downstreamTransitive() {
+        int count = 0;
+        for (MavenProject project : projects) {
+            count += graph.getDownstreamProjects(project, true).size();
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int upstreamDirect() {
+        int count = 0;
+        for (MavenProject project : projects) {
+            count += graph.getUpstreamProjects(project, false).size();
+        }
+        return count;
+    }
+}
@@ -0,0 +1,299 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.benchmarks;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * Generates the synthetic reactors the benchmarks run against.
+ * <p>
+ * A reactor of {@code n} modules has an aggregating root, a {@code parent} inheriting from the root and {@code n}
+ * jar modules inheriting from that parent. The parent imports {@code bench-bom}, which lives in a private local
+ * repository next to the reactor together with its own parent and a second BOM it imports in turn, so building
+ * any module walks both a parent chain and a BOM chain. Every module depends on up to three earlier modules (see
+ * {@link #upstream(int)}) and carries plugin configuration that has to be merged with the parent's.
+ */
+final class Reactors {
+
+    static final String GROUP_ID = "org.apache.maven.benchmarks.fixture";
+
+    static final String VERSION = "1.0-SNAPSHOT";
+
+    static final String BOM_VERSION = "1.0";
+
+    /**
+     * Number of external dependencies managed by each of the two BOMs.
+     */
+    static final int MANAGED_DEPENDENCIES = 25;
+
+    /**
+     * Versions of the managed plugins, the same as bound by the default lifecycle so that no plugin beyond those
+     * has to be present in the local repository.
+     */
+    static final String COMPILER_PLUGIN_VERSION = "3.13.0";
+
+    static final String SUREFIRE_PLUGIN_VERSION = "3.2.5";
+
+    private Reactors() {}
+
+    /**
+     * Writes a reactor of the given size below {@code basedir}.
+     *
+     * @param basedir the directory to write to, the reactor goes to {@code reactor} and the BOMs to
+     *            {@code repository}
+     * @param modules the number of jar modules
+     * @return the path of the root POM
+     */
+    static Path generate(Path basedir, int modules) throws IOException {
+        Path reactor = basedir.resolve("reactor");
+        Path repository = repository(basedir);
+
+        pom(reactor.resolve("pom.xml"), w -> root(w, modules));
+        pom(reactor.resolve("parent/pom.xml"), Reactors::parent);
+        for (int i = 0; i < modules; i++) {
+            int index = i;
+            pom(reactor.resolve(moduleId(i) + "/pom.xml"), w -> module(w, index));
+        }
+
+        pom(repositoryPom(repository, "bench-bom-parent"), Reactors::bomParent);
+        pom(repositoryPom(repository, "bench-bom"), Reactors::bom);
+        pom(repositoryPom(repository, "bench-platform"), Reactors::platform);
+
+        return reactor.resolve("pom.xml");
+    }
+
+    /**
+     * Returns the local repository holding the BOMs of a reactor generated below {@code basedir}.
+     */
+    static Path repository(Path basedir) {
+        return basedir.resolve("repository");
+    }
+
+    /**
+     * Returns the indexes of the modules module {@code index} depends on.
+     */
+    static int[] upstream(int index) {
+        return Stream.of(index - 1, index / 2, index / 10)
+                .filter(i -> i >= 0 && i < index)
+                .distinct()
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    static String moduleId(int index) {
+        return String.format("module-%04d", index);
+    }
+
+    /**
+     * Creates a fresh temporary directory, deleting it again when the JVM exits.
+     */
+    static Path createTempDirectory(String prefix) throws IOException {
+        Path dir = Files.createTempDirectory(prefix);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> delete(dir)));
+        return dir;
+    }
+
+    private static void delete(Path dir) {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        } catch (IOException e) {
+            // best effort
+        }
+    }
+
+    private static Path repositoryPom(Path repository, String artifactId) {
+        return repository
+                .resolve(GROUP_ID.replace('.', '/'))
+                .resolve(artifactId)
+                .resolve(BOM_VERSION)
+                .resolve(artifactId + "-" + BOM_VERSION + ".pom");
+    }
+
+    private static void root(Writer w, int modules) throws IOException {
+        w.write("  <groupId>" + GROUP_ID + "</groupId>\n");
+        w.write("  <artifactId>root</artifactId>\n");
+        w.write("  <version>" + VERSION + "</version>\n");
+        w.write("  <packaging>pom</packaging>\n");
+        w.write("  <properties>\n");
+        w.write("    <project.build.sourceEncoding>UTF-8</project.build.sourceEncoding>\n");
+        w.write("    <maven.compiler.release>17</maven.compiler.release>\n");
+        w.write("    <bench.root>${project.groupId}:${project.artifactId}</bench.root>\n");
+        w.write("  </properties>\n");
+        w.write("  <modules>\n");
+        w.write("    <module>parent</module>\n");
+        for (int i = 0; i < modules; i++) {
+            w.write("    <module>" + moduleId(i) + "</module>\n");
+        }
+        w.write("  </modules>\n");
+    }
+
+    private static void parent(Writer w) throws IOException {
+        parentRef(w, "root", "../pom.xml");
+        w.write("  <artifactId>parent</artifactId>\n");
+        w.write("  <packaging>pom</packaging>\n");
+        w.write("  <properties>\n");
+        w.write("    <bench.bom.version>" + BOM_VERSION + "</bench.bom.version>\n");
+        w.write("    <bench.parent>${bench.root}/parent</bench.parent>\n");
+        w.write("  </properties>\n");
+        w.write("  <dependencyManagement>\n    <dependencies>\n");
+        dependency(w, GROUP_ID, "bench-bom", "${bench.bom.version}", "pom", "import");
+        w.write("    </dependencies>\n  </dependencyManagement>\n");
+        w.write("  <build>\n    <pluginManagement>\n      <plugins>\n");
+        w.write("        <plugin>\n");
+        w.write("          <artifactId>maven-compiler-plugin</artifactId>\n");
+        w.write("          <version>" + COMPILER_PLUGIN_VERSION + "</version>\n");
+        w.write("          <configuration>\n");
+        w.write("            <release>${maven.compiler.release}</release>\n");
+        w.write("            <compilerArgs>\n");
+        w.write("              <arg>-Xlint:all</arg>\n");
+        w.write("              <arg>-parameters</arg>\n");
+        w.write("            </compilerArgs>\n");
+        w.write("            <annotationProcessorPaths>\n");
+        for (int i = 0; i < 3; i++) {
+            w.write("              <path>\n");
+            w.write("                <groupId>org.example</groupId>\n");
+            w.write("                <artifactId>processor-" + i + "</artifactId>\n");
+            w.write("                <version>1." + i + "</version>\n");
+            w.write("              </path>\n");
+        }
+        w.write("            </annotationProcessorPaths>\n");
+        w.write("          </configuration>\n");
+        w.write("        </plugin>\n");
+        w.write("        <plugin>\n");
+        w.write("          <artifactId>maven-surefire-plugin</artifactId>\n");
+        w.write("          <version>" + SUREFIRE_PLUGIN_VERSION + "</version>\n");
+        w.write("          <configuration>\n");
+        w.write("            <systemPropertyVariables>\n");
+        w.write("              <bench.parent>${bench.parent}</bench.parent>\n");
+        w.write("            </systemPropertyVariables>\n");
+        w.write("          </configuration>\n");
+        w.write("        </plugin>\n");
+        w.write("      </plugins>\n    </pluginManagement>\n  </build>\n");
+    }
+
+    private static void module(Writer w, int index) throws IOException {
+        parentRef(w, "parent", "../parent/pom.xml");
+        w.write("  <artifactId>" + moduleId(index) + "</artifactId>\n");
+        w.write("  <name>Module ${project.artifactId} of ${bench.parent}</name>\n");
+        w.write("  <dependencies>\n");
+        for (int upstream : upstream(index)) {
+            dependency(w, "${project.groupId}", moduleId(upstream), "${project.version}", null, null);
+        }
+        dependency(w, "org.example", "lib-" + index % MANAGED_DEPENDENCIES, null, null, null);
+        dependency(w, "org.example", "platform-lib-" + index % MANAGED_DEPENDENCIES, null, null, "test");
+        w.write("  </dependencies>\n");
+        w.write("  <build>\n    <plugins>\n");
+        w.write("      <plugin>\n");
+        w.write("        <artifactId>maven-compiler-plugin</artifactId>\n");
+        w.write("        <configuration>\n");
+        w.write("          <compilerArgs combine.children=\"append\">\n");
+        w.write("            <arg>-Abench.module=${project.artifactId}</arg>\n");
+        w.write("          </compilerArgs>\n");
+        w.write("        </configuration>\n");
+        w.write("      </plugin>\n");
+        w.write("    </plugins>\n  </build>\n");
+    }
+
+    private static void bomParent(Writer w) throws IOException {
+        w.write("  <groupId>" + GROUP_ID + "</groupId>\n");
+        w.write("  <artifactId>bench-bom-parent</artifactId>\n");
+        w.write("  <version>" + BOM_VERSION + "</version>\n");
+        w.write("  <packaging>pom</packaging>\n");
+        w.write("  <properties>\n");
+        w.write("    <lib.version>2.0.0</lib.version>\n");
+        w.write("  </properties>\n");
+    }
+
+    private static void bom(Writer w) throws IOException {
+        w.write("  <parent>\n");
+        w.write("    <groupId>" + GROUP_ID + "</groupId>\n");
+        w.write("    <artifactId>bench-bom-parent</artifactId>\n");
+        w.write("    <version>" + BOM_VERSION + "</version>\n");
+        w.write("  </parent>\n");
+        w.write("  <artifactId>bench-bom</artifactId>\n");
+        w.write("  <packaging>pom</packaging>\n");
+        w.write("  <dependencyManagement>\n    <dependencies>\n");
+        dependency(w, GROUP_ID, "bench-platform", BOM_VERSION, "pom", "import");
+        for (int i = 0; i < MANAGED_DEPENDENCIES; i++) {
+            dependency(w, "org.example", "lib-" + i, "${lib.version}", null, null);
+        }
+        w.write("    </dependencies>\n  </dependencyManagement>\n");
+    }
+
+    private static void platform(Writer w) throws IOException {
+        w.write("  <groupId>" + GROUP_ID + "</groupId>\n");
+        w.write("  <artifactId>bench-platform</artifactId>\n");
+        w.write("  <version>" + BOM_VERSION + "</version>\n");
+        w.write("  <packaging>pom</packaging>\n");
+        w.write("  <dependencyManagement>\n    <dependencies>\n");
+        for (int i = 0; i < MANAGED_DEPENDENCIES; i++) {
+            dependency(w, "org.example", "platform-lib-" + i, "3." + i, null, null);
+        }
+        w.write("    </dependencies>\n  </dependencyManagement>\n");
+    }
+
+    private static void parentRef(Writer w, String artifactId, String relativePath) throws IOException {
+        w.write("  <parent>\n");
+        w.write("    <groupId>" + GROUP_ID + "</groupId>\n");
+        w.write("    <artifactId>" + artifactId + "</artifactId>\n");
+        w.write("    <version>" + VERSION + "</version>\n");
+        w.write("    <relativePath>" + relativePath + "</relativePath>\n");
+        w.write("  </parent>\n");
+    }
+
+    private static void dependency(
+            Writer w, String groupId, String artifactId, String version, String type, String scope) throws IOException {
+        w.write("      <dependency>\n");
+        w.write("        <groupId>" + groupId + "</groupId>\n");
+        w.write("        <artifactId>" + artifactId + "</artifactId>\n");
+        if (version != null) {
+            w.write("        <version>" + version + "</version>\n");
+        }
+        if (type != null) {
+            w.write("        <type>" + type + "</type>\n");
+        }
+        if (scope != null) {
+            w.write("        <scope>" + scope + "</scope>\n");
+        }
+        w.write("      </dependency>\n");
+    }
+
+    private static void pom(Path path, PomContent content) throws IOException {
+        Files.createDirectories(path.getParent());
+        try (Writer w = Files.newBufferedWriter(path)) {
+            w.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+            w.write("<project xmlns=\"http://maven.apache.org/POM/4.0.0\">\n");
+            w.write("  <modelVersion>4.0.0</modelVersion>\n");
+            content.write(w);
+            w.write("</project>\n");
+        }
+    }
+
+    @FunctionalInterface
+    private interface PomContent {
+        void write(Writer writer) throws IOException;
+    }
+}
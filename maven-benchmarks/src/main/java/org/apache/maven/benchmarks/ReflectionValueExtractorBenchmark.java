@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.model.Build;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.model.interpolation.reflection.ReflectionValueExtractor;
+import org.apache.maven.project.MavenProject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Evaluates typical {@code ${project.*}} expressions from many threads at once, as parallel project building and
+ * mojo configuration do, to measure contention in the shared introspection caches.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@State(Scope.Benchmark)
+public class ReflectionValueExtractorBenchmark {
+
+    private static final String[] EXPRESSIONS = {
+        "project.groupId",
+        "project.version",
+        "project.build.directory",
+        "project.build.finalName",
+        "project.build.plugins[0].artifactId",
+        "project.properties(maven.compiler.release)",
+        "project.model.build.outputDirectory",
+        "project.artifactId"
+    };
+
+    private MavenProject project;
+
+    @Setup
+    public void setUp() {
+        Plugin plugin = new Plugin();
+        plugin.setArtifactId("maven-compiler-plugin");
+        Build build = new Build();
+        build.setDirectory("target");
+        build.setFinalName("bench-1.0");
+        build.setOutputDirectory("target/classes");
+        build.addPlugin(plugin);
+        Model model = new Model();
+        model.setGroupId("org.apache.maven.benchmarks");
+        model.setArtifactId("bench");
+        model.setVersion("1.0");
+        model.setBuild(build);
+        model.addProperty("maven.compiler.release", "17");
+        project = new MavenProject(model);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void evaluate1Thread(Blackhole blackhole) throws Exception {
+        evaluate(blackhole);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void evaluate8Threads(Blackhole blackhole) throws Exception {
+        evaluate(blackhole);
+    }
+
+    @Benchmark
+    @Threads(32)
+    public void evaluate32Threads(Blackhole blackhole) throws Exception {
+        evaluate(blackhole);
+    }
+
+    private void evaluate(Blackhole blackhole) throws Exception {
+        for (String expression : EXPRESSIONS) {
+            blackhole.consume(ReflectionValueExtractor.evaluate(expression, project));
+        }
+    }
+}
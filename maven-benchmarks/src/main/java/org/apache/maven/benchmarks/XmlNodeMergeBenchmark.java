@@ -0,0 +1,177 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.api.xml.XmlNode;
+import org.apache.maven.internal.xml.XmlNodeImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Merges plugin configuration trees with {@link XmlNodeImpl#merge(XmlNode, XmlNode)}, which runs for every plugin
+ * and execution whose configuration is inherited or managed.
+ * <p>
+ * The synthetic trees are {@code width} children wide at every level and three levels deep. The realistic ones model
+ * a surefire configuration with {@code entries} system properties, includes and excludes, of which a module only
+ * overrides a handful.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@State(Scope.Benchmark)
+public class XmlNodeMergeBenchmark {
+
+    private static final int DEPTH = 3;
+
+    @Param({"5", "20"})
+    int width;
+
+    @Param({"300"})
+    int entries;
+
+    private XmlNode dominant;
+
+    private XmlNode recessive;
+
+    private XmlNode identical;
+
+    private XmlNode appending;
+
+    private XmlNode managedConfiguration;
+
+    private XmlNode moduleConfiguration;
+
+    private XmlNode emptyConfiguration;
+
+    private String[] childNames;
+
+    @Setup
+    public void setUp() {
+        dominant = tree("configuration", "child", DEPTH, Map.of());
+        recessive = tree("configuration", "parent", DEPTH, Map.of());
+        identical = tree("configuration", "child", DEPTH, Map.of());
+        appending = tree("configuration", "child", DEPTH, Map.of("combine.children", "append"));
+        managedConfiguration = surefire(entries, "managed");
+        moduleConfiguration = surefire(5, "module");
+        emptyConfiguration = new XmlNodeImpl("configuration", null, null, null, null);
+        XmlNode properties = managedConfiguration.getChild("systemPropertyVariables");
+        childNames = properties.getChildren().stream().map(XmlNode::getName).toArray(String[]::new);
+    }
+
+    /**
+     * Same shape, different values: every node of the recessive tree is visited and overridden.
+     */
+    @Benchmark
+    public XmlNode mergeOverriding() {
+        return XmlNodeImpl.merge(dominant, recessive);
+    }
+
+    /**
+     * Equal trees, as when a module inherits configuration it does not touch.
+     */
+    @Benchmark
+    public XmlNode mergeIdentical() {
+        return XmlNodeImpl.merge(dominant, identical);
+    }
+
+    /**
+     * Child lists appended to the recessive ones.
+     */
+    @Benchmark
+    public XmlNode mergeAppending() {
+        return XmlNodeImpl.merge(appending, recessive);
+    }
+
+    /**
+     * A module overriding a few entries of a wide managed configuration.
+     */
+    @Benchmark
+    public XmlNode mergeWideConfiguration() {
+        return XmlNodeImpl.merge(moduleConfiguration, managedConfiguration);
+    }
+
+    /**
+     * A wide configuration inherited into a module that does not contribute anything.
+     */
+    @Benchmark
+    public XmlNode mergeWideIntoEmpty() {
+        return XmlNodeImpl.merge(managedConfiguration, emptyConfiguration);
+    }
+
+    /**
+     * Looks up every child of a wide node by name, as the configurators do for every parameter.
+     */
+    @Benchmark
+    public int getChildOfWideNode() {
+        XmlNode properties = managedConfiguration.getChild("systemPropertyVariables");
+        int found = 0;
+        for (String name : childNames) {
+            if (properties.getChild(name) != null) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    private static XmlNode surefire(int entries, String value) {
+        List<XmlNode> properties = new ArrayList<>(entries);
+        List<XmlNode> includes = new ArrayList<>(entries);
+        List<XmlNode> excludes = new ArrayList<>(entries);
+        for (int i = 0; i < entries; i++) {
+            properties.add(new XmlNodeImpl("property" + i, value + i));
+            includes.add(new XmlNodeImpl("include", "**/" + value + i + "Test.java"));
+            excludes.add(new XmlNodeImpl("exclude", "**/" + value + i + "IT.java"));
+        }
+        List<XmlNode> children = new ArrayList<>();
+        children.add(new XmlNodeImpl("argLine", "-Xmx512m -Dvalue=" + value));
+        children.add(new XmlNodeImpl("forkCount", "1C"));
+        children.add(new XmlNodeImpl("reuseForks", "true"));
+        children.add(new XmlNodeImpl("systemPropertyVariables", null, null, properties, null));
+        children.add(new XmlNodeImpl("includes", null, null, includes, null));
+        children.add(new XmlNodeImpl("excludes", null, null, excludes, null));
+        return new XmlNodeImpl("configuration", null, null, children, null);
+    }
+
+    private XmlNode tree(String name, String value, int depth, Map<String, String> attributes) {
+        if (depth == 0) {
+            return new XmlNodeImpl(name, value + "-" + name);
+        }
+        List<XmlNode> children = new ArrayList<>(width);
+        for (int i = 0; i < width; i++) {
+            children.add(tree("node" + i, value, depth - 1, attributes));
+        }
+        return new XmlNodeImpl(name, null, attributes, children, null);
+    }
+}
@@ -0,0 +1,13 @@
+// CHECKSTYLE_OFF: RegexpHeader
+/**
+ * JMH benchmarks of the hot paths of Maven core: project and model building, interpolation, model and
+ * configuration merging, version parsing, reactor graph queries and execution plan calculation.
+ * <p>
+ * The module is only part of the build with the {@code benchmarks} profile:
+ * <pre>
+ * mvn -Pbenchmarks install -DskipTests
+ * java -jar maven-benchmarks/target/benchmarks.jar [regexp] [-p modules=100] [-prof gc]
+ * </pre>
+ * Reactor sized benchmarks run against the synthetic reactors written by {@link org.apache.maven.benchmarks.Reactors}.
+ */
+package org.apache.maven.benchmarks;
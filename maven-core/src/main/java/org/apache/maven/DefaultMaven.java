@@ -46,6 +46,8 @@
 import org.apache.maven.api.services.Lookup;
 import org.apache.maven.api.services.LookupException;
 import org.apache.maven.artifact.ArtifactUtils;
+import org.apache.maven.artifact.versioning.ComparableVersion;
+import org.apache.maven.artifact.versioning.VersionRange;
 import org.apache.maven.execution.BuildResumptionAnalyzer;
 import org.apache.maven.execution.BuildResumptionDataRepository;
 import org.apache.maven.execution.BuildResumptionPersistenceException;
@@ -61,6 +63,7 @@
 import org.apache.maven.graph.ProjectSelector;
 import org.apache.maven.internal.impl.DefaultSessionFactory;
 import org.apache.maven.internal.impl.InternalMavenSession;
+import org.apache.maven.internal.transformation.ConsumerPomArtifactTransformer;
 import org.apache.maven.lifecycle.LifecycleExecutionException;
 import org.apache.maven.lifecycle.internal.ExecutionEventCatapult;
 import org.apache.maven.lifecycle.internal.LifecycleStarter;
@@ -113,6 +116,8 @@ public class DefaultMaven implements Maven {
 
     private final ProjectSelector projectSelector;
 
+    private final ConsumerPomArtifactTransformer consumerPomArtifactTransformer;
+
     @Inject
     @SuppressWarnings("checkstyle:ParameterNumber")
     public DefaultMaven(
@@ -126,7 +131,8 @@ public DefaultMaven(
             BuildResumptionDataRepository buildResumptionDataRepository,
             SuperPomProvider superPomProvider,
             DefaultSessionFactory defaultSessionFactory,
-            @Nullable @Named("ide") WorkspaceReader ideWorkspaceReader) {
+            @Nullable @Named("ide") WorkspaceReader ideWorkspaceReader,
+            ConsumerPomArtifactTransformer consumerPomArtifactTransformer) {
         this.lookup = lookup;
         this.eventCatapult = eventCatapult;
         this.legacySupport = legacySupport;
@@ -138,6 +144,7 @@ public DefaultMaven(
         this.superPomProvider = superPomProvider;
         this.ideWorkspaceReader = ideWorkspaceReader;
         this.defaultSessionFactory = defaultSessionFactory;
+        this.consumerPomArtifactTransformer = consumerPomArtifactTransformer;
         this.projectSelector = new ProjectSelector(); // if necessary switch to DI
     }
 
@@ -324,6 +331,8 @@ private MavenExecutionResult doExecute(
                         .ifPresent(buildResumptionDataRepository::removeResumptionData);
             }
         } finally {
+            consumerPomArtifactTransformer.closePreparations(session.getRepositorySession());
+            logVersionCacheStatistics();
             try {
                 afterSessionEnd(session);
             } catch (MavenExecutionException e) {
@@ -334,6 +343,15 @@ private MavenExecutionResult doExecute(
         return result;
     }
 
+    private void logVersionCacheStatistics() {
+        if (logger.isDebugEnabled()) {
+            logger.debug(
+                    "Version caches: versions {}, ranges {}",
+                    ComparableVersion.getCacheStatistics(),
+                    VersionRange.getCacheStatistics());
+        }
+    }
+
     private void setupWorkspaceReader(MavenSession session, MavenChainedWorkspaceReader chainedWorkspaceReader) {
         // Desired order of precedence for workspace readers before querying the local artifact repositories
         Set<WorkspaceReader> workspaceReaders = new LinkedHashSet<>();
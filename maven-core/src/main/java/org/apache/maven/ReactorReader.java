@@ -29,7 +29,6 @@
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
-import java.util.ArrayDeque;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -39,10 +38,13 @@
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import org.apache.maven.api.feature.Features;
 import org.apache.maven.api.model.Model;
 import org.apache.maven.api.services.Lookup;
 import org.apache.maven.eventspy.EventSpy;
@@ -82,6 +84,7 @@ class ReactorReader implements MavenWorkspaceReader {
     private Path projectLocalRepository;
     // projectId -> Deque<lifecycle>
     private final Map<String, Deque<String>> lifecycles = new ConcurrentHashMap<>();
+    private final Set<String> projectsInProgress = ConcurrentHashMap.newKeySet();
 
     @Inject
     ReactorReader(MavenSession session) {
@@ -154,6 +157,17 @@ private File findArtifact(MavenProject project, Artifact artifact) {
             return project.getFile();
         }
 
+        // A project still being built can be resolved when the reactor is pipelined, and its compile output
+        // is then more recent than anything the project local repository may hold from a previous build
+        if (isPipelining()
+                && projectsInProgress.contains(project.getId())
+                && !hasBeenPackagedDuringThisSession(project)) {
+            File outputDirectory = determineBuildOutputDirectoryForArtifact(project, artifact);
+            if (outputDirectory != null) {
+                return outputDirectory;
+            }
+        }
+
         // First check in the project local repository
         File packagedArtifactFile = findInProjectLocalRepository(artifact);
         if (packagedArtifactFile != null
@@ -319,6 +333,7 @@ private File findInProjectLocalRepository(Artifact artifact) {
     /**
      * We are interested in project success events, in which case we call
      * the {@link #installIntoProjectLocalRepository(MavenProject)} method.
+     * The project started and failed events track the projects being built.
      * The mojo started event is also captured to determine the lifecycle
      * phases the project has been through.
      *
@@ -339,17 +354,39 @@ private void processEvent(ExecutionEvent event) {
                     }
                 }
                 break;
+            case ProjectStarted:
+                if (isPipelining()) {
+                    projectsInProgress.add(project.getId());
+                }
+                break;
             case ProjectSucceeded:
+                projectsInProgress.remove(project.getId());
+                installIntoProjectLocalRepository(project);
+                break;
             case ForkedProjectSucceeded:
                 installIntoProjectLocalRepository(project);
                 break;
+            case ProjectFailed:
+                projectsInProgress.remove(project.getId());
+                break;
             default:
                 break;
         }
     }
 
+    /**
+     * Projects are only resolved while they are being built when the multithreaded builder pipelines the reactor.
+     */
+    private boolean isPipelining() {
+        String value = session.getUserProperties().getProperty(Features.BUILDER_PIPELINING);
+        if (value == null) {
+            value = session.getSystemProperties().getProperty(Features.BUILDER_PIPELINING);
+        }
+        return Boolean.parseBoolean(value);
+    }
+
     private Deque<String> getLifecycles(MavenProject project) {
-        return lifecycles.computeIfAbsent(project.getId(), k -> new ArrayDeque<>());
+        return lifecycles.computeIfAbsent(project.getId(), k -> new ConcurrentLinkedDeque<>());
     }
 
     /**
@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.eventspy.internal;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.maven.eventspy.EventSpy;
+
+/**
+ * Notifies an event spy from its own thread, through a bounded queue. The events are delivered one at a time in the
+ * order they have been queued, hence in the order they occurred for each project, so that at most the capacity of the
+ * queue plus the event being delivered are held. When the queue is full, the {@link Overflow overflow policy} decides
+ * whether the caller waits or the event is dropped.
+ *
+ * @since 4.0.0
+ */
+class AsyncEventSpy {
+
+    /**
+     * What happens to an event when the queue of the spy is full.
+     */
+    enum Overflow {
+        /**
+         * The caller waits until the event can be queued.
+         */
+        BLOCK,
+        /**
+         * The event is dropped.
+         */
+        DROP,
+        /**
+         * One event out of {@value AsyncEventSpy#SAMPLE_RATE} is queued as by {@link #BLOCK}, the others are dropped.
+         */
+        SAMPLE
+    }
+
+    static final int SAMPLE_RATE = 16;
+
+    private static final Object END = new Object();
+
+    private final EventSpyDispatcher dispatcher;
+
+    private final EventSpy eventSpy;
+
+    private final BlockingQueue<Object> queue;
+
+    private final Overflow overflow;
+
+    private final AtomicLong overflowed = new AtomicLong();
+
+    private final LongAdder dropped = new LongAdder();
+
+    private final Thread thread;
+
+    AsyncEventSpy(EventSpyDispatcher dispatcher, EventSpy eventSpy, int capacity, Overflow overflow) {
+        this.dispatcher = dispatcher;
+        this.eventSpy = eventSpy;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.overflow = overflow;
+        this.thread = new Thread(this::run, "event-spy-" + eventSpy.getClass().getSimpleName());
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    EventSpy getEventSpy() {
+        return eventSpy;
+    }
+
+    void onEvent(Object event) {
+        try {
+            if (overflow == Overflow.BLOCK) {
+                queue.put(event);
+            } else if (!queue.offer(event)) {
+                if (overflow == Overflow.SAMPLE && overflowed.incrementAndGet() % SAMPLE_RATE == 0) {
+                    queue.put(event);
+                } else {
+                    dropped.increment();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            dropped.increment();
+        }
+    }
+
+    /**
+     * Waits for the queued events to be delivered and stops the thread of the spy.
+     *
+     * @return the number of dropped events
+     */
+    long close() throws InterruptedException {
+        queue.put(END);
+        thread.join();
+        return dropped.sum();
+    }
+
+    private void run() {
+        try {
+            for (Object event = queue.take(); event != END; event = queue.take()) {
+                dispatcher.notify(eventSpy, event);
+            }
+        } catch (InterruptedException e) {
+            // stopped
+        }
+    }
+}
@@ -24,8 +24,12 @@
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
 
+import org.apache.maven.api.feature.Features;
 import org.apache.maven.eventspy.EventSpy;
+import org.apache.maven.execution.ExecutionEvent;
 import org.apache.maven.execution.ExecutionListener;
 import org.eclipse.aether.RepositoryListener;
 import org.slf4j.Logger;
@@ -33,15 +37,35 @@
 
 /**
  * Dispatches callbacks to all registered EventSpies.
+ * <p>
+ * When the spies are notified asynchronously, an {@link ExecutionEvent} is delivered as a snapshot taken by the
+ * thread that fired it: its project, and the current project of its session, are the ones of that thread. The other
+ * events, as well as the projects, requests and results they refer to, are delivered as is and may have been changed
+ * by the build by the time a spy reads them.
+ * </p>
  * @since 3.0.2
  */
 @Named
 @Singleton
 public class EventSpyDispatcher {
+    /**
+     * The capacity of the queue of each spy notified asynchronously.
+     */
+    public static final String ASYNC_CAPACITY = "maven.eventSpy.async.capacity";
+
+    public static final int DEFAULT_ASYNC_CAPACITY = 8192;
+
+    /**
+     * What happens to an event when the queue of a spy is full: {@code block}, {@code drop} or {@code sample}.
+     */
+    public static final String ASYNC_OVERFLOW = "maven.eventSpy.async.overflow";
+
     private final Logger logger = LoggerFactory.getLogger(getClass());
 
     private final List<EventSpy> eventSpies;
 
+    private volatile List<AsyncEventSpy> asyncEventSpies;
+
     @Inject
     public EventSpyDispatcher(List<EventSpy> eventSpies) {
         // make copy to get rid of needless overhead for dynamic lookups
@@ -73,18 +97,50 @@ public void init(EventSpy.Context context) {
                 logError("initialize", e, eventSpy);
             }
         }
+        if (context.getData().get("userProperties") instanceof Properties userProperties
+                && Features.asyncEventSpies(userProperties)) {
+            int capacity = DEFAULT_ASYNC_CAPACITY;
+            AsyncEventSpy.Overflow overflow = AsyncEventSpy.Overflow.BLOCK;
+            try {
+                capacity = Integer.parseInt(userProperties.getProperty(ASYNC_CAPACITY, String.valueOf(capacity)));
+                overflow = AsyncEventSpy.Overflow.valueOf(userProperties
+                        .getProperty(ASYNC_OVERFLOW, overflow.name())
+                        .toUpperCase(Locale.ENGLISH));
+            } catch (IllegalArgumentException e) {
+                logger.warn("Invalid asynchronous event spy configuration: " + e.getMessage());
+            }
+            List<AsyncEventSpy> asyncEventSpies = new ArrayList<>();
+            for (EventSpy eventSpy : eventSpies) {
+                asyncEventSpies.add(new AsyncEventSpy(this, eventSpy, Math.max(1, capacity), overflow));
+            }
+            this.asyncEventSpies = asyncEventSpies;
+        }
     }
 
     public void onEvent(Object event) {
         if (eventSpies.isEmpty()) {
             return;
         }
-        for (EventSpy eventSpy : eventSpies) {
-            try {
-                eventSpy.onEvent(event);
-            } catch (Exception | LinkageError e) {
-                logError("notify", e, eventSpy);
+        List<AsyncEventSpy> asyncEventSpies = this.asyncEventSpies;
+        if (asyncEventSpies != null) {
+            Object snapshot = event instanceof ExecutionEvent executionEvent
+                    ? new ExecutionEventSnapshot(executionEvent)
+                    : event;
+            for (AsyncEventSpy asyncEventSpy : asyncEventSpies) {
+                asyncEventSpy.onEvent(snapshot);
             }
+            return;
+        }
+        for (EventSpy eventSpy : eventSpies) {
+            notify(eventSpy, event);
+        }
+    }
+
+    void notify(EventSpy eventSpy, Object event) {
+        try {
+            eventSpy.onEvent(event);
+        } catch (Exception | LinkageError e) {
+            logError("notify", e, eventSpy);
         }
     }
 
@@ -92,6 +148,21 @@ public void close() {
         if (eventSpies.isEmpty()) {
             return;
         }
+        List<AsyncEventSpy> asyncEventSpies = this.asyncEventSpies;
+        if (asyncEventSpies != null) {
+            this.asyncEventSpies = null;
+            for (AsyncEventSpy asyncEventSpy : asyncEventSpies) {
+                try {
+                    long dropped = asyncEventSpy.close();
+                    if (dropped > 0) {
+                        logger.warn("Dropped " + dropped + " events for spy "
+                                + asyncEventSpy.getEventSpy().getClass().getName());
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
         for (EventSpy eventSpy : eventSpies) {
             try {
                 eventSpy.close();
@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.eventspy.internal;
+
+import org.apache.maven.execution.ExecutionEvent;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.MojoExecution;
+import org.apache.maven.project.MavenProject;
+
+/**
+ * An execution event as seen by the thread that fired it. The current project of a session is bound to the build
+ * thread, so that an event delivered to another thread captures it, along with a clone of the session whose current
+ * project is the one of the event on any thread.
+ *
+ * @since 4.0.0
+ */
+class ExecutionEventSnapshot implements ExecutionEvent {
+
+    private final Type type;
+
+    private final MavenSession session;
+
+    private final MavenProject project;
+
+    private final MojoExecution mojoExecution;
+
+    private final Exception exception;
+
+    ExecutionEventSnapshot(ExecutionEvent event) {
+        this.type = event.getType();
+        this.session = event.getSession() != null ? event.getSession().clone() : null;
+        this.project = event.getProject();
+        this.mojoExecution = event.getMojoExecution();
+        this.exception = event.getException();
+    }
+
+    @Override
+    public Type getType() {
+        return type;
+    }
+
+    @Override
+    public MavenSession getSession() {
+        return session;
+    }
+
+    @Override
+    public MavenProject getProject() {
+        return project;
+    }
+
+    @Override
+    public MojoExecution getMojoExecution() {
+        return mojoExecution;
+    }
+
+    @Override
+    public Exception getException() {
+        return exception;
+    }
+}
@@ -19,16 +19,15 @@
 package org.apache.maven.graph;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import org.apache.maven.execution.ProjectDependencyGraph;
 import org.apache.maven.project.CycleDetectedException;
@@ -38,17 +37,32 @@
 
 /**
  * Describes the interdependencies between projects in the reactor.
- *
+ * <p>
+ * The graph is indexed by build order when it is created: the direct upstream and downstream projects of each
+ * project are kept in int arrays and the transitive closures in bit sets, so that queries neither walk the graph
+ * nor sort. The lists of upstream and downstream projects are computed once per project, and callers get copies of
+ * them which they may modify.
+ * </p>
  */
 public class DefaultProjectDependencyGraph implements ProjectDependencyGraph {
 
-    private final ProjectSorter sorter;
-
     private final List<MavenProject> allProjects;
 
+    private final List<MavenProject> sortedProjects;
+
     private final Map<MavenProject, Integer> order;
 
-    private final Map<String, MavenProject> projects;
+    private final int[][] upstream;
+
+    private final int[][] downstream;
+
+    private final BitSet[] transitiveUpstream;
+
+    private final BitSet[] transitiveDownstream;
+
+    private final AtomicReferenceArray<List<MavenProject>> upstreamLists;
+
+    private final AtomicReferenceArray<List<MavenProject>> downstreamLists;
 
     /**
      * Creates a new project dependency graph based on the specified projects.
@@ -90,16 +104,49 @@ public DefaultProjectDependencyGraph(List<MavenProject> allProjects, Collection<
     public DefaultProjectDependencyGraph(Collection<MavenProject> allProjects, Collection<MavenProject> projects)
             throws CycleDetectedException, DuplicateProjectException {
         this.allProjects = Collections.unmodifiableList(new ArrayList<>(allProjects));
-        this.sorter = new ProjectSorter(projects);
+        ProjectSorter sorter = new ProjectSorter(projects);
+        this.sortedProjects = Collections.unmodifiableList(new ArrayList<>(sorter.getSortedProjects()));
+        int size = sortedProjects.size();
         this.order = new HashMap<>();
-        this.projects = new HashMap<>();
-        List<MavenProject> sorted = this.sorter.getSortedProjects();
-        for (int index = 0; index < sorted.size(); index++) {
-            MavenProject project = sorted.get(index);
-            String id = ProjectSorter.getId(project);
-            this.projects.put(id, project);
+        Map<String, Integer> indexes = new HashMap<>();
+        for (int index = 0; index < size; index++) {
+            MavenProject project = sortedProjects.get(index);
             this.order.put(project, index);
+            indexes.put(ProjectSorter.getId(project), index);
+        }
+        this.upstream = new int[size][];
+        this.downstream = new int[size][];
+        for (int index = 0; index < size; index++) {
+            String id = ProjectSorter.getId(sortedProjects.get(index));
+            this.upstream[index] = toSortedIndexes(sorter.getDependencies(id), indexes);
+            this.downstream[index] = toSortedIndexes(sorter.getDependents(id), indexes);
         }
+        // upstream projects always come first in build order, so a single pass in each direction is enough
+        this.transitiveUpstream = new BitSet[size];
+        for (int index = 0; index < size; index++) {
+            BitSet closure = new BitSet(size);
+            for (int up : upstream[index]) {
+                closure.set(up);
+                closure.or(transitiveUpstream[up]);
+            }
+            transitiveUpstream[index] = closure;
+        }
+        this.transitiveDownstream = new BitSet[size];
+        for (int index = size - 1; index >= 0; index--) {
+            BitSet closure = new BitSet(size);
+            for (int down : downstream[index]) {
+                closure.set(down);
+                closure.or(transitiveDownstream[down]);
+            }
+            transitiveDownstream[index] = closure;
+        }
+        this.upstreamLists = new AtomicReferenceArray<>(size * 2);
+        this.downstreamLists = new AtomicReferenceArray<>(size * 2);
+    }
+
+    private static int[] toSortedIndexes(List<String> ids, Map<String, Integer> indexes) {
+        // the sorter reports a dependency once per declaration, e.g. for both the jar and the test jar
+        return ids.stream().mapToInt(indexes::get).distinct().sorted().toArray();
     }
 
     /**
@@ -110,54 +157,78 @@ public List<MavenProject> getAllProjects() {
     }
 
     public List<MavenProject> getSortedProjects() {
-        return new ArrayList<>(sorter.getSortedProjects());
+        return new ArrayList<>(sortedProjects);
     }
 
     public List<MavenProject> getDownstreamProjects(MavenProject project, boolean transitive) {
         Objects.requireNonNull(project, "project cannot be null");
 
-        Set<String> projectIds = new HashSet<>();
-
-        getDownstreamProjects(ProjectSorter.getId(project), projectIds, transitive);
-
-        return getSortedProjects(projectIds);
-    }
-
-    private void getDownstreamProjects(String projectId, Set<String> projectIds, boolean transitive) {
-        for (String id : sorter.getDependents(projectId)) {
-            if (projectIds.add(id) && transitive) {
-                getDownstreamProjects(id, projectIds, transitive);
-            }
-        }
+        return getProjects(project, transitive, downstream, transitiveDownstream, downstreamLists);
     }
 
     public List<MavenProject> getUpstreamProjects(MavenProject project, boolean transitive) {
         Objects.requireNonNull(project, "project cannot be null");
 
-        Set<String> projectIds = new HashSet<>();
-
-        getUpstreamProjects(ProjectSorter.getId(project), projectIds, transitive);
-
-        return getSortedProjects(projectIds);
+        return getProjects(project, transitive, upstream, transitiveUpstream, upstreamLists);
     }
 
-    private void getUpstreamProjects(String projectId, Collection<String> projectIds, boolean transitive) {
-        for (String id : sorter.getDependencies(projectId)) {
-            if (projectIds.add(id) && transitive) {
-                getUpstreamProjects(id, projectIds, transitive);
-            }
+    /**
+     * Checks whether a project is an upstream project of another one, i.e. whether it must be built before.
+     *
+     * @param project The project whose upstream projects should be checked, must not be {@code null}.
+     * @param candidate The potential upstream project, must not be {@code null}.
+     * @param transitive A flag whether to consider indirect upstream projects or only the immediate ones.
+     * @return {@code true} if {@code candidate} is an upstream project of {@code project}
+     * @since 4.0.0
+     */
+    public boolean isUpstreamProject(MavenProject project, MavenProject candidate, boolean transitive) {
+        Integer index = order.get(Objects.requireNonNull(project, "project cannot be null"));
+        Integer candidateIndex = order.get(Objects.requireNonNull(candidate, "candidate cannot be null"));
+        if (index == null || candidateIndex == null) {
+            return false;
+        }
+        if (transitive) {
+            return transitiveUpstream[index].get(candidateIndex);
         }
+        return Arrays.binarySearch(upstream[index], candidateIndex) >= 0;
     }
 
-    private List<MavenProject> getSortedProjects(Set<String> projectIds) {
-        return projectIds.stream()
-                .map(projects::get)
-                .sorted(Comparator.comparingInt(order::get))
-                .collect(Collectors.toList());
+    private List<MavenProject> getProjects(
+            MavenProject project,
+            boolean transitive,
+            int[][] direct,
+            BitSet[] closures,
+            AtomicReferenceArray<List<MavenProject>> cache) {
+        Integer index = order.get(project);
+        if (index == null) {
+            return new ArrayList<>();
+        }
+        int slot = index * 2 + (transitive ? 1 : 0);
+        List<MavenProject> result = cache.get(slot);
+        if (result == null) {
+            List<MavenProject> list;
+            if (transitive) {
+                BitSet closure = closures[index];
+                list = new ArrayList<>(closure.cardinality());
+                for (int i = closure.nextSetBit(0); i >= 0; i = closure.nextSetBit(i + 1)) {
+                    list.add(sortedProjects.get(i));
+                }
+            } else {
+                list = new ArrayList<>(direct[index].length);
+                for (int i : direct[index]) {
+                    list.add(sortedProjects.get(i));
+                }
+            }
+            result = Collections.unmodifiableList(list);
+            if (!cache.compareAndSet(slot, null, result)) {
+                result = cache.get(slot);
+            }
+        }
+        return new ArrayList<>(result);
     }
 
     @Override
     public String toString() {
-        return sorter.getSortedProjects().toString();
+        return sortedProjects.toString();
     }
 }
@@ -20,16 +20,19 @@
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.maven.execution.ProjectDependencyGraph;
 import org.apache.maven.project.MavenProject;
 
 /**
- * Provides a sub view of another dependency graph.
+ * Provides a sub view of another dependency graph. The filtered upstream and downstream lists are computed once per
+ * project, and callers get copies of them which they may modify.
  *
  */
 class FilteredProjectDependencyGraph implements ProjectDependencyGraph {
@@ -40,6 +43,14 @@ class FilteredProjectDependencyGraph implements ProjectDependencyGraph {
 
     private List<MavenProject> sortedProjects;
 
+    private final Map<MavenProject, List<MavenProject>> downstreamProjects = new ConcurrentHashMap<>();
+
+    private final Map<MavenProject, List<MavenProject>> transitiveDownstreamProjects = new ConcurrentHashMap<>();
+
+    private final Map<MavenProject, List<MavenProject>> upstreamProjects = new ConcurrentHashMap<>();
+
+    private final Map<MavenProject, List<MavenProject>> transitiveUpstreamProjects = new ConcurrentHashMap<>();
+
     /**
      * Creates a new project dependency graph from the specified graph.
      *
@@ -74,11 +85,19 @@ public List<MavenProject> getSortedProjects() {
     }
 
     public List<MavenProject> getDownstreamProjects(MavenProject project, boolean transitive) {
-        return applyFilter(projectDependencyGraph.getDownstreamProjects(project, transitive));
+        return new ArrayList<>((transitive ? transitiveDownstreamProjects : downstreamProjects)
+                .computeIfAbsent(
+                        project,
+                        p -> Collections.unmodifiableList(
+                                applyFilter(projectDependencyGraph.getDownstreamProjects(p, transitive)))));
     }
 
     public List<MavenProject> getUpstreamProjects(MavenProject project, boolean transitive) {
-        return applyFilter(projectDependencyGraph.getUpstreamProjects(project, transitive));
+        return new ArrayList<>((transitive ? transitiveUpstreamProjects : upstreamProjects)
+                .computeIfAbsent(
+                        project,
+                        p -> Collections.unmodifiableList(
+                                applyFilter(projectDependencyGraph.getUpstreamProjects(p, transitive)))));
     }
 
     private List<MavenProject> applyFilter(Collection<? extends MavenProject> projects) {
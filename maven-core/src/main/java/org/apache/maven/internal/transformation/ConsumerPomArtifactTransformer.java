@@ -38,4 +38,8 @@ public interface ConsumerPomArtifactTransformer {
 
     void injectTransformedArtifacts(RepositorySystemSession repositorySession, MavenProject currentProject)
             throws IOException;
+
+    void prepareTransformedArtifacts(RepositorySystemSession repositorySession, MavenProject currentProject);
+
+    void closePreparations(RepositorySystemSession repositorySession);
 }
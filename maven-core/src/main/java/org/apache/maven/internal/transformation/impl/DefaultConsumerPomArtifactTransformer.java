@@ -31,8 +31,14 @@
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.maven.api.feature.Features;
 import org.apache.maven.api.model.Model;
@@ -65,6 +71,9 @@ class DefaultConsumerPomArtifactTransformer implements ConsumerPomArtifactTransf
 
     private static final String SCHEMA_LOCATION_FORMAT = "https://maven.apache.org/xsd/maven-%s.xsd";
 
+    private static final String PREPARATIONS_KEY =
+            DefaultConsumerPomArtifactTransformer.class.getName() + ".preparations";
+
     private final Set<Path> toDelete = new CopyOnWriteArraySet<>();
 
     private final ConsumerPomBuilder builder;
@@ -98,6 +107,76 @@ public void injectTransformedArtifacts(RepositorySystemSession session, MavenPro
         }
     }
 
+    /**
+     * Transforms the consumer POM of the given project in the background, so that it is ready when the project gets
+     * installed or deployed. The failures are ignored here and reported when the file of the artifact is requested.
+     * The transformations are bound to the session and must be closed with {@link #closePreparations} when it ends.
+     */
+    @Override
+    public void prepareTransformedArtifacts(RepositorySystemSession session, MavenProject project) {
+        if (Features.buildConsumer(session.getUserProperties())) {
+            for (org.apache.maven.artifact.Artifact artifact : project.getAttachedArtifacts()) {
+                if (artifact instanceof TransformedArtifact transformedArtifact) {
+                    Preparations preparations = (Preparations)
+                            session.getData().computeIfAbsent(PREPARATIONS_KEY, Preparations::new);
+                    preparations.submit(() -> {
+                        try {
+                            transformedArtifact.getFile();
+                        } catch (RuntimeException e) {
+                            // reported when the file is requested again
+                        }
+                    });
+                }
+            }
+        }
+    }
+
+    /**
+     * Cancels the background transformations of the given session which did not start yet, and awaits the running
+     * ones.
+     */
+    @Override
+    public void closePreparations(RepositorySystemSession session) {
+        Preparations preparations = (Preparations) session.getData().get(PREPARATIONS_KEY);
+        if (preparations != null) {
+            session.getData().set(PREPARATIONS_KEY, null);
+            preparations.close();
+        }
+    }
+
+    /**
+     * The consumer POM transformations made in the background for one session.
+     */
+    private static class Preparations {
+
+        private final ClassLoader contextClassLoader = DefaultConsumerPomArtifactTransformer.class.getClassLoader();
+
+        private final ExecutorService executor =
+                Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), r -> {
+                    Thread thread = new Thread(r, "consumer-pom-transformer");
+                    thread.setDaemon(true);
+                    thread.setContextClassLoader(contextClassLoader);
+                    return thread;
+                });
+
+        private final Queue<Future<?>> futures = new ConcurrentLinkedQueue<>();
+
+        void submit(Runnable task) {
+            futures.add(executor.submit(task));
+            futures.removeIf(Future::isDone);
+        }
+
+        void close() {
+            futures.forEach(future -> future.cancel(false));
+            executor.shutdown();
+            try {
+                executor.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
     TransformedArtifact createConsumerPomArtifact(
             MavenProject project, Path consumer, RepositorySystemSession session) {
         return new TransformedArtifact(
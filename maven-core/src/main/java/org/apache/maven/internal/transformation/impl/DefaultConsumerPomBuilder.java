@@ -26,7 +26,6 @@
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
-import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.apache.maven.api.SessionData;
@@ -44,6 +43,7 @@
 import org.apache.maven.api.services.ModelResolver;
 import org.apache.maven.api.services.ModelSource;
 import org.apache.maven.api.services.ModelTransformer;
+import org.apache.maven.api.services.Source;
 import org.apache.maven.api.services.SuperPomProvider;
 import org.apache.maven.api.services.model.DependencyManagementImporter;
 import org.apache.maven.api.services.model.DependencyManagementInjector;
@@ -205,18 +205,17 @@ public List<Profile> getActiveProfiles(
         request.transformerContextBuilder(modelBuilder.newTransformerContextBuilder());
         request.systemProperties(session.getSystemProperties());
         request.userProperties(session.getUserProperties());
-        request.modelCache(DefaultModelCache.newInstance(session, false));
-        if (session.getCache() != null) {
-            Map<?, ?> map = (Map) session.getCache().get(session, DefaultModelCache.class.getName());
-            List<String> paths = map.keySet().stream()
-                    .map(Object::toString)
-                    .filter(s -> s.startsWith("SourceCacheKey"))
-                    .map(s -> s.substring("SourceCacheKey[location=".length(), s.indexOf(", tag")))
+        DefaultModelCache modelCache = DefaultModelCache.newInstance(session, false);
+        request.modelCache(modelCache);
+        if (logger.isDebugEnabled()) {
+            List<String> paths = modelCache.getSources().stream()
+                    .map(Source::getLocation)
                     .sorted()
                     .distinct()
                     .toList();
             logger.debug("ModelCache contains " + paths.size());
             paths.forEach(s -> logger.debug("    " + s));
+            logger.debug(modelCache.toString());
         }
         return modelBuilder.build(request.build());
     }
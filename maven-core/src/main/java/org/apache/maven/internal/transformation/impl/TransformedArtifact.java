@@ -24,7 +24,10 @@
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.Objects;
@@ -50,7 +53,20 @@ class TransformedArtifact extends DefaultArtifact {
     private final Supplier<Path> sourcePathProvider;
     private final Path target;
     private final RepositorySystemSession session;
-    private final AtomicReference<String> sourceState;
+    private final AtomicReference<SourceState> sourceState;
+
+    /**
+     * The state of the source the target has been transformed from: its identity and modification stamp, which are
+     * checked without locking on every access, and its checksum, which is only computed when the stamp changed.
+     */
+    private record SourceState(Path path, Object fileKey, FileTime lastModified, long size, String sha1) {
+        boolean matches(Path path, BasicFileAttributes attributes) {
+            return this.path.equals(path)
+                    && Objects.equals(fileKey, attributes.fileKey())
+                    && lastModified.equals(attributes.lastModifiedTime())
+                    && size == attributes.size();
+        }
+    }
 
     @SuppressWarnings("checkstyle:ParameterNumber")
     TransformedArtifact(
@@ -90,39 +106,51 @@ public void setFile(File file) {
     }
 
     @Override
-    public synchronized File getFile() {
+    public File getFile() {
         try {
-            String state = mayUpdate();
-            if (state == null) {
-                return null;
+            Path src = sourcePathProvider.get();
+            SourceState state = sourceState.get();
+            if (src != null && state != null) {
+                BasicFileAttributes attributes = readAttributes(src);
+                if (attributes != null && state.matches(src, attributes) && Files.exists(target)) {
+                    return target.toFile();
+                }
             }
-            return target.toFile();
+            return mayUpdate();
         } catch (IOException | NoSuchAlgorithmException | XMLStreamException | ModelBuildingException e) {
             throw new TransformationFailedException(e);
         }
     }
 
-    private String mayUpdate()
+    private synchronized File mayUpdate()
             throws IOException, NoSuchAlgorithmException, XMLStreamException, ModelBuildingException {
-        String result;
         Path src = sourcePathProvider.get();
-        if (src == null) {
-            Files.deleteIfExists(target);
-            result = null;
-        } else if (!Files.exists(src)) {
+        BasicFileAttributes attributes = src != null ? readAttributes(src) : null;
+        SourceState existing = sourceState.get();
+        SourceState current = null;
+        if (attributes == null) {
             Files.deleteIfExists(target);
-            result = "";
+        } else if (existing != null && existing.matches(src, attributes) && Files.exists(target)) {
+            current = existing;
         } else {
-            String current = sha1(src);
-            String existing = sourceState.get();
-            if (!Files.exists(target) || !Objects.equals(current, existing)) {
+            String sha1 = sha1(src);
+            if (existing == null || !existing.sha1.equals(sha1) || !Files.exists(target)) {
                 defaultConsumerPomArtifactTransformer.transform(project, session, src, target);
-                Files.setLastModifiedTime(target, Files.getLastModifiedTime(src));
+                Files.setLastModifiedTime(target, attributes.lastModifiedTime());
             }
-            result = current;
+            current = new SourceState(
+                    src, attributes.fileKey(), attributes.lastModifiedTime(), attributes.size(), sha1);
+        }
+        sourceState.set(current);
+        return src != null ? target.toFile() : null;
+    }
+
+    private static BasicFileAttributes readAttributes(Path path) throws IOException {
+        try {
+            return Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            return null;
         }
-        sourceState.set(result);
-        return result;
     }
 
     static String sha1(Path path) throws NoSuchAlgorithmException, IOException {
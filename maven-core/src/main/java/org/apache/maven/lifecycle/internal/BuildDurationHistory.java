@@ -0,0 +1,206 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.lifecycle.internal;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.project.MavenProject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Remembers how long each project segment took to build in previous invocations, so that builders can schedule
+ * long running projects early. The durations are kept in a properties file in the <code>.mvn</code> directory of the
+ * root project and are only read and written when the <code>maven.builder.durationHistory</code> property is set
+ * to <code>true</code>.
+ * <p>
+ * Recorded values are smoothed with an exponentially weighted average so that a single slow or fast build does not
+ * dominate the estimate.
+ * </p>
+ * <strong>NOTE:</strong> This class is not part of any public api and can be changed or deleted without prior notice.
+ *
+ * @since 4.0.0
+ */
+public class BuildDurationHistory {
+    /**
+     * User or system property enabling the duration history.
+     */
+    public static final String DURATION_HISTORY = "maven.builder.durationHistory";
+
+    static final String DURATION_HISTORY_FILENAME = "build-durations.properties";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BuildDurationHistory.class);
+
+    private final Path file;
+
+    private final Map<String, Long> durations = new ConcurrentHashMap<>();
+
+    private volatile boolean modified;
+
+    BuildDurationHistory(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Loads the duration history of the given session.
+     *
+     * @param session the session
+     * @return the history, which is empty and never persisted if the history is not enabled
+     */
+    public static BuildDurationHistory load(MavenSession session) {
+        String enabled = session.getUserProperties().getProperty(DURATION_HISTORY);
+        if (enabled == null) {
+            enabled = session.getSystemProperties().getProperty(DURATION_HISTORY);
+        }
+        if (!Boolean.parseBoolean(enabled)) {
+            return new BuildDurationHistory(null);
+        }
+        Path rootDirectory;
+        try {
+            rootDirectory = session.getRequest().getRootDirectory();
+        } catch (IllegalStateException e) {
+            MavenProject topLevelProject = session.getTopLevelProject();
+            if (topLevelProject == null || topLevelProject.getBasedir() == null) {
+                return new BuildDurationHistory(null);
+            }
+            rootDirectory = topLevelProject.getBasedir().toPath();
+        }
+        BuildDurationHistory history =
+                new BuildDurationHistory(rootDirectory.resolve(".mvn").resolve(DURATION_HISTORY_FILENAME));
+        history.read();
+        return history;
+    }
+
+    /**
+     * @return <code>true</code> if durations are recorded and persisted
+     */
+    public boolean isEnabled() {
+        return file != null;
+    }
+
+    /**
+     * Returns the duration recorded for the given project and task segment in previous builds.
+     *
+     * @param project the project
+     * @param taskSegment the task segment
+     * @return the duration in milliseconds, or an empty value if none has been recorded
+     */
+    public OptionalLong getDuration(MavenProject project, TaskSegment taskSegment) {
+        Long duration = durations.get(getKey(project, taskSegment));
+        return duration != null ? OptionalLong.of(duration) : OptionalLong.empty();
+    }
+
+    /**
+     * Estimates the duration of the given project and task segment. Projects without history are assumed to take
+     * as long as the average project recorded for the same task segment.
+     *
+     * @param project the project
+     * @param taskSegment the task segment
+     * @return the estimated duration in milliseconds, at least 1
+     */
+    public long estimateDuration(MavenProject project, TaskSegment taskSegment) {
+        OptionalLong duration = getDuration(project, taskSegment);
+        if (duration.isPresent()) {
+            return Math.max(1L, duration.getAsLong());
+        }
+        String suffix = getSegmentKey(taskSegment);
+        long total = 0;
+        int count = 0;
+        for (Map.Entry<String, Long> entry : durations.entrySet()) {
+            if (entry.getKey().endsWith(suffix)) {
+                total += entry.getValue();
+                count++;
+            }
+        }
+        return count > 0 ? Math.max(1L, total / count) : 1L;
+    }
+
+    /**
+     * Records the duration of a project segment.
+     *
+     * @param project the project
+     * @param taskSegment the task segment
+     * @param duration the duration in milliseconds
+     */
+    public void record(MavenProject project, TaskSegment taskSegment, long duration) {
+        if (isEnabled() && duration >= 0) {
+            durations.merge(getKey(project, taskSegment), duration, (previous, current) -> (previous + current) / 2);
+            modified = true;
+        }
+    }
+
+    /**
+     * Writes the recorded durations back to disk, if anything changed.
+     */
+    public void store() {
+        if (!isEnabled() || !modified) {
+            return;
+        }
+        Properties properties = new Properties();
+        new TreeMap<>(durations).forEach((key, value) -> properties.setProperty(key, Long.toString(value)));
+        try {
+            Files.createDirectories(file.getParent());
+            try (Writer writer = Files.newBufferedWriter(file)) {
+                properties.store(writer, "Build durations in milliseconds, used to schedule long builds first");
+            }
+            modified = false;
+        } catch (IOException e) {
+            LOGGER.warn("Could not write build duration history to {}", file, e);
+        }
+    }
+
+    private void read() {
+        if (!Files.isRegularFile(file)) {
+            return;
+        }
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file)) {
+            properties.load(reader);
+        } catch (IOException e) {
+            LOGGER.warn("Could not read build duration history from {}", file, e);
+            return;
+        }
+        for (String key : properties.stringPropertyNames()) {
+            try {
+                durations.put(key, Long.parseLong(properties.getProperty(key).trim()));
+            } catch (NumberFormatException e) {
+                LOGGER.debug("Ignoring invalid build duration for {}", key);
+            }
+        }
+    }
+
+    private static String getKey(MavenProject project, TaskSegment taskSegment) {
+        // the version is left out so that the history survives version bumps
+        return project.getGroupId() + ':' + project.getArtifactId() + getSegmentKey(taskSegment);
+    }
+
+    private static String getSegmentKey(TaskSegment taskSegment) {
+        return "@" + taskSegment;
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.lifecycle.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.maven.execution.AbstractExecutionListener;
+import org.apache.maven.execution.ExecutionEvent;
+import org.apache.maven.execution.ExecutionListener;
+import org.apache.maven.project.MavenProject;
+
+/**
+ * Records the duration of each project segment into a {@link BuildDurationHistory} and forwards all events to the
+ * original listener.
+ * <p>
+ * Execution events do not carry the task segment, but every project goes through its segments in build list order,
+ * so the n-th started or skipped build of a project belongs to the n-th segment containing that project.
+ * </p>
+ *
+ * @since 4.0.0
+ */
+class BuildDurationRecorder extends AbstractExecutionListener {
+
+    private final ExecutionListener delegate;
+
+    private final BuildDurationHistory history;
+
+    private final Map<MavenProject, List<TaskSegment>> taskSegments = new ConcurrentHashMap<>();
+
+    private final Map<MavenProject, Integer> segmentIndexes = new ConcurrentHashMap<>();
+
+    private final Map<MavenProject, Long> startTimes = new ConcurrentHashMap<>();
+
+    BuildDurationRecorder(BuildDurationHistory history, ProjectBuildList projectBuilds, ExecutionListener delegate) {
+        this.delegate = delegate != null ? delegate : new AbstractExecutionListener();
+        this.history = history;
+        for (ProjectSegment segment : projectBuilds) {
+            taskSegments
+                    .computeIfAbsent(segment.getProject(), p -> new ArrayList<>())
+                    .add(segment.getTaskSegment());
+        }
+    }
+
+    @Override
+    public void projectSkipped(ExecutionEvent event) {
+        nextSegment(event.getProject());
+        delegate.projectSkipped(event);
+    }
+
+    @Override
+    public void projectStarted(ExecutionEvent event) {
+        nextSegment(event.getProject());
+        startTimes.put(event.getProject(), System.currentTimeMillis());
+        delegate.projectStarted(event);
+    }
+
+    @Override
+    public void projectSucceeded(ExecutionEvent event) {
+        record(event.getProject());
+        delegate.projectSucceeded(event);
+    }
+
+    @Override
+    public void projectFailed(ExecutionEvent event) {
+        MavenProject project = event.getProject();
+        if (!startTimes.containsKey(project)) {
+            // failed before being started, the segment is consumed nevertheless
+            nextSegment(project);
+        }
+        record(project);
+        delegate.projectFailed(event);
+    }
+
+    @Override
+    public void projectDiscoveryStarted(ExecutionEvent event) {
+        delegate.projectDiscoveryStarted(event);
+    }
+
+    @Override
+    public void sessionStarted(ExecutionEvent event) {
+        delegate.sessionStarted(event);
+    }
+
+    @Override
+    public void sessionEnded(ExecutionEvent event) {
+        delegate.sessionEnded(event);
+    }
+
+    @Override
+    public void mojoSkipped(ExecutionEvent event) {
+        delegate.mojoSkipped(event);
+    }
+
+    @Override
+    public void mojoStarted(ExecutionEvent event) {
+        delegate.mojoStarted(event);
+    }
+
+    @Override
+    public void mojoSucceeded(ExecutionEvent event) {
+        delegate.mojoSucceeded(event);
+    }
+
+    @Override
+    public void mojoFailed(ExecutionEvent event) {
+        delegate.mojoFailed(event);
+    }
+
+    @Override
+    public void forkStarted(ExecutionEvent event) {
+        delegate.forkStarted(event);
+    }
+
+    @Override
+    public void forkSucceeded(ExecutionEvent event) {
+        delegate.forkSucceeded(event);
+    }
+
+    @Override
+    public void forkFailed(ExecutionEvent event) {
+        delegate.forkFailed(event);
+    }
+
+    @Override
+    public void forkedProjectStarted(ExecutionEvent event) {
+        delegate.forkedProjectStarted(event);
+    }
+
+    @Override
+    public void forkedProjectSucceeded(ExecutionEvent event) {
+        delegate.forkedProjectSucceeded(event);
+    }
+
+    @Override
+    public void forkedProjectFailed(ExecutionEvent event) {
+        delegate.forkedProjectFailed(event);
+    }
+
+    private void nextSegment(MavenProject project) {
+        if (project != null) {
+            segmentIndexes.merge(project, 1, Integer::sum);
+        }
+    }
+
+    private void record(MavenProject project) {
+        Long startTime = project != null ? startTimes.remove(project) : null;
+        List<TaskSegment> segments = project != null ? taskSegments.get(project) : null;
+        Integer index = project != null ? segmentIndexes.get(project) : null;
+        if (startTime != null && segments != null && index != null && index <= segments.size()) {
+            history.record(project, segments.get(index - 1), System.currentTimeMillis() - startTime);
+        }
+    }
+}
@@ -26,6 +26,7 @@
 import java.util.Map;
 
 import org.apache.maven.execution.ExecutionEvent;
+import org.apache.maven.execution.ExecutionListener;
 import org.apache.maven.execution.MavenExecutionResult;
 import org.apache.maven.execution.MavenSession;
 import org.apache.maven.lifecycle.DefaultLifecycles;
@@ -80,6 +81,8 @@ public void execute(MavenSession session) {
         ReactorContext reactorContext = null;
         ProjectBuildList projectBuilds = null;
         MavenExecutionResult result = session.getResult();
+        ExecutionListener executionListener = session.getRequest().getExecutionListener();
+        BuildDurationHistory buildDurationHistory = null;
 
         try {
             if (buildExecutionRequiresProject(session) && projectIsNotPresent(session)) {
@@ -102,9 +105,17 @@ public void execute(MavenSession session) {
                 lifecycleDebugLogger.debugReactorPlan(projectBuilds);
             }
 
+            buildDurationHistory = BuildDurationHistory.load(session);
+            if (buildDurationHistory.isEnabled()) {
+                session.getRequest()
+                        .setExecutionListener(
+                                new BuildDurationRecorder(buildDurationHistory, projectBuilds, executionListener));
+            }
+
             ClassLoader oldContextClassLoader = Thread.currentThread().getContextClassLoader();
             ReactorBuildStatus reactorBuildStatus = new ReactorBuildStatus(session.getProjectDependencyGraph());
-            reactorContext = new ReactorContext(result, oldContextClassLoader, reactorBuildStatus);
+            reactorContext =
+                    new ReactorContext(result, oldContextClassLoader, reactorBuildStatus, buildDurationHistory);
 
             String builderId = session.getRequest().getBuilderId();
             Builder builder = builders.get(builderId);
@@ -126,6 +137,10 @@ public void execute(MavenSession session) {
             result.addException(e);
         } finally {
             eventCatapult.fire(ExecutionEvent.Type.SessionEnded, session, null);
+            session.getRequest().setExecutionListener(executionListener);
+            if (buildDurationHistory != null) {
+                buildDurationHistory.store();
+            }
         }
     }
 
@@ -106,6 +106,12 @@ public void buildProject(
                     new ProjectExecutionEvent(session, currentProject, mojoExecutions));
             mojoExecutor.execute(session, mojoExecutions);
 
+            if (mojoExecutions.stream().anyMatch(LifecycleModuleBuilder::isInstallOrDeploy)) {
+                // the installation may be deferred to the end of the reactor build
+                consumerPomArtifactTransformer.prepareTransformedArtifacts(
+                        session.getRepositorySession(), currentProject);
+            }
+
             long buildEndTime = System.currentTimeMillis();
 
             projectExecutionListener.afterProjectExecutionSuccess(
@@ -133,4 +139,12 @@ public void buildProject(
             Thread.currentThread().setContextClassLoader(reactorContext.getOriginalContextClassLoader());
         }
     }
+
+    private static boolean isInstallOrDeploy(MojoExecution mojoExecution) {
+        String phase = mojoExecution.getLifecyclePhase();
+        return "install".equals(phase)
+                || "deploy".equals(phase)
+                || "install".equals(mojoExecution.getGoal())
+                || "deploy".equals(mojoExecution.getGoal());
+    }
 }
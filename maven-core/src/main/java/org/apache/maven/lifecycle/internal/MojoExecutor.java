@@ -175,6 +175,7 @@ private void execute(
             DependencyContext dependencyContext,
             PhaseRecorder phaseRecorder)
             throws LifecycleExecutionException {
+        ProjectPipeline.beforeMojoExecution(session, mojoExecution);
         execute(session, mojoExecution, dependencyContext);
         phaseRecorder.observeExecution(mojoExecution);
     }
@@ -240,7 +241,7 @@ private class ProjectLock implements AutoCloseable {
                             + "reactor to prevent race conditions. This mojo execution will be blocked "
                             + "until the aggregator mojo is done.";
                     warn(msg);
-                    acquiredAggregatorLock.lock();
+                    ProjectBuildPermits.blocking(acquiredAggregatorLock::lock);
                 }
                 if (!acquiredProjectLock.tryLock()) {
                     Thread owner = acquiredProjectLock.getOwner();
@@ -252,7 +253,7 @@ private class ProjectLock implements AutoCloseable {
                             + "This mojo execution will be blocked "
                             + "until the mojo is done.";
                     warn(msg);
-                    acquiredProjectLock.lock();
+                    ProjectBuildPermits.blocking(acquiredProjectLock::lock);
                 }
             } else {
                 acquiredAggregatorLock = null;
@@ -348,8 +349,9 @@ public void ensureDependenciesAreResolved(
             Collection<String> scopesToCollect = dependencyContext.getScopesToCollectForCurrentProject();
             Collection<String> scopesToResolve = dependencyContext.getScopesToResolveForCurrentProject();
 
-            lifeCycleDependencyResolver.resolveProjectDependencies(
-                    project, scopesToCollect, scopesToResolve, session, aggregating, Collections.emptySet());
+            // resolution is mostly I/O, so do not hold a build permit while waiting for it
+            ProjectBuildPermits.blocking(() -> lifeCycleDependencyResolver.resolveProjectDependencies(
+                    project, scopesToCollect, scopesToResolve, session, aggregating, Collections.emptySet()));
 
             dependencyContext.synchronizeWithProjectState();
         }
@@ -361,13 +363,13 @@ public void ensureDependenciesAreResolved(
             if (dependencyContext.isResolutionRequiredForAggregatedProjects(scopesToCollect, scopesToResolve)) {
                 for (MavenProject aggregatedProject : session.getProjects()) {
                     if (aggregatedProject != project) {
-                        lifeCycleDependencyResolver.resolveProjectDependencies(
+                        ProjectBuildPermits.blocking(() -> lifeCycleDependencyResolver.resolveProjectDependencies(
                                 aggregatedProject,
                                 scopesToCollect,
                                 scopesToResolve,
                                 session,
                                 aggregating,
-                                Collections.emptySet());
+                                Collections.emptySet()));
                     }
                 }
             }
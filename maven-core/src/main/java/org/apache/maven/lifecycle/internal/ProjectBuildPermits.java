@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.lifecycle.internal;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * Tracks the permit held by the current build thread when project builds run on virtual threads. The number of
+ * permits is the degree of concurrency, so that at most <code>-T</code> builds do actual work at the same time,
+ * while builds that are blocked on locks or on artifact resolution give their permit back until they resume.
+ * <p>
+ * Threads that do not hold a permit, which is always the case with the default platform thread builders, run
+ * blocking actions as is.
+ * </p>
+ * <strong>NOTE:</strong> This class is not part of any public api and can be changed or deleted without prior notice.
+ *
+ * @since 4.0.0
+ */
+public final class ProjectBuildPermits {
+
+    private static final ThreadLocal<Semaphore> CURRENT = new ThreadLocal<>();
+
+    private ProjectBuildPermits() {}
+
+    /**
+     * An action that may block the current thread.
+     *
+     * @param <E> the exception thrown by the action
+     */
+    @FunctionalInterface
+    public interface BlockingAction<E extends Exception> {
+        void run() throws E;
+    }
+
+    /**
+     * Makes the current thread the holder of a permit acquired on its behalf, i.e. by the scheduler that started it.
+     *
+     * @param permits the permits of the build
+     */
+    public static void hold(Semaphore permits) {
+        CURRENT.set(permits);
+    }
+
+    /**
+     * Releases the permit held by the current thread, if any.
+     */
+    public static void release() {
+        Semaphore permits = CURRENT.get();
+        if (permits != null) {
+            CURRENT.remove();
+            permits.release();
+        }
+    }
+
+    /**
+     * Runs an action that may block without holding the permit of the current thread, and takes a permit back
+     * before returning.
+     *
+     * @param action the blocking action
+     * @param <E> the exception thrown by the action
+     * @throws E if the action fails
+     */
+    public static <E extends Exception> void blocking(BlockingAction<E> action) throws E {
+        Semaphore permits = CURRENT.get();
+        if (permits == null) {
+            action.run();
+            return;
+        }
+        // nested blocking actions must not release the permit twice
+        CURRENT.remove();
+        permits.release();
+        try {
+            action.run();
+        } finally {
+            permits.acquireUninterruptibly();
+            CURRENT.set(permits);
+        }
+    }
+}
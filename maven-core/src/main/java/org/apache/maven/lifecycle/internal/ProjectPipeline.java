@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.lifecycle.internal;
+
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.lifecycle.LifecycleExecutionException;
+import org.apache.maven.plugin.MojoExecution;
+
+/**
+ * Observes the mojo executions of the project built by the current thread, so that builders can pipeline the
+ * reactor: downstream projects may be started as soon as their upstream projects have reached the lifecycle phase
+ * they actually need, and are held back before the mojos that need the fully built upstream projects.
+ * <p>
+ * A pipeline is bound to the build thread for the duration of a project build. Threads without a bound pipeline,
+ * which is always the case with the default builders, execute mojos as is.
+ * </p>
+ * <strong>NOTE:</strong> This class is not part of any public api and can be changed or deleted without prior notice.
+ *
+ * @since 4.0.0
+ */
+public abstract class ProjectPipeline {
+
+    private static final ThreadLocal<ProjectPipeline> CURRENT = new ThreadLocal<>();
+
+    /**
+     * Binds the given pipeline to the current thread.
+     *
+     * @param pipeline the pipeline of the project built by the current thread
+     */
+    public static void bind(ProjectPipeline pipeline) {
+        CURRENT.set(pipeline);
+    }
+
+    /**
+     * Unbinds the pipeline of the current thread, if any.
+     */
+    public static void unbind() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Notifies the pipeline bound to the current thread, if any, that the given mojo is about to be executed.
+     *
+     * @param session the session of the project being built
+     * @param mojoExecution the mojo execution
+     * @throws LifecycleExecutionException if the mojo cannot be executed
+     */
+    static void beforeMojoExecution(MavenSession session, MojoExecution mojoExecution)
+            throws LifecycleExecutionException {
+        ProjectPipeline pipeline = CURRENT.get();
+        if (pipeline != null) {
+            pipeline.beforeExecution(session, mojoExecution);
+        }
+    }
+
+    /**
+     * Called before each mojo execution of the project build, including the executions of forked lifecycles. This
+     * method may block until the mojo can be executed.
+     *
+     * @param session the session of the project being built, whose current project is a clone of the built project
+     *            for forked executions
+     * @param mojoExecution the mojo execution
+     * @throws LifecycleExecutionException if the mojo cannot be executed
+     */
+    protected abstract void beforeExecution(MavenSession session, MojoExecution mojoExecution)
+            throws LifecycleExecutionException;
+}
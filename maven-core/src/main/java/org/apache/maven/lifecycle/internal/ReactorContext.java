@@ -33,13 +33,27 @@ public class ReactorContext {
 
     private final ReactorBuildStatus reactorBuildStatus;
 
+    private final BuildDurationHistory buildDurationHistory;
+
     public ReactorContext(
             MavenExecutionResult result,
             ClassLoader originalContextClassLoader,
             ReactorBuildStatus reactorBuildStatus) {
+        this(result, originalContextClassLoader, reactorBuildStatus, new BuildDurationHistory(null));
+    }
+
+    /**
+     * @since 4.0.0
+     */
+    public ReactorContext(
+            MavenExecutionResult result,
+            ClassLoader originalContextClassLoader,
+            ReactorBuildStatus reactorBuildStatus,
+            BuildDurationHistory buildDurationHistory) {
         this.result = result;
         this.originalContextClassLoader = originalContextClassLoader;
         this.reactorBuildStatus = reactorBuildStatus;
+        this.buildDurationHistory = buildDurationHistory;
     }
 
     public ReactorBuildStatus getReactorBuildStatus() {
@@ -53,4 +67,12 @@ public MavenExecutionResult getResult() {
     public ClassLoader getOriginalContextClassLoader() {
         return originalContextClassLoader;
     }
+
+    /**
+     * @return the durations recorded for the projects of this reactor in previous builds
+     * @since 4.0.0
+     */
+    public BuildDurationHistory getBuildDurationHistory() {
+        return buildDurationHistory;
+    }
 }
@@ -19,10 +19,18 @@
 package org.apache.maven.lifecycle.internal.builder.multithreaded;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
 
 import org.apache.maven.execution.ProjectDependencyGraph;
 import org.apache.maven.lifecycle.internal.ProjectBuildList;
@@ -33,6 +41,12 @@
  * <p>
  * Presents a view of the Dependency Graph that is suited for concurrent building.
  * </p>
+ * <p>
+ * Each project holds a counter of its unreleased upstream projects, which is decremented when one of them is marked
+ * as finished. A project becomes schedulable when its counter drops to zero, so {@link #markAsFinished(MavenProject)}
+ * is thread-safe and can be called directly from the build threads. When pipelining, an upstream project may also
+ * release some of its downstream projects before it is finished, see {@link #markAsReleased(MavenProject, Predicate)}.
+ * </p>
  * <strong>NOTE:</strong> This class is not part of any public api and can be changed or deleted without prior notice.
  *
  * @since 3.0
@@ -43,11 +57,51 @@ public class ConcurrencyDependencyGraph {
 
     private final ProjectDependencyGraph projectDependencyGraph;
 
-    private final Set<MavenProject> finishedProjects = new HashSet<>();
+    private final Set<MavenProject> finishedProjects = ConcurrentHashMap.newKeySet();
+
+    private final Map<MavenProject, AtomicInteger> unreleasedUpstreamCounts;
+
+    private final Map<MavenProject, Set<MavenProject>> releasedUpstreams;
+
+    private final ToLongFunction<MavenProject> projectWeights;
+
+    private final Set<MavenProject> segmentProjects;
+
+    private final Map<MavenProject, Long> criticalPathLengths = new ConcurrentHashMap<>();
 
     public ConcurrencyDependencyGraph(ProjectBuildList projectBuilds, ProjectDependencyGraph projectDependencyGraph) {
+        this(projectBuilds, projectDependencyGraph, p -> 1L);
+    }
+
+    /**
+     * Creates a new graph whose critical path lengths are computed using the given per-project weights.
+     *
+     * @param projectBuilds the project segments to build
+     * @param projectDependencyGraph the reactor dependency graph
+     * @param projectWeights the estimated cost of building each project, typically its last known duration
+     * @since 4.0.0
+     */
+    public ConcurrencyDependencyGraph(
+            ProjectBuildList projectBuilds,
+            ProjectDependencyGraph projectDependencyGraph,
+            ToLongFunction<MavenProject> projectWeights) {
         this.projectDependencyGraph = projectDependencyGraph;
         this.projectBuilds = projectBuilds;
+        this.projectWeights = projectWeights;
+        this.segmentProjects = projectBuilds.getProjects();
+        Map<MavenProject, AtomicInteger> counts = new HashMap<>();
+        Map<MavenProject, Set<MavenProject>> released = new HashMap<>();
+        for (ProjectSegment projectBuild : projectBuilds) {
+            MavenProject project = projectBuild.getProject();
+            counts.put(
+                    project,
+                    new AtomicInteger(projectDependencyGraph
+                            .getUpstreamProjects(project, false)
+                            .size()));
+            released.put(project, ConcurrentHashMap.newKeySet());
+        }
+        this.unreleasedUpstreamCounts = counts;
+        this.releasedUpstreams = released;
     }
 
     public int getNumberOfBuilds() {
@@ -62,9 +116,7 @@ public int getNumberOfBuilds() {
     public List<MavenProject> getRootSchedulableBuilds() {
         Set<MavenProject> result = new LinkedHashSet<>();
         for (ProjectSegment projectBuild : projectBuilds) {
-            if (projectDependencyGraph
-                    .getUpstreamProjects(projectBuild.getProject(), false)
-                    .isEmpty()) {
+            if (unreleasedUpstreamCounts.get(projectBuild.getProject()).get() == 0) {
                 result.add(projectBuild.getProject());
             }
         }
@@ -76,29 +128,82 @@ public List<MavenProject> getRootSchedulableBuilds() {
     }
 
     /**
-     * Marks the provided project as finished. Returns a list of
+     * Marks the provided project as finished. Returns a list of the projects whose last unreleased upstream project
+     * was the provided one. Each project is returned by at most one call, even when called concurrently.
      *
      * @param mavenProject The project
      * @return The list of builds that are eligible for starting now that the provided project is done
      */
     public List<MavenProject> markAsFinished(MavenProject mavenProject) {
-        finishedProjects.add(mavenProject);
-        return getSchedulableNewProcesses(mavenProject);
+        if (!finishedProjects.add(mavenProject)) {
+            return Collections.emptyList();
+        }
+        return getSchedulableNewProcesses(mavenProject, p -> true);
     }
 
-    private List<MavenProject> getSchedulableNewProcesses(MavenProject finishedProject) {
+    /**
+     * Releases the downstream projects accepted by the given filter from the provided project, which is not finished
+     * yet but has progressed far enough for them to start. Returns a list of the projects whose last unreleased
+     * upstream project was the provided one. Each project is returned by at most one call of this method or of
+     * {@link #markAsFinished(MavenProject)}, even when called concurrently.
+     *
+     * @param mavenProject the upstream project
+     * @param downstreamProjects the filter selecting the downstream projects to release
+     * @return The list of builds that are eligible for starting now
+     * @since 4.0.0
+     */
+    public List<MavenProject> markAsReleased(MavenProject mavenProject, Predicate<MavenProject> downstreamProjects) {
+        return getSchedulableNewProcesses(mavenProject, downstreamProjects);
+    }
+
+    private List<MavenProject> getSchedulableNewProcesses(
+            MavenProject upstreamProject, Predicate<MavenProject> downstreamProjects) {
         List<MavenProject> result = new ArrayList<>();
         // schedule dependent projects, if all of their requirements are met
-        for (MavenProject dependentProject : projectDependencyGraph.getDownstreamProjects(finishedProject, false)) {
-            final List<MavenProject> upstreamProjects =
-                    projectDependencyGraph.getUpstreamProjects(dependentProject, false);
-            if (finishedProjects.containsAll(upstreamProjects)) {
+        for (MavenProject dependentProject : projectDependencyGraph.getDownstreamProjects(upstreamProject, false)) {
+            AtomicInteger count = unreleasedUpstreamCounts.get(dependentProject);
+            if (count != null
+                    && downstreamProjects.test(dependentProject)
+                    && releasedUpstreams.get(dependentProject).add(upstreamProject)
+                    && count.decrementAndGet() == 0) {
                 result.add(dependentProject);
             }
         }
         return result;
     }
 
+    /**
+     * Computes the length of the longest chain of builds starting with the given project, i.e. the sum of the
+     * weights of the project itself and of its heaviest path of downstream projects in this build.
+     * Scheduling the projects with the longest remaining path first lets long dependency chains start early.
+     *
+     * @param p the project
+     * @return the weighted length of the longest downstream path, including the project itself
+     * @since 4.0.0
+     */
+    public long getCriticalPathLength(MavenProject p) {
+        Long length = criticalPathLengths.get(p);
+        if (length == null) {
+            long longest = 0;
+            for (MavenProject downstream : projectDependencyGraph.getDownstreamProjects(p, false)) {
+                if (segmentProjects.contains(downstream)) {
+                    longest = Math.max(longest, getCriticalPathLength(downstream));
+                }
+            }
+            length = Math.max(1L, projectWeights.applyAsLong(p)) + longest;
+            criticalPathLengths.put(p, length);
+        }
+        return length;
+    }
+
+    /**
+     * @return a comparator ordering projects by decreasing critical path length
+     * @since 4.0.0
+     */
+    public Comparator<MavenProject> getCriticalPathComparator() {
+        return Comparator.comparingLong(this::getCriticalPathLength).reversed();
+    }
+
     /**
      * @return set of projects that have yet to be processed successfully by the build.
      */
@@ -136,7 +241,7 @@ protected List<MavenProject> getDependencies(MavenProject p) {
      * @return List of uncompleted prerequisite projects
      */
     public List<MavenProject> getActiveDependencies(MavenProject p) {
-        List<MavenProject> activeDependencies = projectDependencyGraph.getUpstreamProjects(p, false);
+        List<MavenProject> activeDependencies = new ArrayList<>(projectDependencyGraph.getUpstreamProjects(p, false));
         activeDependencies.removeAll(finishedProjects);
         return activeDependencies;
     }
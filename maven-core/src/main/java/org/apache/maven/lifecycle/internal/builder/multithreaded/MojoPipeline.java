@@ -0,0 +1,337 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.lifecycle.internal.builder.multithreaded;
+
+import java.io.File;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Consumer;
+
+import org.apache.maven.api.model.Build;
+import org.apache.maven.api.model.Dependency;
+import org.apache.maven.api.model.Extension;
+import org.apache.maven.api.model.Model;
+import org.apache.maven.api.model.Plugin;
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.execution.ProjectDependencyGraph;
+import org.apache.maven.lifecycle.LifecycleExecutionException;
+import org.apache.maven.lifecycle.internal.ProjectBuildPermits;
+import org.apache.maven.lifecycle.internal.ProjectPipeline;
+import org.apache.maven.lifecycle.internal.ReactorBuildStatus;
+import org.apache.maven.plugin.MojoExecution;
+import org.apache.maven.project.MavenProject;
+
+/**
+ * Pipelines the project builds of one task segment at mojo granularity.
+ * <p>
+ * A downstream project that only depends on the jar, or on the test jar, of an upstream project is released as soon
+ * as the upstream project has passed the <code>process-classes</code>, respectively the
+ * <code>process-test-classes</code> phase: it can then be compiled and tested against the output directories of the
+ * upstream project, which the reactor resolves like for a <code>mvn compile</code> build. Any other relationship,
+ * such as a parent, a plugin, an extension or a dependency of another type, still waits for the upstream project to
+ * finish.
+ * </p>
+ * <p>
+ * Before running a mojo bound to the <code>prepare-package</code> phase or later, or an aggregator mojo, or a mojo
+ * invoked directly, the downstream project waits for all of its upstream projects to finish, and its resolved
+ * dependencies are switched from the output directories to the packaged artifacts.
+ * </p>
+ *
+ * @since 4.0.0
+ */
+class MojoPipeline {
+    private static final String RELEASE_PHASE = "process-classes";
+
+    private static final String TEST_RELEASE_PHASE = "process-test-classes";
+
+    private static final String UPSTREAM_FINISHED_PHASE = "prepare-package";
+
+    private final ConcurrencyDependencyGraph analyzer;
+
+    private final ProjectDependencyGraph projectDependencyGraph;
+
+    private final ReactorBuildStatus reactorBuildStatus;
+
+    private final Consumer<List<MavenProject>> scheduler;
+
+    private final Map<String, Integer> phaseIndexes = new HashMap<>();
+
+    private final Set<String> unpipelinedPhases;
+
+    private final int upstreamFinishedIndex;
+
+    private final Map<MavenProject, CountDownLatch> finishedProjects = new HashMap<>();
+
+    // upstream project -> downstream project -> index of the phase the upstream project must have passed
+    private final Map<MavenProject, Map<MavenProject, Integer>> releaseIndexes = new HashMap<>();
+
+    /**
+     * @param analyzer the graph of the projects of the task segment
+     * @param projectDependencyGraph the reactor dependency graph
+     * @param reactorBuildStatus the reactor build status
+     * @param phases the phases of the default lifecycle
+     * @param unpipelinedPhases the phases of the lifecycles running before the default lifecycle, which neither
+     *            report nor wait for progress
+     * @param scheduler called with the projects released by the upstream projects progress
+     */
+    MojoPipeline(
+            ConcurrencyDependencyGraph analyzer,
+            ProjectDependencyGraph projectDependencyGraph,
+            ReactorBuildStatus reactorBuildStatus,
+            List<String> phases,
+            Collection<String> unpipelinedPhases,
+            Consumer<List<MavenProject>> scheduler) {
+        this.analyzer = analyzer;
+        this.projectDependencyGraph = projectDependencyGraph;
+        this.reactorBuildStatus = reactorBuildStatus;
+        this.scheduler = scheduler;
+        for (int i = 0; i < phases.size(); i++) {
+            phaseIndexes.putIfAbsent(phases.get(i), i);
+        }
+        this.unpipelinedPhases = new HashSet<>(unpipelinedPhases);
+        this.upstreamFinishedIndex = phaseIndexes.get(UPSTREAM_FINISHED_PHASE);
+
+        Set<MavenProject> projects = analyzer.getProjectBuilds().getProjects();
+        for (MavenProject project : projects) {
+            finishedProjects.put(project, new CountDownLatch(1));
+            for (MavenProject upstream : projectDependencyGraph.getUpstreamProjects(project, false)) {
+                Integer releaseIndex = getReleaseIndex(upstream, project);
+                if (releaseIndex != null && projects.contains(upstream)) {
+                    releaseIndexes
+                            .computeIfAbsent(upstream, p -> new HashMap<>())
+                            .put(project, releaseIndex);
+                }
+            }
+        }
+    }
+
+    /**
+     * @param phases the phases of the default lifecycle
+     * @return whether the pipeline supports the given lifecycle
+     */
+    static boolean isSupported(List<String> phases) {
+        return phases.contains(RELEASE_PHASE)
+                && phases.contains(TEST_RELEASE_PHASE)
+                && phases.contains(UPSTREAM_FINISHED_PHASE)
+                && phases.indexOf(TEST_RELEASE_PHASE) < phases.indexOf(UPSTREAM_FINISHED_PHASE);
+    }
+
+    /**
+     * Creates the pipeline to bind to the thread building the given project.
+     */
+    Stage newProjectPipeline(MavenProject project) {
+        return new Stage(project);
+    }
+
+    /**
+     * Called once the given project is finished, whatever the outcome of its build.
+     */
+    void finished(MavenProject project) {
+        CountDownLatch finished = finishedProjects.get(project);
+        if (finished != null) {
+            finished.countDown();
+        }
+    }
+
+    /**
+     * Determines the phase the upstream project must have passed for the downstream project to start.
+     *
+     * @return the index of the phase, or {@code null} if the upstream project must be finished
+     */
+    private Integer getReleaseIndex(MavenProject upstream, MavenProject downstream) {
+        if (!"jar".equals(upstream.getPackaging())) {
+            return null;
+        }
+        Model model = downstream.getModel().getDelegate();
+        Build build = model.getBuild();
+        if (build != null) {
+            for (Plugin plugin : build.getPlugins()) {
+                if (isProject(upstream, plugin.getGroupId(), plugin.getArtifactId())) {
+                    return null;
+                }
+                for (Dependency dependency : plugin.getDependencies()) {
+                    if (isProject(upstream, dependency.getGroupId(), dependency.getArtifactId())) {
+                        return null;
+                    }
+                }
+            }
+            for (Extension extension : build.getExtensions()) {
+                if (isProject(upstream, extension.getGroupId(), extension.getArtifactId())) {
+                    return null;
+                }
+            }
+        }
+        Integer releaseIndex = null;
+        for (Dependency dependency : model.getDependencies()) {
+            if (isProject(upstream, dependency.getGroupId(), dependency.getArtifactId())) {
+                String classifier = dependency.getClassifier() != null ? dependency.getClassifier() : "";
+                String phase;
+                if ("jar".equals(dependency.getType()) && classifier.isEmpty()) {
+                    phase = RELEASE_PHASE;
+                } else if ("test-jar".equals(dependency.getType())
+                        || ("jar".equals(dependency.getType()) && "tests".equals(classifier))) {
+                    phase = TEST_RELEASE_PHASE;
+                } else {
+                    return null;
+                }
+                int index = phaseIndexes.get(phase);
+                releaseIndex = releaseIndex != null ? Math.max(releaseIndex, index) : index;
+            }
+        }
+        return releaseIndex;
+    }
+
+    private static boolean isProject(MavenProject project, String groupId, String artifactId) {
+        return project.getArtifactId().equals(artifactId)
+                && project.getGroupId().equals(groupId);
+    }
+
+    /**
+     * Releases the downstream projects which only need the given project to have passed the phases before the one
+     * with the given index.
+     */
+    private void release(MavenProject project, int phaseIndex) {
+        Map<MavenProject, Integer> downstreamProjects = releaseIndexes.get(project);
+        if (downstreamProjects != null) {
+            List<MavenProject> released = analyzer.markAsReleased(project, p -> {
+                Integer releaseIndex = downstreamProjects.get(p);
+                return releaseIndex != null && releaseIndex < phaseIndex;
+            });
+            if (!released.isEmpty()) {
+                scheduler.accept(released);
+            }
+        }
+    }
+
+    /**
+     * Waits for all the upstream projects of the given project to finish, then resolves its reactor dependencies to
+     * their packaged artifacts.
+     */
+    private void awaitUpstreamProjects(MavenProject project) throws LifecycleExecutionException {
+        List<MavenProject> upstreamProjects = projectDependencyGraph.getUpstreamProjects(project, true);
+        for (MavenProject upstream : upstreamProjects) {
+            CountDownLatch finished = finishedProjects.get(upstream);
+            if (finished != null) {
+                try {
+                    ProjectBuildPermits.blocking(finished::await);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new LifecycleExecutionException(
+                            "Interrupted while waiting for the upstream project " + upstream.getId(), project);
+                }
+            }
+        }
+        if (reactorBuildStatus.isHaltedOrBlacklisted(project)) {
+            throw new LifecycleExecutionException(
+                    "The build of " + project.getId() + " cannot be completed as the reactor build was stopped",
+                    project);
+        }
+        Map<String, MavenProject> upstreamProjectsById = new HashMap<>();
+        for (MavenProject upstream : upstreamProjects) {
+            upstreamProjectsById.put(
+                    upstream.getGroupId() + ":" + upstream.getArtifactId() + ":" + upstream.getVersion(), upstream);
+        }
+        refreshArtifactFiles(project.getArtifacts(), upstreamProjectsById);
+        if (project.getDependencyArtifacts() != null) {
+            refreshArtifactFiles(project.getDependencyArtifacts(), upstreamProjectsById);
+        }
+    }
+
+    /**
+     * Replaces the output directories resolved for the given artifacts by the packaged artifacts of the upstream
+     * projects, if any.
+     */
+    private static void refreshArtifactFiles(
+            Collection<Artifact> artifacts, Map<String, MavenProject> upstreamProjectsById) {
+        for (Artifact artifact : artifacts) {
+            if (artifact.getFile() == null || !artifact.getFile().isDirectory()) {
+                continue;
+            }
+            MavenProject upstream = upstreamProjectsById.get(
+                    artifact.getGroupId() + ":" + artifact.getArtifactId() + ":" + artifact.getBaseVersion());
+            if (upstream == null) {
+                continue;
+            }
+            File packagedFile = null;
+            if (isSameArtifact(artifact, upstream.getArtifact())) {
+                packagedFile = upstream.getArtifact().getFile();
+            } else {
+                for (Artifact attachedArtifact : upstream.getAttachedArtifacts()) {
+                    if (isSameArtifact(artifact, attachedArtifact)) {
+                        packagedFile = attachedArtifact.getFile();
+                        break;
+                    }
+                }
+            }
+            if (packagedFile != null && packagedFile.isFile()) {
+                artifact.setFile(packagedFile);
+            }
+        }
+    }
+
+    private static boolean isSameArtifact(Artifact artifact, Artifact candidate) {
+        return Objects.equals(
+                        artifact.getClassifier() != null ? artifact.getClassifier() : "",
+                        candidate.getClassifier() != null ? candidate.getClassifier() : "")
+                && Objects.equals(
+                        artifact.getArtifactHandler().getExtension(),
+                        candidate.getArtifactHandler().getExtension());
+    }
+
+    /**
+     * Reports the progress of a project build and holds it back until its upstream projects are finished.
+     */
+    final class Stage extends ProjectPipeline {
+        private final MavenProject project;
+
+        // only accessed by the build thread
+        private int reachedIndex = -1;
+
+        private boolean upstreamProjectsFinished;
+
+        Stage(MavenProject project) {
+            this.project = project;
+        }
+
+        @Override
+        protected void beforeExecution(MavenSession session, MojoExecution mojoExecution)
+                throws LifecycleExecutionException {
+            String phase = mojoExecution.getLifecyclePhase();
+            Integer index = phase != null ? phaseIndexes.get(phase) : null;
+            // the phases before the one of the mojo are done, forked executions do not count
+            if (index != null && index > reachedIndex && session.getCurrentProject() == project) {
+                reachedIndex = index;
+                release(project, index);
+            }
+            if (!upstreamProjectsFinished
+                    && (mojoExecution.getMojoDescriptor().isAggregator()
+                            || (index != null ? index >= upstreamFinishedIndex : !unpipelinedPhases.contains(phase)))) {
+                awaitUpstreamProjects(project);
+                upstreamProjectsFinished = true;
+            }
+        }
+    }
+}
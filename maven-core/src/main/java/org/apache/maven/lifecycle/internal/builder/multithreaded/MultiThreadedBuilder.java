@@ -22,8 +22,14 @@
 import javax.inject.Named;
 import javax.inject.Singleton;
 
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletionService;
@@ -31,14 +37,21 @@
 import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import org.apache.maven.api.feature.Features;
 import org.apache.maven.execution.MavenSession;
+import org.apache.maven.lifecycle.DefaultLifecycles;
+import org.apache.maven.lifecycle.Lifecycle;
+import org.apache.maven.lifecycle.internal.BuildDurationHistory;
 import org.apache.maven.lifecycle.internal.BuildThreadFactory;
 import org.apache.maven.lifecycle.internal.LifecycleModuleBuilder;
 import org.apache.maven.lifecycle.internal.ProjectBuildList;
+import org.apache.maven.lifecycle.internal.ProjectBuildPermits;
+import org.apache.maven.lifecycle.internal.ProjectPipeline;
 import org.apache.maven.lifecycle.internal.ProjectSegment;
 import org.apache.maven.lifecycle.internal.ReactorBuildStatus;
 import org.apache.maven.lifecycle.internal.ReactorContext;
@@ -55,6 +68,25 @@
  * set with <code>-T</code> on the command-line) and the number of projects to build. As such, building a single project
  * will always result in a sequential build, regardless of the thread count.
  * </p>
+ * <p>
+ * Projects whose upstream projects have all been built are kept in a ready queue and handed to the build threads
+ * as they become available. By default this queue is FIFO; setting the <code>maven.builder.scheduling</code>
+ * property to <code>critical-path</code> orders it by the length of the longest chain of downstream projects
+ * instead, so that long dependency chains start first. When the {@link BuildDurationHistory} is enabled, the chains
+ * are weighted with the durations recorded in previous builds.
+ * </p>
+ * <p>
+ * When the <code>maven.builder.virtualThreads</code> property is set to <code>true</code> and the Java runtime
+ * supports it, every ready project is started on its own virtual thread once a permit is available for it. The degree
+ * of concurrency is then enforced by {@link ProjectBuildPermits}, which builds give back while they are blocked on
+ * locks or on dependency resolution, so that the next ready project can start in their place.
+ * </p>
+ * <p>
+ * When the <code>maven.builder.pipelining</code> property is set to <code>true</code>, downstream projects that only
+ * depend on the jar of an upstream project are started as soon as the classes of the upstream project are compiled,
+ * and only wait for it to finish before packaging, see {@link MojoPipeline}. Builds waiting for their upstream
+ * projects keep their build thread, unless virtual threads are enabled too.
+ * </p>
  * <strong>NOTE:</strong> This class is not part of any public api and can be changed or deleted without prior notice.
  *
  * @since 3.0
@@ -64,13 +96,53 @@
 @Named("multithreaded")
 @Singleton
 public class MultiThreadedBuilder implements Builder {
+    /**
+     * User or system property selecting the order in which ready projects are scheduled.
+     *
+     * @since 4.0.0
+     */
+    public static final String SCHEDULING = "maven.builder.scheduling";
+
+    /**
+     * User or system property enabling virtual build threads, when supported by the Java runtime.
+     *
+     * @since 4.0.0
+     */
+    public static final String VIRTUAL_THREADS = "maven.builder.virtualThreads";
+
+    /**
+     * User or system property enabling the pipelining of the project builds at mojo granularity.
+     *
+     * @since 4.0.0
+     */
+    public static final String PIPELINING = Features.BUILDER_PIPELINING;
+
+    /**
+     * The supported scheduling modes.
+     *
+     * @since 4.0.0
+     */
+    public enum SchedulingMode {
+        /**
+         * Projects are started in the order they become ready.
+         */
+        FIFO,
+        /**
+         * Ready projects with the longest remaining chain of downstream projects are started first.
+         */
+        CRITICAL_PATH
+    }
+
     private final Logger logger = LoggerFactory.getLogger(getClass());
 
     private final LifecycleModuleBuilder lifecycleModuleBuilder;
 
+    private final DefaultLifecycles defaultLifecycles;
+
     @Inject
-    public MultiThreadedBuilder(LifecycleModuleBuilder lifecycleModuleBuilder) {
+    public MultiThreadedBuilder(LifecycleModuleBuilder lifecycleModuleBuilder, DefaultLifecycles defaultLifecycles) {
         this.lifecycleModuleBuilder = lifecycleModuleBuilder;
+        this.defaultLifecycles = defaultLifecycles;
     }
 
     @Override
@@ -90,7 +162,13 @@ public void build(
         for (ProjectSegment segment : projectBuilds) {
             segment.getSession().setParallel(parallel);
         }
-        ExecutorService executor = Executors.newFixedThreadPool(nThreads, new BuildThreadFactory());
+        SchedulingMode schedulingMode = getSchedulingMode(session);
+        List<String> pipelinedPhases = parallel && isEnabled(session, PIPELINING) ? getPipelinedPhases() : null;
+        ExecutorService executor = parallel && isEnabled(session, VIRTUAL_THREADS) ? newVirtualThreadExecutor() : null;
+        boolean virtualThreads = executor != null;
+        if (!virtualThreads) {
+            executor = Executors.newFixedThreadPool(nThreads, new BuildThreadFactory());
+        }
         CompletionService<ProjectSegment> service = new ExecutorCompletionService<>(executor);
 
         // Currently disabled
@@ -100,10 +178,26 @@ public void build(
             ProjectBuildList segmentProjectBuilds = projectBuilds.getByTaskSegment(taskSegment);
             Map<MavenProject, ProjectSegment> projectBuildMap = projectBuilds.selectSegment(taskSegment);
             try {
-                ConcurrencyDependencyGraph analyzer =
-                        new ConcurrencyDependencyGraph(segmentProjectBuilds, session.getProjectDependencyGraph());
+                BuildDurationHistory history = reactorContext.getBuildDurationHistory();
+                ConcurrencyDependencyGraph analyzer = new ConcurrencyDependencyGraph(
+                        segmentProjectBuilds,
+                        session.getProjectDependencyGraph(),
+                        history.isEnabled() ? p -> history.estimateDuration(p, taskSegment) : p -> 1L);
+                Queue<MavenProject> readyProjects = schedulingMode == SchedulingMode.CRITICAL_PATH
+                        ? new PriorityQueue<>(analyzer.getCriticalPathComparator())
+                        : new ArrayDeque<>();
                 multiThreadedProjectTaskSegmentBuild(
-                        analyzer, reactorContext, session, service, taskSegment, projectBuildMap, muxer);
+                        analyzer,
+                        reactorContext,
+                        session,
+                        service,
+                        nThreads,
+                        virtualThreads,
+                        readyProjects,
+                        pipelinedPhases,
+                        taskSegment,
+                        projectBuildMap,
+                        muxer);
                 if (reactorContext.getReactorBuildStatus().isHalted()) {
                     break;
                 }
@@ -117,11 +211,16 @@ public void build(
         executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
     }
 
+    @SuppressWarnings("checkstyle:ParameterNumber")
     private void multiThreadedProjectTaskSegmentBuild(
             ConcurrencyDependencyGraph analyzer,
             ReactorContext reactorContext,
             MavenSession rootSession,
             CompletionService<ProjectSegment> service,
+            int maxRunning,
+            boolean virtualThreads,
+            Queue<MavenProject> readyProjects,
+            List<String> pipelinedPhases,
             TaskSegment taskSegment,
             Map<MavenProject, ProjectSegment> projectBuildList,
             ThreadOutputMuxer muxer) {
@@ -135,51 +234,276 @@ private void multiThreadedProjectTaskSegmentBuild(
                 .map(Map.Entry::getKey)
                 .collect(Collectors.toSet());
 
-        // schedule independent projects
-        for (MavenProject mavenProject : analyzer.getRootSchedulableBuilds()) {
-            ProjectSegment projectSegment = projectBuildList.get(mavenProject);
-            logger.debug("Scheduling: {}", projectSegment.getProject());
-            Callable<ProjectSegment> cb = createBuildCallable(
-                    rootSession, projectSegment, reactorContext, taskSegment, muxer, duplicateArtifactIds);
-            service.submit(cb);
+        SegmentScheduler scheduler = new SegmentScheduler(
+                analyzer,
+                reactorContext,
+                rootSession,
+                service,
+                maxRunning,
+                virtualThreads,
+                readyProjects,
+                taskSegment,
+                projectBuildList,
+                muxer,
+                duplicateArtifactIds);
+        if (pipelinedPhases != null) {
+            scheduler.enablePipelining(pipelinedPhases, getLifecyclePhases("clean"));
         }
 
-        // for each finished project
+        // schedule independent projects, their dependents are scheduled by the build threads
+        scheduler.schedule(analyzer.getRootSchedulableBuilds());
+
+        // wait for each project to finish
         for (int i = 0; i < analyzer.getNumberOfBuilds(); i++) {
             try {
-                ProjectSegment projectBuild = service.take().get();
+                service.take().get();
                 if (reactorContext.getReactorBuildStatus().isHalted()) {
+                    scheduler.abort();
                     break;
                 }
-
-                // MNG-6170: Only schedule other modules from reactor if we have more modules to build than one.
-                if (analyzer.getNumberOfBuilds() > 1) {
-                    final List<MavenProject> newItemsThatCanBeBuilt =
-                            analyzer.markAsFinished(projectBuild.getProject());
-                    for (MavenProject mavenProject : newItemsThatCanBeBuilt) {
-                        ProjectSegment scheduledDependent = projectBuildList.get(mavenProject);
-                        logger.debug("Scheduling: {}", scheduledDependent);
-                        Callable<ProjectSegment> cb = createBuildCallable(
-                                rootSession,
-                                scheduledDependent,
-                                reactorContext,
-                                taskSegment,
-                                muxer,
-                                duplicateArtifactIds);
-                        service.submit(cb);
-                    }
-                }
             } catch (InterruptedException e) {
+                scheduler.abort();
                 rootSession.getResult().addException(e);
                 break;
             } catch (ExecutionException e) {
                 // TODO MNG-5766 changes likely made this redundant
+                scheduler.abort();
                 rootSession.getResult().addException(e);
                 break;
             }
         }
     }
 
+    private boolean isEnabled(MavenSession session, String property) {
+        String value = session.getUserProperties().getProperty(property);
+        if (value == null) {
+            value = session.getSystemProperties().getProperty(property);
+        }
+        return Boolean.parseBoolean(value);
+    }
+
+    /**
+     * @return the phases of the default lifecycle, or {@code null} if they do not support pipelining
+     */
+    private List<String> getPipelinedPhases() {
+        List<String> phases = getLifecyclePhases("default");
+        if (!MojoPipeline.isSupported(phases)) {
+            logger.warn("The default lifecycle does not support pipelining, ignoring property {}", PIPELINING);
+            return null;
+        }
+        return phases;
+    }
+
+    private List<String> getLifecyclePhases(String lifecycleId) {
+        for (Lifecycle lifecycle : defaultLifecycles.getLifeCycles()) {
+            if (lifecycleId.equals(lifecycle.getId())) {
+                return lifecycle.getPhases();
+            }
+        }
+        return Collections.emptyList();
+    }
+
+    /**
+     * Creates an executor starting a virtual thread per task. Maven still runs on Java 17, so the executor is looked
+     * up reflectively.
+     *
+     * @return the executor, or {@code null} if virtual threads are not available
+     */
+    private ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService)
+                    Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            logger.warn(
+                    "Virtual threads are not supported by Java {}, using platform threads",
+                    System.getProperty("java.version"));
+            return null;
+        }
+    }
+
+    private SchedulingMode getSchedulingMode(MavenSession session) {
+        String mode = session.getUserProperties().getProperty(SCHEDULING);
+        if (mode == null) {
+            mode = session.getSystemProperties().getProperty(SCHEDULING);
+        }
+        if (mode == null || mode.isEmpty()) {
+            return SchedulingMode.FIFO;
+        }
+        try {
+            return SchedulingMode.valueOf(mode.trim().replace('-', '_').toUpperCase(Locale.ENGLISH));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid value specified for property {}: '{}', using FIFO scheduling", SCHEDULING, mode);
+            return SchedulingMode.FIFO;
+        }
+    }
+
+    /**
+     * Schedules the projects of one task segment. Build threads report their own completion, so that newly unblocked
+     * projects are scheduled right away instead of waiting for a single coordinating thread.
+     */
+    private final class SegmentScheduler {
+        private final ConcurrencyDependencyGraph analyzer;
+
+        private final ReactorContext reactorContext;
+
+        private final MavenSession rootSession;
+
+        private final CompletionService<ProjectSegment> service;
+
+        private final int maxRunning;
+
+        private final Semaphore permits;
+
+        private final Queue<MavenProject> readyProjects;
+
+        private final TaskSegment taskSegment;
+
+        private final Map<MavenProject, ProjectSegment> projectBuildList;
+
+        private final ThreadOutputMuxer muxer;
+
+        private final Set<String> duplicateArtifactIds;
+
+        private MojoPipeline pipeline;
+
+        // guarded by readyProjects
+        private int running;
+
+        // guarded by readyProjects
+        private boolean aborted;
+
+        @SuppressWarnings("checkstyle:ParameterNumber")
+        SegmentScheduler(
+                ConcurrencyDependencyGraph analyzer,
+                ReactorContext reactorContext,
+                MavenSession rootSession,
+                CompletionService<ProjectSegment> service,
+                int maxRunning,
+                boolean virtualThreads,
+                Queue<MavenProject> readyProjects,
+                TaskSegment taskSegment,
+                Map<MavenProject, ProjectSegment> projectBuildList,
+                ThreadOutputMuxer muxer,
+                Set<String> duplicateArtifactIds) {
+            this.analyzer = analyzer;
+            this.reactorContext = reactorContext;
+            this.rootSession = rootSession;
+            this.service = service;
+            this.maxRunning = maxRunning;
+            // a build blocked on a virtual thread gives its permit back, which may start the next ready project
+            this.permits = virtualThreads
+                    ? new Semaphore(maxRunning, true) {
+                        @Override
+                        public void release() {
+                            super.release();
+                            schedule(Collections.emptyList());
+                        }
+                    }
+                    : null;
+            this.readyProjects = readyProjects;
+            this.taskSegment = taskSegment;
+            this.projectBuildList = projectBuildList;
+            this.muxer = muxer;
+            this.duplicateArtifactIds = duplicateArtifactIds;
+        }
+
+        /**
+         * Lets the build threads release downstream projects as soon as they have reached the phases those need.
+         * Must be called before scheduling the first projects.
+         */
+        void enablePipelining(List<String> phases, Collection<String> unpipelinedPhases) {
+            pipeline = new MojoPipeline(
+                    analyzer,
+                    rootSession.getProjectDependencyGraph(),
+                    reactorContext.getReactorBuildStatus(),
+                    phases,
+                    unpipelinedPhases,
+                    this::schedule);
+        }
+
+        /**
+         * Queues the given projects and submits ready projects, in queue order, until all build threads are busy.
+         * With virtual threads, a project is only submitted once a permit is available for it, so that the order of
+         * the queue is kept however many builds are blocked.
+         */
+        void schedule(Collection<MavenProject> projects) {
+            synchronized (readyProjects) {
+                readyProjects.addAll(projects);
+                while (!aborted
+                        && !reactorContext.getReactorBuildStatus().isHalted()
+                        && !readyProjects.isEmpty()
+                        && acquireBuildSlot()) {
+                    ProjectSegment projectSegment = projectBuildList.get(readyProjects.poll());
+                    logger.debug("Scheduling: {}", projectSegment.getProject());
+                    service.submit(createBuildCallable(projectSegment));
+                    running++;
+                }
+            }
+        }
+
+        /**
+         * Reserves a build thread, or a permit with virtual threads, for the next ready project.
+         */
+        private boolean acquireBuildSlot() {
+            if (permits == null) {
+                return running < maxRunning;
+            }
+            return permits.tryAcquire();
+        }
+
+        /**
+         * Stops scheduling; once this method returns, no further project is submitted.
+         */
+        void abort() {
+            synchronized (readyProjects) {
+                aborted = true;
+            }
+        }
+
+        /**
+         * Called by the build thread once the given project has been built.
+         */
+        private void finished(ProjectSegment projectBuild) {
+            List<MavenProject> newItemsThatCanBeBuilt = Collections.emptyList();
+            // MNG-6170: Only schedule other modules from reactor if we have more modules to build than one.
+            if (!reactorContext.getReactorBuildStatus().isHalted() && analyzer.getNumberOfBuilds() > 1) {
+                newItemsThatCanBeBuilt = analyzer.markAsFinished(projectBuild.getProject());
+            }
+            synchronized (readyProjects) {
+                running--;
+            }
+            schedule(newItemsThatCanBeBuilt);
+        }
+
+        private Callable<ProjectSegment> createBuildCallable(ProjectSegment projectBuild) {
+            Callable<ProjectSegment> build = MultiThreadedBuilder.this.createBuildCallable(
+                    rootSession, projectBuild, reactorContext, taskSegment, muxer, duplicateArtifactIds);
+            return () -> {
+                ProjectSegment result;
+                try {
+                    if (permits != null) {
+                        ProjectBuildPermits.hold(permits);
+                    }
+                    if (pipeline != null) {
+                        ProjectPipeline.bind(pipeline.newProjectPipeline(projectBuild.getProject()));
+                    }
+                    result = build.call();
+                } catch (Exception | Error e) {
+                    abort();
+                    throw e;
+                } finally {
+                    if (pipeline != null) {
+                        ProjectPipeline.unbind();
+                        pipeline.finished(projectBuild.getProject());
+                    }
+                    ProjectBuildPermits.release();
+                }
+                finished(result);
+                return result;
+            };
+        }
+    }
+
     private Callable<ProjectSegment> createBuildCallable(
             final MavenSession rootSession,
             final ProjectSegment projectBuild,
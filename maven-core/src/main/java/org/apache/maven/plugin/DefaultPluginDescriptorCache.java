@@ -41,6 +41,9 @@
  * data like the plugin realm. <strong>Warning:</strong> This is an internal utility interface that is only public for
  * technical reasons, it is not part of the public API. In particular, this interface can be changed or deleted without
  * prior notice.
+ * <p>
+ * The cached descriptors are private copies that are never modified; lookups return {@link PluginDescriptor#newView()
+ * views} of them, which only copy the mojo descriptors that are actually used.
  *
  * @since 3.0
  */
@@ -60,7 +63,8 @@ public Key createKey(Plugin plugin, List<RemoteRepository> repositories, Reposit
     }
 
     public PluginDescriptor get(Key cacheKey) {
-        return clone(descriptors.get(cacheKey));
+        PluginDescriptor desc = descriptors.get(cacheKey);
+        return desc != null ? desc.newView() : null;
     }
 
     @Override
@@ -75,10 +79,11 @@ public PluginDescriptor get(Key key, PluginDescriptorSupplier supplier)
                     if (desc == null) {
                         desc = supplier.load();
                         descriptors.putIfAbsent(key, clone(desc));
+                        return desc;
                     }
                 }
             }
-            return clone(desc);
+            return desc.newView();
         } catch (PluginDescriptorParsingException | PluginResolutionException | InvalidPluginDescriptorException e) {
             throw e;
         }
@@ -20,7 +20,9 @@
 
 import java.io.File;
 import java.nio.file.Path;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.maven.execution.MavenSession;
 import org.apache.maven.model.interpolation.reflection.ReflectionValueExtractor;
@@ -71,6 +73,13 @@
  * @see MojoExecution
  */
 public class PluginParameterExpressionEvaluator implements TypeAwareExpressionEvaluator {
+    private static final int MAX_CACHED_TEMPLATES = 10000;
+
+    /**
+     * The parsed templates of the evaluated strings containing expressions, shared by all evaluators.
+     */
+    private static final Map<String, Template> TEMPLATES = new ConcurrentHashMap<>();
+
     private MavenSession session;
 
     private MojoExecution mojoExecution;
@@ -126,43 +135,82 @@ public Object evaluate(String expr) throws ExpressionEvaluationException {
     }
 
     @Override
-    @SuppressWarnings("checkstyle:methodlength")
     public Object evaluate(String expr, Class<?> type) throws ExpressionEvaluationException {
-        Object value = null;
-
         if (expr == null) {
             return null;
         }
 
+        if (!expr.contains("${")) {
+            // Was not an expression, not worth caching
+            return expr.replace("$$", "$");
+        }
+
+        Template template = TEMPLATES.get(expr);
+        if (template == null) {
+            template = compile(expr);
+            if (TEMPLATES.size() < MAX_CACHED_TEMPLATES) {
+                TEMPLATES.putIfAbsent(expr, template);
+            }
+        }
+
+        if (template instanceof Expression) {
+            return evaluate((Expression) template, type);
+        } else if (template instanceof Composite) {
+            Composite composite = (Composite) template;
+            StringBuilder retVal = new StringBuilder(composite.prefix);
+
+            if (composite.escaped) {
+                retVal.append(composite.token);
+            } else {
+                Object subResult = evaluate(composite.expression);
+
+                if (subResult != null) {
+                    retVal.append(subResult);
+                } else {
+                    retVal.append('$').append(composite.token);
+                }
+            }
+
+            retVal.append(evaluate(composite.rest));
+            return retVal.toString();
+        } else {
+            // Was not an expression
+            return ((Literal) template).value;
+        }
+    }
+
+    /**
+     * Parses the given string into the template to evaluate. The parsed templates only depend on the string, so they
+     * are shared by all evaluators.
+     */
+    private static Template compile(String expr) {
         String expression = stripTokens(expr);
         if (expression.equals(expr)) {
             int index = expr.indexOf("${");
             if (index >= 0) {
                 int lastIndex = expr.indexOf('}', index);
                 if (lastIndex >= 0) {
-                    String retVal = expr.substring(0, index);
-
-                    if ((index > 0) && (expr.charAt(index - 1) == '$')) {
-                        retVal += expr.substring(index + 1, lastIndex + 1);
-                    } else {
-                        Object subResult = evaluate(expr.substring(index, lastIndex + 1));
-
-                        if (subResult != null) {
-                            retVal += subResult;
-                        } else {
-                            retVal += "$" + expr.substring(index + 1, lastIndex + 1);
-                        }
-                    }
-
-                    retVal += evaluate(expr.substring(lastIndex + 1));
-                    return retVal;
+                    return new Composite(
+                            expr.substring(0, index),
+                            (index > 0) && (expr.charAt(index - 1) == '$'),
+                            expr.substring(index + 1, lastIndex + 1),
+                            expr.substring(index, lastIndex + 1),
+                            expr.substring(lastIndex + 1));
                 }
             }
 
-            // Was not an expression
-            return expression.replace("$$", "$");
+            return new Literal(expression.replace("$$", "$"));
         }
 
+        return new Expression(expression);
+    }
+
+    @SuppressWarnings("checkstyle:methodlength")
+    private Object evaluate(Expression compiled, Class<?> type) throws ExpressionEvaluationException {
+        Object value = null;
+
+        String expression = compiled.expression;
+
         MojoDescriptor mojoDescriptor = mojoExecution.getMojoDescriptor();
 
         if ("localRepository".equals(expression)) {
@@ -171,16 +219,13 @@ public Object evaluate(String expr, Class<?> type) throws ExpressionEvaluationEx
             value = session;
         } else if (expression.startsWith("session")) {
             try {
-                int pathSeparator = expression.indexOf('/');
-
-                if (pathSeparator > 0) {
-                    String pathExpression = expression.substring(0, pathSeparator);
-                    value = ReflectionValueExtractor.evaluate(pathExpression, session);
-                    if (pathSeparator < expression.length() - 1) {
+                if (compiled.pathExpression != null) {
+                    value = ReflectionValueExtractor.evaluate(compiled.pathExpression, session);
+                    if (compiled.path.length() > 1) {
                         if (value instanceof Path) {
-                            value = ((Path) value).resolve(expression.substring(pathSeparator + 1));
+                            value = ((Path) value).resolve(compiled.path.substring(1));
                         } else {
-                            value = value + expression.substring(pathSeparator);
+                            value = value + compiled.path;
                         }
                     }
                 } else {
@@ -199,12 +244,9 @@ public Object evaluate(String expr, Class<?> type) throws ExpressionEvaluationEx
             value = project.getExecutionProject();
         } else if (expression.startsWith("project") || expression.startsWith("pom")) {
             try {
-                int pathSeparator = expression.indexOf('/');
-
-                if (pathSeparator > 0) {
-                    String pathExpression = expression.substring(0, pathSeparator);
-                    value = ReflectionValueExtractor.evaluate(pathExpression, project);
-                    value = value + expression.substring(pathSeparator);
+                if (compiled.pathExpression != null) {
+                    value = ReflectionValueExtractor.evaluate(compiled.pathExpression, project);
+                    value = value + compiled.path;
                 } else {
                     value = ReflectionValueExtractor.evaluate(expression, project);
                 }
@@ -219,12 +261,9 @@ public Object evaluate(String expr, Class<?> type) throws ExpressionEvaluationEx
             value = mojoExecution;
         } else if (expression.startsWith("mojo")) {
             try {
-                int pathSeparator = expression.indexOf('/');
-
-                if (pathSeparator > 0) {
-                    String pathExpression = expression.substring(0, pathSeparator);
-                    value = ReflectionValueExtractor.evaluate(pathExpression, mojoExecution);
-                    value = value + expression.substring(pathSeparator);
+                if (compiled.pathExpression != null) {
+                    value = ReflectionValueExtractor.evaluate(compiled.pathExpression, mojoExecution);
+                    value = value + compiled.path;
                 } else {
                     value = ReflectionValueExtractor.evaluate(expression, mojoExecution);
                 }
@@ -237,14 +276,11 @@ public Object evaluate(String expr, Class<?> type) throws ExpressionEvaluationEx
             value = mojoDescriptor.getPluginDescriptor();
         } else if (expression.startsWith("plugin")) {
             try {
-                int pathSeparator = expression.indexOf('/');
-
                 PluginDescriptor pluginDescriptor = mojoDescriptor.getPluginDescriptor();
 
-                if (pathSeparator > 0) {
-                    String pathExpression = expression.substring(0, pathSeparator);
-                    value = ReflectionValueExtractor.evaluate(pathExpression, pluginDescriptor);
-                    value = value + expression.substring(pathSeparator);
+                if (compiled.pathExpression != null) {
+                    value = ReflectionValueExtractor.evaluate(compiled.pathExpression, pluginDescriptor);
+                    value = value + compiled.path;
                 } else {
                     value = ReflectionValueExtractor.evaluate(expression, pluginDescriptor);
                 }
@@ -256,12 +292,9 @@ public Object evaluate(String expr, Class<?> type) throws ExpressionEvaluationEx
             value = session.getSettings();
         } else if (expression.startsWith("settings")) {
             try {
-                int pathSeparator = expression.indexOf('/');
-
-                if (pathSeparator > 0) {
-                    String pathExpression = expression.substring(0, pathSeparator);
-                    value = ReflectionValueExtractor.evaluate(pathExpression, session.getSettings());
-                    value = value + expression.substring(pathSeparator);
+                if (compiled.pathExpression != null) {
+                    value = ReflectionValueExtractor.evaluate(compiled.pathExpression, session.getSettings());
+                    value = value + compiled.path;
                 } else {
                     value = ReflectionValueExtractor.evaluate(expression, session.getSettings());
                 }
@@ -273,10 +306,8 @@ public Object evaluate(String expr, Class<?> type) throws ExpressionEvaluationEx
         } else if ("basedir".equals(expression)) {
             value = basedir;
         } else if (expression.startsWith("basedir")) {
-            int pathSeparator = expression.indexOf('/');
-
-            if (pathSeparator > 0) {
-                value = basedir + expression.substring(pathSeparator);
+            if (compiled.pathExpression != null) {
+                value = basedir + compiled.path;
             }
         }
 
@@ -337,7 +368,7 @@ private static boolean isTypeCompatible(Class<?> type, Object value) {
                 && value.getClass().getName().startsWith("java.lang."));
     }
 
-    private String stripTokens(String expr) {
+    private static String stripTokens(String expr) {
         if (expr.startsWith("${") && (expr.indexOf('}') == expr.length() - 1)) {
             expr = expr.substring(2, expr.length() - 1);
         }
@@ -361,4 +392,73 @@ public File alignToBaseDirectory(File file) {
         }
         return file;
     }
+
+    /**
+     * A parsed parameter value: either a literal, a single expression or a string embedding expressions.
+     */
+    private abstract static class Template {}
+
+    private static final class Literal extends Template {
+        final String value;
+
+        Literal(String value) {
+            this.value = value;
+        }
+    }
+
+    private static final class Expression extends Template {
+        final String expression;
+
+        /**
+         * The expression before the first {@code /}, or {@code null} if there is none.
+         */
+        final String pathExpression;
+
+        /**
+         * The rest of the expression starting with the first {@code /}, or {@code null} if there is none.
+         */
+        final String path;
+
+        Expression(String expression) {
+            this.expression = expression;
+            int pathSeparator = expression.indexOf('/');
+            this.pathExpression = pathSeparator > 0 ? expression.substring(0, pathSeparator) : null;
+            this.path = pathSeparator > 0 ? expression.substring(pathSeparator) : null;
+        }
+    }
+
+    private static final class Composite extends Template {
+        /**
+         * The text before the first expression.
+         */
+        final String prefix;
+
+        /**
+         * Whether the first expression is escaped by a preceding {@code $}.
+         */
+        final boolean escaped;
+
+        /**
+         * The first expression without its leading {@code $}.
+         */
+        final String token;
+
+        /**
+         * The first expression.
+         */
+        final String expression;
+
+        /**
+         * The text after the first expression.
+         */
+        final String rest;
+
+        Composite(String prefix, boolean escaped, String token, String expression, String rest) {
+            this.prefix = prefix;
+            this.escaped = escaped;
+            this.token = token;
+            this.expression = expression;
+            this.rest = rest;
+        }
+    }
 }
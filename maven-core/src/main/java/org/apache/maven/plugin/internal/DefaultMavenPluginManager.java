@@ -21,10 +21,14 @@
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.PrintStream;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
@@ -50,6 +54,7 @@
 import org.apache.maven.api.PathType;
 import org.apache.maven.api.Project;
 import org.apache.maven.api.Session;
+import org.apache.maven.api.feature.Features;
 import org.apache.maven.api.plugin.descriptor.Resolution;
 import org.apache.maven.api.services.DependencyResolver;
 import org.apache.maven.api.services.DependencyResolverResult;
@@ -66,6 +71,8 @@
 import org.apache.maven.internal.impl.DefaultLog;
 import org.apache.maven.internal.impl.DefaultMojoExecution;
 import org.apache.maven.internal.impl.InternalMavenSession;
+import org.apache.maven.internal.xml.XmlNodeImpl;
+import org.apache.maven.internal.xml.XmlNodeStaxBuilder;
 import org.apache.maven.internal.xml.XmlPlexusConfiguration;
 import org.apache.maven.model.Plugin;
 import org.apache.maven.plugin.ContextEnabled;
@@ -207,7 +214,7 @@ public PluginDescriptor getPluginDescriptor(
 
             Artifact pluginArtifact = RepositoryUtils.toArtifact(artifact);
 
-            PluginDescriptor descriptor = extractPluginDescriptor(pluginArtifact, plugin);
+            PluginDescriptor descriptor = extractPluginDescriptor(pluginArtifact, plugin, session);
 
             boolean isBlankVersion = descriptor.getRequiredMavenVersion() == null
                     || descriptor.getRequiredMavenVersion().trim().isEmpty();
@@ -225,7 +232,8 @@ public PluginDescriptor getPluginDescriptor(
         return pluginDescriptor;
     }
 
-    private PluginDescriptor extractPluginDescriptor(Artifact pluginArtifact, Plugin plugin)
+    private PluginDescriptor extractPluginDescriptor(
+            Artifact pluginArtifact, Plugin plugin, RepositorySystemSession session)
             throws PluginDescriptorParsingException, InvalidPluginDescriptorException {
         PluginDescriptor pluginDescriptor = null;
 
@@ -233,14 +241,19 @@ private PluginDescriptor extractPluginDescriptor(Artifact pluginArtifact, Plugin
 
         try {
             if (pluginFile.isFile()) {
-                try (JarFile pluginJar = new JarFile(pluginFile, false)) {
-                    ZipEntry pluginDescriptorEntry = pluginJar.getEntry(getPluginDescriptorLocation());
-
-                    if (pluginDescriptorEntry != null) {
-                        pluginDescriptor = parsePluginDescriptor(
-                                () -> pluginJar.getInputStream(pluginDescriptorEntry),
-                                plugin,
-                                pluginFile.getAbsolutePath());
+                PluginDescriptorIndex index = PluginDescriptorIndex.of(session);
+                if (index != null && index.isIndexable(pluginFile.toPath())) {
+                    pluginDescriptor = extractIndexedPluginDescriptor(index, pluginFile, plugin);
+                } else {
+                    try (JarFile pluginJar = new JarFile(pluginFile, false)) {
+                        ZipEntry pluginDescriptorEntry = pluginJar.getEntry(getPluginDescriptorLocation());
+
+                        if (pluginDescriptorEntry != null) {
+                            pluginDescriptor = parsePluginDescriptor(
+                                    () -> pluginJar.getInputStream(pluginDescriptorEntry),
+                                    plugin,
+                                    pluginFile.getAbsolutePath());
+                        }
                     }
                 }
             } else {
@@ -272,6 +285,58 @@ private PluginDescriptor extractPluginDescriptor(Artifact pluginArtifact, Plugin
         return pluginDescriptor;
     }
 
+    /**
+     * Builds the descriptor of the given plugin JAR from the index, parsing and indexing it on a miss. The descriptors
+     * using the {@value PluginDescriptorBuilder#PLUGIN_2_0_0} namespace are not built from a node: only their root
+     * element is indexed, so that later lookups read them from the JAR right away. Returns {@code null} if the JAR has
+     * no descriptor.
+     */
+    private PluginDescriptor extractIndexedPluginDescriptor(PluginDescriptorIndex index, File pluginFile, Plugin plugin)
+            throws IOException, PluginDescriptorParsingException {
+        Path jar = pluginFile.toPath();
+        XmlNode node = index.read(jar);
+        if (node == null || PluginDescriptorBuilder.PLUGIN_2_0_0.equals(node.getNamespaceUri())) {
+            try (JarFile pluginJar = new JarFile(pluginFile, false)) {
+                ZipEntry pluginDescriptorEntry = pluginJar.getEntry(getPluginDescriptorLocation());
+                if (pluginDescriptorEntry == null) {
+                    return null;
+                }
+                if (node == null) {
+                    try (InputStream is = pluginJar.getInputStream(pluginDescriptorEntry)) {
+                        XMLStreamReader parser = XMLInputFactory.newFactory().createXMLStreamReader(is);
+                        parser.nextTag();
+                        if (PluginDescriptorBuilder.PLUGIN_2_0_0.equals(parser.getNamespaceURI())) {
+                            node = new XmlNodeImpl(
+                                    parser.getPrefix(),
+                                    parser.getNamespaceURI(),
+                                    parser.getLocalName(),
+                                    null,
+                                    null,
+                                    null,
+                                    null);
+                        } else {
+                            node = XmlNodeStaxBuilder.build(parser, true, null);
+                        }
+                    } catch (XMLStreamException e) {
+                        throw new PluginDescriptorParsingException(plugin, pluginFile.getAbsolutePath(), e);
+                    }
+                    index.write(jar, node);
+                }
+                if (PluginDescriptorBuilder.PLUGIN_2_0_0.equals(node.getNamespaceUri())) {
+                    return parsePluginDescriptor(
+                            () -> pluginJar.getInputStream(pluginDescriptorEntry),
+                            plugin,
+                            pluginFile.getAbsolutePath());
+                }
+            }
+        }
+        try {
+            return builder.build(node, pluginFile.getAbsolutePath());
+        } catch (PlexusConfigurationException e) {
+            throw new PluginDescriptorParsingException(plugin, pluginFile.getAbsolutePath(), e);
+        }
+    }
+
     private String getPluginDescriptorLocation() {
         return "META-INF/maven/plugin.xml";
     }
@@ -373,23 +438,109 @@ public void setupPluginRealm(
                     project.getRemotePluginRepositories(),
                     session.getRepositorySession());
 
-            PluginRealmCache.CacheRecord cacheRecord = pluginRealmCache.get(cacheKey, () -> {
-                createPluginRealm(pluginDescriptor, session, parent, foreignImports, filter);
+            PluginRealmCache.CacheRecord cacheRecord;
+            ClassRealm componentRealm;
+            if (isSharingPluginRealm(session, project)) {
+                PluginRealmCache.CacheRecord sharedRecord =
+                        setupSharedPluginRealm(pluginDescriptor, session, parent, foreignImports, filter);
+                ClassRealm sharedRealm = sharedRecord.getRealm();
+                cacheKey = new LayerRealmKey(cacheKey);
+                cacheRecord = pluginRealmCache.get(
+                        cacheKey,
+                        () -> new PluginRealmCache.CacheRecord(
+                                createLayerRealm(plugin, parent, sharedRealm, project.getClassRealm()),
+                                sharedRecord.getArtifacts()));
+                componentRealm = sharedRealm;
+            } else {
+                cacheRecord = pluginRealmCache.get(cacheKey, () -> {
+                    createPluginRealm(pluginDescriptor, session, parent, foreignImports, filter);
 
-                return new PluginRealmCache.CacheRecord(
-                        pluginDescriptor.getClassRealm(), pluginDescriptor.getArtifacts());
-            });
+                    return new PluginRealmCache.CacheRecord(
+                            pluginDescriptor.getClassRealm(), pluginDescriptor.getArtifacts());
+                });
+                componentRealm = cacheRecord.getRealm();
+            }
 
             pluginDescriptor.setClassRealm(cacheRecord.getRealm());
             pluginDescriptor.setArtifacts(new ArrayList<>(cacheRecord.getArtifacts()));
             for (ComponentDescriptor<?> componentDescriptor : pluginDescriptor.getComponents()) {
-                componentDescriptor.setRealm(cacheRecord.getRealm());
+                componentDescriptor.setRealm(componentRealm);
             }
 
             pluginRealmCache.register(project, cacheKey, cacheRecord);
         }
     }
 
+    /**
+     * Tells whether the plugins of the project can use the realms shared with the projects without build extensions.
+     * This is the case when the project realm only makes components visible to the plugins: its extensions neither
+     * export packages nor artifacts, and none of them is loaded in the project realm itself.
+     */
+    private boolean isSharingPluginRealm(MavenSession session, MavenProject project) {
+        return project.getClassRealm() != null
+                && project.getExtensionDependencyFilter() == null
+                && Features.sharedPluginRealms(session.getRepositorySession().getUserProperties())
+                && !project.isExtensionClassesExported();
+    }
+
+    /**
+     * Sets up the realm of the plugin for the projects without build extensions, which defines the classes of the
+     * plugin for all the projects sharing it.
+     */
+    private PluginRealmCache.CacheRecord setupSharedPluginRealm(
+            PluginDescriptor pluginDescriptor,
+            MavenSession session,
+            ClassLoader parent,
+            Map<String, ClassLoader> foreignImports,
+            DependencyFilter filter)
+            throws PluginResolutionException, PluginContainerException {
+        Map<String, ClassLoader> sharedImports = new HashMap<>(foreignImports);
+        sharedImports.put("", classRealmManager.getMavenApiRealm());
+
+        MavenProject project = session.getCurrentProject();
+        PluginRealmCache.Key sharedKey = pluginRealmCache.createKey(
+                pluginDescriptor.getPlugin(),
+                parent,
+                sharedImports,
+                filter,
+                project.getRemotePluginRepositories(),
+                session.getRepositorySession());
+
+        PluginRealmCache.CacheRecord sharedRecord = pluginRealmCache.get(sharedKey, () -> {
+            createPluginRealm(pluginDescriptor, session, parent, sharedImports, filter);
+
+            return new PluginRealmCache.CacheRecord(pluginDescriptor.getClassRealm(), pluginDescriptor.getArtifacts());
+        });
+
+        pluginRealmCache.register(project, sharedKey, sharedRecord);
+
+        return sharedRecord;
+    }
+
+    /**
+     * The key of a layer realm, which differs from the key of the realm the plugin would have if it was not shared with
+     * other projects, so that both kinds of realms never replace each other in the cache.
+     */
+    private record LayerRealmKey(PluginRealmCache.Key key) implements PluginRealmCache.Key {}
+
+    /**
+     * Creates an empty realm that loads everything from the shared realm of the plugin, and which imports the project
+     * realm only to make the components of the build extensions visible to the plugin, the way the project realm
+     * imports its extension realms.
+     */
+    private ClassRealm createLayerRealm(
+            Plugin plugin, ClassLoader parent, ClassRealm sharedRealm, ClassRealm projectRealm) {
+        Map<String, ClassLoader> foreignImports = new HashMap<>();
+        foreignImports.put("", sharedRealm);
+        foreignImports.put(projectRealm.getId(), projectRealm);
+
+        if (logger.isDebugEnabled()) {
+            logger.debug("Sharing plugin realm " + sharedRealm.getId() + " with project realm " + projectRealm.getId());
+        }
+
+        return classRealmManager.createPluginRealm(plugin, parent, null, foreignImports, Collections.emptyList());
+    }
+
     private void createPluginRealm(
             PluginDescriptor pluginDescriptor,
             MavenSession session,
@@ -994,7 +1145,7 @@ public ExtensionRealmCache.CacheRecord setupExtensionsRealm(
                 // ignore plugin descriptor parsing errors at this point
                 // these errors will reported during calculation of project build execution plan
                 try {
-                    pluginDescriptor = extractPluginDescriptor(artifacts.get(0), plugin);
+                    pluginDescriptor = extractPluginDescriptor(artifacts.get(0), plugin, session);
                 } catch (PluginDescriptorParsingException | InvalidPluginDescriptorException e) {
                     // ignore, see above
                 }
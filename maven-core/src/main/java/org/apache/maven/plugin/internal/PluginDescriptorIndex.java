@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugin.internal;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.apache.maven.api.feature.Features;
+import org.apache.maven.api.xml.XmlNode;
+import org.apache.maven.internal.impl.CacheFiles;
+import org.apache.maven.model.v4.MavenBinaryReader;
+import org.apache.maven.model.v4.MavenBinaryWriter;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.repository.LocalRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Persists the parsed plugin descriptors of the released plugins of the local repository, so that later builds do
+ * not need to open the plugin JARs and parse their {@code META-INF/maven/plugin.xml} again. The descriptors are
+ * stored with the binary DOM encoding of the models under <code>.cache/maven-plugins</code> in the local repository,
+ * as {@link CacheFiles cache files} of the JAR they were read from, and are only used as long as the JAR is unchanged.
+ * <p>
+ * The index is enabled with the {@value Features#PERSISTENT_PLUGIN_DESCRIPTOR_INDEX} user property. SNAPSHOT
+ * plugins, and plugins outside the local repository, are never indexed.
+ * </p>
+ *
+ * @since 4.0.0
+ */
+class PluginDescriptorIndex {
+    static final String INDEX_DIRECTORY = ".cache/maven-plugins";
+
+    private static final int MAGIC = 0x4d565044;
+
+    private static final int FORMAT_VERSION = 2;
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private final Path localRepository;
+
+    private final Path directory;
+
+    PluginDescriptorIndex(Path localRepository) {
+        this.localRepository = localRepository.toAbsolutePath().normalize();
+        this.directory = this.localRepository.resolve(INDEX_DIRECTORY);
+    }
+
+    /**
+     * @return the index to use for the given session, or {@code null} if disabled
+     */
+    static PluginDescriptorIndex of(RepositorySystemSession session) {
+        if (session == null || !Features.persistentPluginDescriptorIndex(session.getUserProperties())) {
+            return null;
+        }
+        LocalRepository localRepository = session.getLocalRepository();
+        return localRepository != null ? new PluginDescriptorIndex(localRepository.getBasePath()) : null;
+    }
+
+    /**
+     * @return whether the descriptor of the given plugin JAR can be indexed
+     */
+    boolean isIndexable(Path jar) {
+        if (jar == null) {
+            return false;
+        }
+        jar = jar.toAbsolutePath().normalize();
+        if (!jar.startsWith(localRepository) || jar.startsWith(directory)) {
+            return false;
+        }
+        String name = jar.getFileName().toString();
+        return name.endsWith(".jar") && !name.contains("SNAPSHOT");
+    }
+
+    /**
+     * Reads the descriptor indexed for the given plugin JAR.
+     *
+     * @param jar the plugin JAR, must be indexable
+     * @return the root node of the descriptor, or {@code null} if not indexed or if the JAR has changed
+     */
+    XmlNode read(Path jar) {
+        try {
+            return CacheFiles.read(
+                    getIndexFile(jar), jar, MAGIC, FORMAT_VERSION, in -> new MavenBinaryReader().readDom(in));
+        } catch (IOException | RuntimeException e) {
+            logger.debug("Unable to read the indexed plugin descriptor of {}", jar, e);
+            return null;
+        }
+    }
+
+    /**
+     * Indexes the descriptor read from the given plugin JAR.
+     *
+     * @param jar the plugin JAR, must be indexable
+     * @param descriptor the root node of the descriptor read from the JAR
+     */
+    void write(Path jar, XmlNode descriptor) {
+        try {
+            // locations are not kept
+            CacheFiles.write(
+                    getIndexFile(jar),
+                    jar,
+                    MAGIC,
+                    FORMAT_VERSION,
+                    out -> new MavenBinaryWriter().writeDom(out, descriptor));
+        } catch (IOException | RuntimeException e) {
+            logger.debug("Unable to index the plugin descriptor of {}", jar, e);
+        }
+    }
+
+    private Path getIndexFile(Path jar) {
+        return directory.resolve(
+                localRepository.relativize(jar.toAbsolutePath().normalize()).toString() + ".bin");
+    }
+}
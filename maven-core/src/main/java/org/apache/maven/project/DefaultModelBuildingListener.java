@@ -93,6 +93,7 @@ public void buildExtensionsAssembled(ModelBuildingEvent event) {
 
                 project.setClassRealm(record.getRealm());
                 project.setExtensionDependencyFilter(record.getExtensionArtifactFilter());
+                project.setExtensionClassesExported(record.isExportingClasses());
             } catch (PluginResolutionException | PluginManagerException | PluginVersionResolutionException e) {
                 event.problems()
                         .add(
@@ -21,16 +21,17 @@
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
+import javax.xml.stream.XMLStreamException;
 
 import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.StringWriter;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.util.AbstractMap;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -39,14 +40,16 @@
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.concurrent.Future;
-import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.FutureTask;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
@@ -65,23 +68,27 @@
 import org.apache.maven.api.model.DependencyManagement;
 import org.apache.maven.api.model.DeploymentRepository;
 import org.apache.maven.api.model.Extension;
+import org.apache.maven.api.model.InputLocation;
 import org.apache.maven.api.model.Model;
 import org.apache.maven.api.model.Parent;
 import org.apache.maven.api.model.Plugin;
 import org.apache.maven.api.model.Profile;
 import org.apache.maven.api.model.ReportPlugin;
+import org.apache.maven.api.services.BuilderProblem;
 import org.apache.maven.api.services.ModelBuilder;
 import org.apache.maven.api.services.ModelBuilderException;
 import org.apache.maven.api.services.ModelBuilderRequest;
 import org.apache.maven.api.services.ModelBuilderResult;
 import org.apache.maven.api.services.ModelCache;
 import org.apache.maven.api.services.ModelProblem;
+import org.apache.maven.api.services.ModelProblemCollector;
 import org.apache.maven.api.services.ModelResolver;
 import org.apache.maven.api.services.ModelResolverException;
 import org.apache.maven.api.services.ModelSource;
 import org.apache.maven.api.services.ModelTransformerContext;
 import org.apache.maven.api.services.ModelTransformerContextBuilder;
 import org.apache.maven.api.services.Source;
+import org.apache.maven.api.services.model.ModelBuildingEvent;
 import org.apache.maven.api.services.model.ModelBuildingListener;
 import org.apache.maven.api.services.model.ModelProcessor;
 import org.apache.maven.artifact.Artifact;
@@ -90,6 +97,7 @@
 import org.apache.maven.artifact.repository.ArtifactRepository;
 import org.apache.maven.bridge.MavenRepositorySystem;
 import org.apache.maven.internal.impl.InternalSession;
+import org.apache.maven.internal.impl.model.ModelBuilderTimings;
 import org.apache.maven.internal.impl.resolver.DefaultModelCache;
 import org.apache.maven.internal.impl.resolver.DefaultModelRepositoryHolder;
 import org.apache.maven.model.building.ArtifactModelSource;
@@ -97,6 +105,7 @@
 import org.apache.maven.model.building.FileModelSource;
 import org.apache.maven.model.building.ModelSource2;
 import org.apache.maven.model.building.ModelSource3;
+import org.apache.maven.model.v4.MavenStaxWriter;
 import org.apache.maven.model.resolution.UnresolvableModelException;
 import org.apache.maven.model.root.RootLocator;
 import org.apache.maven.repository.internal.ArtifactDescriptorUtils;
@@ -120,7 +129,7 @@
 @Singleton
 public class DefaultProjectBuilder implements ProjectBuilder {
     public static final String BUILDER_PARALLELISM = "maven.projectBuilder.parallelism";
-    public static final int DEFAULT_BUILDER_PARALLELISM = Runtime.getRuntime().availableProcessors() / 2 + 1;
+    public static final int DEFAULT_BUILDER_PARALLELISM = Runtime.getRuntime().availableProcessors();
 
     private final Logger logger = LoggerFactory.getLogger(getClass());
     private final ModelBuilder modelBuilder;
@@ -133,6 +142,8 @@ public class DefaultProjectBuilder implements ProjectBuilder {
 
     private final RootLocator rootLocator;
 
+    private final IncrementalModelCache incrementalModelCache = new IncrementalModelCache();
+
     @SuppressWarnings("checkstyle:ParameterNumber")
     @Inject
     public DefaultProjectBuilder(
@@ -300,6 +311,77 @@ static class InterimResult {
         }
     }
 
+    /**
+     * The event of a model building listener for an effective model which is reused rather than built.
+     */
+    static class ReplayedEvent implements ModelBuildingEvent, ModelProblemCollector {
+
+        private final Model model;
+
+        private final ModelBuilderRequest request;
+
+        private final List<ModelProblem> problems = new ArrayList<>();
+
+        boolean rejected;
+
+        ReplayedEvent(Model model, ModelBuilderRequest request) {
+            this.model = model;
+            this.request = request;
+        }
+
+        @Override
+        public Model model() {
+            return model;
+        }
+
+        @Override
+        public Consumer<Model> update() {
+            return m -> rejected = true;
+        }
+
+        @Override
+        public ModelBuilderRequest request() {
+            return request;
+        }
+
+        @Override
+        public ModelProblemCollector problems() {
+            return this;
+        }
+
+        @Override
+        public List<ModelProblem> getProblems() {
+            return problems;
+        }
+
+        @Override
+        public boolean hasErrors() {
+            return rejected;
+        }
+
+        @Override
+        public boolean hasFatalErrors() {
+            return false;
+        }
+
+        @Override
+        public void add(
+                BuilderProblem.Severity severity,
+                ModelProblem.Version version,
+                String message,
+                InputLocation location,
+                Exception exception) {
+            add(new org.apache.maven.internal.impl.model.DefaultModelProblem(
+                    message, severity, version, model, -1, -1, exception));
+        }
+
+        @Override
+        public void add(ModelProblem problem) {
+            problems.add(problem);
+            rejected = true;
+        }
+    }
+
     class BuildSession implements AutoCloseable {
         private final ProjectBuildingRequest request;
         private final RepositorySystemSession session;
@@ -307,9 +389,12 @@ class BuildSession implements AutoCloseable {
         private final ReactorModelPool modelPool;
         private final ConcurrentMap<String, Object> parentCache;
         private final ModelTransformerContextBuilder transformerContextBuilder;
-        private final ExecutorService executor;
+        private final ClassLoader contextClassLoader;
+        private final ForkJoinPool executor;
         private final ModelCache modelCache;
         private final ModelResolver modelResolver;
+        private IncrementalModelCache.Context incrementalContext;
+        private final AtomicInteger reusedModels = new AtomicInteger();
 
         BuildSession(ProjectBuildingRequest request, boolean localProjects) {
             this.request = request;
@@ -317,6 +402,7 @@ class BuildSession implements AutoCloseable {
                     RepositoryUtils.overlay(request.getLocalRepository(), request.getRepositorySession(), repoSystem);
             InternalSession.from(session);
             this.repositories = RepositoryUtils.toRepos(request.getRemoteRepositories());
+            this.contextClassLoader = Thread.currentThread().getContextClassLoader();
             this.executor = createExecutor(getParallelism(request));
             if (localProjects) {
                 this.modelPool = new ReactorModelPool();
@@ -344,37 +430,72 @@ protected org.apache.maven.model.resolution.ModelResolver getResolver(
             };
         }
 
-        ExecutorService createExecutor(int parallelism) {
+        ForkJoinPool createExecutor(int parallelism) {
             //
-            // We need an executor that will not block.
-            // We can't use work stealing, as we are building a graph
-            // and this could lead to cycles where a thread waits for
-            // a task to finish, then execute another one which waits
-            // for the initial task...
-            // In order to work around that problem, we override the
-            // invokeAll method, so that whenever the method is called,
-            // the pool core size will be incremented before submitting
-            // all the tasks, then the thread will block waiting for all
-            // those subtasks to finish.
-            // This ensures the number of running workers is no more than
-            // the defined parallism, while making sure the pool will not
-            // be exhausted
+            // We are building a graph: the tasks building a project submit
+            // the tasks building its modules and wait for them.  A worker
+            // waiting for its subtasks runs pending tasks meanwhile (see
+            // invokeAll), so that no thread is parked and no thread is added
+            // for nested submissions.  This cannot lead to a cycle where a
+            // worker waits for a task it has to run itself, as the tasks only
+            // wait for their own subtasks, and for the resolutions of the
+            // ProjectModelResolver which never submit tasks.  The latter are
+            // managed blockers, so that the pool starts spare workers while
+            // its workers wait for I/O.
+            // Fork/join workers do not inherit the context class loader of
+            // the thread creating them, so it is set explicitly on the
+            // workers and restored around every task (see invokeAll): the
+            // tasks need it, e.g. to find the StAX implementation.
             //
-            return new ThreadPoolExecutor(
-                    parallelism, Integer.MAX_VALUE, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>()) {
-                final AtomicInteger parked = new AtomicInteger();
+            ForkJoinPool.ForkJoinWorkerThreadFactory factory = pool -> {
+                ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                thread.setContextClassLoader(contextClassLoader);
+                return thread;
+            };
+            return new ForkJoinPool(parallelism, factory, null, false);
+        }
 
-                @Override
-                public <T> List<Future<T>> invokeAll(Collection<? extends Callable<T>> tasks)
-                        throws InterruptedException {
-                    setCorePoolSize(parallelism + parked.incrementAndGet());
+        /**
+         * Runs the given tasks and waits for them. From a worker of the pool, the tasks are forked and the worker
+         * runs pending tasks until they are done, rather than waiting.
+         */
+        <T> List<Future<T>> invokeAll(List<Callable<T>> tasks) throws InterruptedException {
+            List<FutureTask<T>> futures = tasks.stream()
+                    .map(task -> new FutureTask<>(() -> call(task)))
+                    .toList();
+            if (ForkJoinTask.getPool() == executor) {
+                List<ForkJoinTask<?>> forked =
+                        futures.stream().map(ForkJoinTask::adapt).toList();
+                forked.forEach(ForkJoinTask::fork);
+                for (int i = forked.size() - 1; i >= 0; i--) {
+                    forked.get(i).quietlyJoin();
+                }
+            } else {
+                futures.forEach(executor::execute);
+                for (FutureTask<T> future : futures) {
                     try {
-                        return super.invokeAll(tasks);
-                    } finally {
-                        setCorePoolSize(parallelism + parked.decrementAndGet());
+                        future.get();
+                    } catch (ExecutionException e) {
+                        // reported by the caller
                     }
                 }
-            };
+            }
+            return new ArrayList<>(futures);
+        }
+
+        /**
+         * Calls the given task with the context class loader of the session, as the tasks may select the realm of
+         * their project, and restores the one of the worker, which may be running the task while it joins another.
+         */
+        private <T> T call(Callable<T> task) throws Exception {
+            Thread thread = Thread.currentThread();
+            ClassLoader old = thread.getContextClassLoader();
+            thread.setContextClassLoader(contextClassLoader);
+            try {
+                return task.call();
+            } finally {
+                thread.setContextClassLoader(old);
+            }
         }
 
         @Override
@@ -532,15 +653,57 @@ List<ProjectBuildingResult> build(List<File> pomFiles, boolean recursive) throws
         List<ProjectBuildingResult> doBuild(List<File> pomFiles, boolean recursive) {
             Map<File, MavenProject> projectIndex = new ConcurrentHashMap<>(256);
 
+            InternalSession internalSession = InternalSession.from(session);
+            ModelBuilderTimings timings = logger.isDebugEnabled() ? ModelBuilderTimings.start(internalSession) : null;
+            try {
+                return doBuild(projectIndex, pomFiles, recursive, timings);
+            } finally {
+                if (timings != null) {
+                    ModelBuilderTimings.stop(internalSession);
+                }
+            }
+        }
+
+        private List<ProjectBuildingResult> doBuild(
+                Map<File, MavenProject> projectIndex,
+                List<File> pomFiles,
+                boolean recursive,
+                ModelBuilderTimings timings) {
+            long start = System.nanoTime();
+
             // phase 1: get file Models from the reactor.
             List<InterimResult> interimResults = build(projectIndex, pomFiles, new LinkedHashSet<>(), true, recursive);
 
+            long fileModelsBuilt = System.nanoTime();
+
+            if (Features.incrementalProjectBuilding(toMap(request.getUserProperties()))) {
+                List<Model> reactorModels = new ArrayList<>();
+                Set<Path> reactorPomFiles = new HashSet<>();
+                collectFileModels(interimResults, reactorModels, reactorPomFiles);
+                incrementalModelCache.retain(reactorPomFiles);
+                incrementalContext = new IncrementalModelCache.Context(
+                        getIncrementalKey(), reactorModels, toMap(request.getUserProperties()));
+            }
+
             ClassLoader oldContextClassLoader = Thread.currentThread().getContextClassLoader();
 
             try {
                 // Phase 2: get effective models from the reactor
                 List<ProjectBuildingResult> results = build(projectIndex, interimResults);
 
+                if (timings != null) {
+                    long end = System.nanoTime();
+                    logger.debug(
+                            "Built {} file models in {} ms and their effective models in {} ms ({} reused)"
+                                    + " with a parallelism of {}, the model builder spent {} over all threads",
+                            projectIndex.size(),
+                            TimeUnit.NANOSECONDS.toMillis(fileModelsBuilt - start),
+                            TimeUnit.NANOSECONDS.toMillis(end - fileModelsBuilt),
+                            reusedModels.get(),
+                            executor.getParallelism(),
+                            timings);
+                }
+
                 if (Features.buildConsumer(request.getUserProperties())) {
                     request.getRepositorySession()
                             .getData()
@@ -553,6 +716,54 @@ List<ProjectBuildingResult> doBuild(List<File> pomFiles, boolean recursive) {
             }
         }
 
+        private void collectFileModels(List<InterimResult> interimResults, List<Model> models, Set<Path> pomFiles) {
+            for (InterimResult interimResult : interimResults) {
+                if (interimResult.result != null) {
+                    models.add(interimResult.result.getActivatedFileModel());
+                    pomFiles.add(interimResult.pomFile.toPath());
+                    collectFileModels(interimResult.modules, models, pomFiles);
+                }
+            }
+        }
+
+        /**
+         * Computes the key of the inputs of the effective models that do not come from the POM files.
+         */
+        private String getIncrementalKey() {
+            StringWriter key = new StringWriter();
+            key.append(String.valueOf(new TreeMap<>(request.getUserProperties())))
+                    .append('\n')
+                    .append(String.valueOf(new TreeMap<>(request.getSystemProperties())))
+                    .append('\n')
+                    .append(String.valueOf(request.getActiveProfileIds()))
+                    .append(String.valueOf(request.getInactiveProfileIds()))
+                    .append(String.valueOf(request.getValidationLevel()))
+                    .append(String.valueOf(request.isProcessPlugins()))
+                    .append(String.valueOf(request.getRepositoryMerging()))
+                    .append('\n');
+            for (ArtifactRepository repository : request.getRemoteRepositories()) {
+                key.append(repository.getId()).append('=').append(repository.getUrl()).append('\n');
+            }
+            for (ArtifactRepository repository : request.getPluginArtifactRepositories()) {
+                key.append(repository.getId()).append('=').append(repository.getUrl()).append('\n');
+            }
+            if (request.getProfiles() != null && !request.getProfiles().isEmpty()) {
+                try {
+                    new MavenStaxWriter()
+                            .write(
+                                    key,
+                                    Model.newBuilder()
+                                            .profiles(request.getProfiles().stream()
+                                                    .map(org.apache.maven.model.Profile::getDelegate)
+                                                    .toList())
+                                            .build());
+                } catch (IOException | XMLStreamException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+            return key.toString();
+        }
+
         @SuppressWarnings("checkstyle:parameternumber")
         private List<InterimResult> build(
                 Map<File, MavenProject> projectIndex,
@@ -565,7 +776,7 @@ private List<InterimResult> build(
                             () -> build(projectIndex, pomFile, concat(aggregatorFiles, pomFile), root, recursive)))
                     .collect(Collectors.toList());
             try {
-                List<Future<InterimResult>> futures = executor.invokeAll(tasks);
+                List<Future<InterimResult>> futures = invokeAll(tasks);
                 List<InterimResult> list = new ArrayList<>();
                 for (Future<InterimResult> future : futures) {
                     InterimResult interimResult = future.get();
@@ -734,7 +945,7 @@ private List<ProjectBuildingResult> build(
                     .collect(Collectors.toList());
 
             try {
-                List<Future<List<ProjectBuildingResult>>> futures = executor.invokeAll(callables);
+                List<Future<List<ProjectBuildingResult>>> futures = invokeAll(callables);
                 return futures.stream()
                         .map(listFuture -> {
                             try {
@@ -761,9 +972,7 @@ private List<ProjectBuildingResult> doBuild(Map<File, MavenProject> projectIndex
             }
             MavenProject project = interimResult.project;
             try {
-                ModelBuilderResult result = modelBuilder.build(ModelBuilderRequest.builder(interimResult.request)
-                        .interimResult(interimResult.result)
-                        .build());
+                ModelBuilderResult result = buildEffectiveModel(interimResult);
 
                 // 2nd pass of initialization: resolve and build parent if necessary
                 List<org.apache.maven.model.building.ModelProblem> problems = convert(result.getProblems());
@@ -806,6 +1015,61 @@ private List<ProjectBuildingResult> doBuild(Map<File, MavenProject> projectIndex
             }
         }
 
+        private ModelBuilderResult buildEffectiveModel(InterimResult interimResult) throws ModelBuilderException {
+            Path pomFile = interimResult.pomFile.toPath();
+            if (incrementalContext == null) {
+                return modelBuilder.build(ModelBuilderRequest.builder(interimResult.request)
+                        .interimResult(interimResult.result)
+                        .build());
+            }
+            if (interimResult.result.getProblems().isEmpty()) {
+                IncrementalModelCache.Entry entry = incrementalModelCache.get(pomFile, incrementalContext);
+                if (entry != null && replayListener(interimResult.request, entry.assembledModel())) {
+                    reusedModels.incrementAndGet();
+                    return entry.result();
+                }
+            }
+            // record the model given to the listener, to replay the event with the same model when reused
+            ModelBuildingListener listener = interimResult.request.getListener() instanceof ModelBuildingListener l
+                    ? l
+                    : null;
+            AtomicReference<Model> assembledModel = new AtomicReference<>();
+            ModelBuilderResult result = modelBuilder.build(ModelBuilderRequest.builder(interimResult.request)
+                    .interimResult(interimResult.result)
+                    .listener(new ModelBuildingListener() {
+                        @Override
+                        public void buildExtensionsAssembled(ModelBuildingEvent event) {
+                            assembledModel.set(event.model());
+                            if (listener != null) {
+                                listener.buildExtensionsAssembled(event);
+                            }
+                        }
+                    })
+                    .build());
+            incrementalModelCache.put(
+                    pomFile, incrementalContext, result, listener != null ? assembledModel.get() : null);
+            return result;
+        }
+
+        /**
+         * Notifies the listener of the request of a reused effective model, as the model builder would have done
+         * while building it, so that the project gets its repositories and class realm. The listener is given the
+         * model it was given then, before the lifecycle bindings were injected. Returns {@code false} if that model
+         * is unknown, or if the listener reported a problem or changed the model, in which case the model must be
+         * built again.
+         */
+        private boolean replayListener(ModelBuilderRequest request, Model assembledModel) {
+            if (!(request.getListener() instanceof ModelBuildingListener listener)) {
+                return true;
+            }
+            if (assembledModel == null) {
+                return false;
+            }
+            ReplayedEvent event = new ReplayedEvent(assembledModel, request);
+            listener.buildExtensionsAssembled(event);
+            return !event.rejected;
+        }
+
         private List<org.apache.maven.model.building.ModelProblem> convert(List<ModelProblem> problems) {
             if (problems == null) {
                 return null;
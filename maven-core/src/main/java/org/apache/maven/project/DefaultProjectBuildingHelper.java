@@ -218,6 +218,8 @@ public synchronized ProjectRealmCache.CacheRecord createProjectRealm(
 
             Set<String> exclusions = new LinkedHashSet<>();
 
+            boolean exportingClasses = projectRealm.getURLs().length > 0;
+
             for (ClassRealm extensionRealm : extensionRealms) {
                 List<String> excludes = exportedArtifacts.get(extensionRealm);
 
@@ -227,7 +229,9 @@ public synchronized ProjectRealmCache.CacheRecord createProjectRealm(
 
                 List<String> exports = exportedPackages.get(extensionRealm);
 
-                if (exports == null || exports.isEmpty()) {
+                if (exports != null && !exports.isEmpty()) {
+                    exportingClasses = true;
+                } else {
                     /*
                      * Most existing extensions don't define exported packages, i.e. no classes are to be exposed to
                      * plugins, yet the components provided by the extension (e.g. artifact handlers) must be
@@ -246,7 +250,7 @@ public synchronized ProjectRealmCache.CacheRecord createProjectRealm(
                 extensionArtifactFilter = new ExclusionsDependencyFilter(exclusions);
             }
 
-            record = projectRealmCache.put(projectRealmKey, projectRealm, extensionArtifactFilter);
+            record = projectRealmCache.put(projectRealmKey, projectRealm, extensionArtifactFilter, exportingClasses);
         }
 
         projectRealmCache.register(project, projectRealmKey, record);
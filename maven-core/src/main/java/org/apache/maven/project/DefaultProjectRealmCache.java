@@ -92,13 +92,19 @@ public CacheRecord get(Key key) {
     }
 
     public CacheRecord put(Key key, ClassRealm projectRealm, DependencyFilter extensionArtifactFilter) {
+        return put(key, projectRealm, extensionArtifactFilter, true);
+    }
+
+    @Override
+    public CacheRecord put(
+            Key key, ClassRealm projectRealm, DependencyFilter extensionArtifactFilter, boolean exportingClasses) {
         Objects.requireNonNull(projectRealm, "projectRealm cannot be null");
 
         if (cache.containsKey(key)) {
             throw new IllegalStateException("Duplicate project realm for extensions " + key);
         }
 
-        CacheRecord record = new CacheRecord(projectRealm, extensionArtifactFilter);
+        CacheRecord record = new CacheRecord(projectRealm, extensionArtifactFilter, exportingClasses);
 
         cache.put(key, record);
 
@@ -0,0 +1,283 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.project;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.maven.api.model.Activation;
+import org.apache.maven.api.model.Dependency;
+import org.apache.maven.api.model.DependencyManagement;
+import org.apache.maven.api.model.Model;
+import org.apache.maven.api.model.Profile;
+import org.apache.maven.api.services.ModelBuilderResult;
+
+/**
+ * Keeps the effective models of the reactor projects between the builds made by a project builder, along with a
+ * fingerprint of their inputs, so that the projects whose inputs did not change do not need to be built again.
+ * The fingerprint covers the contents of the POM files of the lineage of the project, and a key given by the caller
+ * for everything else, i.e. the request and the coordinates of the reactor projects. The models depending on inputs
+ * which are not covered are not kept: snapshot parents from a repository, parents given by a version range, imported
+ * snapshot, range or reactor POMs, and profiles activated by files. Only the projects of the last reactor are kept.
+ *
+ * @since 4.0.0
+ */
+class IncrementalModelCache {
+
+    /**
+     * A kept result, along with the model given to the model building listener while building it, i.e. before the
+     * lifecycle bindings and the managed dependencies were injected, or {@code null} if there was no listener.
+     */
+    record Entry(List<Path> lineage, String fingerprint, ModelBuilderResult result, Model assembledModel) {}
+
+    private final Map<Path, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the result of the previous build of the given POM, if its inputs did not change since.
+     */
+    Entry get(Path pomFile, Context context) {
+        Entry entry = entries.get(pomFile);
+        if (entry != null && entry.fingerprint.equals(context.fingerprint(entry.lineage))) {
+            return entry;
+        }
+        return null;
+    }
+
+    /**
+     * Keeps the result of the build of the given POM, or forgets the previous one if the result cannot be reused.
+     *
+     * @param assembledModel the model given to the model building listener, or {@code null} if there was none
+     */
+    void put(Path pomFile, Context context, ModelBuilderResult result, Model assembledModel) {
+        List<Path> lineage = context.lineage(result);
+        String fingerprint = lineage != null ? context.fingerprint(lineage) : null;
+        if (fingerprint != null) {
+            entries.put(pomFile, new Entry(lineage, fingerprint, result, assembledModel));
+        } else {
+            entries.remove(pomFile);
+        }
+    }
+
+    /**
+     * Forgets the results of the POM files which are not part of the given reactor, so that the cache does not grow
+     * with every reactor built by a long-lived project builder.
+     */
+    void retain(Set<Path> pomFiles) {
+        entries.keySet().retainAll(pomFiles);
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    /**
+     * The inputs of the models built during one project building session.
+     */
+    static class Context {
+        private final String key;
+
+        private final Set<Path> reactorPomFiles;
+
+        private final Set<String> reactorProjects;
+
+        private final Map<String, String> userProperties;
+
+        private final Map<Path, Optional<String>> digests = new ConcurrentHashMap<>();
+
+        /**
+         * @param key a key for all the inputs which are not POM files, such as the request properties and profiles
+         * @param reactorModels the file models of the reactor projects
+         * @param userProperties the user properties of the request
+         */
+        Context(String key, Collection<Model> reactorModels, Map<String, String> userProperties) {
+            this.reactorPomFiles = reactorModels.stream()
+                    .map(Model::getPomFile)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toSet());
+            this.reactorProjects = reactorModels.stream()
+                    .map(m -> groupId(m) + ':' + m.getArtifactId())
+                    .collect(Collectors.toSet());
+            this.key = digest(Stream.concat(
+                            Stream.of(key),
+                            reactorModels.stream()
+                                    .map(m -> m.getPomFile() + " " + groupId(m) + ':' + m.getArtifactId() + ':'
+                                            + version(m))
+                                    .sorted())
+                    .toList());
+            this.userProperties = userProperties;
+        }
+
+        /**
+         * Returns the POM files of the lineage of the given result, or {@code null} if the result depends on inputs
+         * that are not covered by the fingerprint.
+         */
+        List<Path> lineage(ModelBuilderResult result) {
+            Model effective = result.getEffectiveModel();
+            List<Path> lineage = new ArrayList<>();
+            for (String id : result.getModelIds()) {
+                if (id.isEmpty()) {
+                    continue;
+                }
+                Model raw = result.getRawModel(id).orElse(null);
+                if (raw == null || raw.getPomFile() == null) {
+                    return null;
+                }
+                boolean reactor = reactorPomFiles.contains(raw.getPomFile());
+                if (!reactor && version(raw).endsWith("SNAPSHOT")) {
+                    return null;
+                }
+                if (raw.getParent() != null && isRange(raw.getParent().getVersion())) {
+                    return null;
+                }
+                if (!isCovered(raw.getDependencyManagement(), effective)) {
+                    return null;
+                }
+                for (Profile profile : raw.getProfiles()) {
+                    Activation activation = profile.getActivation();
+                    if (activation != null && activation.getFile() != null) {
+                        return null;
+                    }
+                    if (!isCovered(profile.getDependencyManagement(), effective)) {
+                        return null;
+                    }
+                }
+                lineage.add(raw.getPomFile());
+            }
+            return lineage;
+        }
+
+        /**
+         * Returns the fingerprint of the inputs of a model of the given lineage, or {@code null} if one of the POM
+         * files cannot be read.
+         */
+        String fingerprint(List<Path> lineage) {
+            List<String> parts = new ArrayList<>(lineage.size() * 2 + 1);
+            parts.add(key);
+            for (Path pomFile : lineage) {
+                String digest = digests.computeIfAbsent(pomFile, Context::digest).orElse(null);
+                if (digest == null) {
+                    return null;
+                }
+                parts.add(pomFile.toString());
+                parts.add(digest);
+            }
+            return digest(parts);
+        }
+
+        private boolean isCovered(DependencyManagement dependencyManagement, Model effective) {
+            if (dependencyManagement == null) {
+                return true;
+            }
+            for (Dependency dependency : dependencyManagement.getDependencies()) {
+                if ("import".equals(dependency.getScope())) {
+                    String version = interpolate(dependency.getVersion(), effective);
+                    if (version == null
+                            || version.contains("${")
+                            || version.endsWith("SNAPSHOT")
+                            || isRange(version)
+                            || reactorProjects.contains(
+                                    interpolate(dependency.getGroupId(), effective) + ':'
+                                            + interpolate(dependency.getArtifactId(), effective))) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+
+        private static boolean isRange(String version) {
+            return version != null && (version.startsWith("[") || version.startsWith("("));
+        }
+
+        private String interpolate(String value, Model effective) {
+            for (int i = 0; value != null && i < 8; i++) {
+                int start = value.indexOf("${");
+                int end = start >= 0 ? value.indexOf('}', start) : -1;
+                if (end < 0) {
+                    break;
+                }
+                String name = value.substring(start + 2, end);
+                String replacement = userProperties.get(name);
+                if (replacement == null) {
+                    replacement = effective.getProperties().get(name);
+                }
+                if (replacement == null) {
+                    break;
+                }
+                value = value.substring(0, start) + replacement + value.substring(end + 1);
+            }
+            return value;
+        }
+
+        private static Optional<String> digest(Path file) {
+            try {
+                return Optional.of(HexFormat.of().formatHex(sha256().digest(Files.readAllBytes(file))));
+            } catch (IOException e) {
+                return Optional.empty();
+            }
+        }
+
+        private static String digest(List<String> parts) {
+            MessageDigest digest = sha256();
+            for (String part : parts) {
+                digest.update(String.valueOf(part).getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        }
+
+        private static MessageDigest sha256() {
+            try {
+                return MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private static String groupId(Model model) {
+            String groupId = model.getGroupId();
+            return groupId == null && model.getParent() != null
+                    ? model.getParent().getGroupId()
+                    : groupId;
+        }
+
+        private static String version(Model model) {
+            String version = model.getVersion();
+            if (version == null && model.getParent() != null) {
+                version = model.getParent().getVersion();
+            }
+            return version != null ? version : "";
+        }
+    }
+}
@@ -182,6 +182,8 @@ public class MavenProject implements Cloneable {
 
     private DependencyFilter extensionDependencyFilter;
 
+    private boolean extensionClassesExported = true;
+
     private final Set<String> lifecyclePhases = Collections.synchronizedSet(new LinkedHashSet<>());
 
     public MavenProject() {
@@ -1220,6 +1222,32 @@ public DependencyFilter getExtensionDependencyFilter() {
         return extensionDependencyFilter;
     }
 
+    /**
+     * Sets whether the project's class realm exposes classes of its build extensions to the plugins.
+     * <strong>Warning:</strong> This is an internal utility method that is only public for technical reasons, it is not
+     * part of the public API. In particular, this method can be changed or deleted without prior notice and must not be
+     * used by plugins.
+     *
+     * @param extensionClassesExported Whether the build extensions export packages or are loaded in the class realm.
+     * @since 4.0.0
+     */
+    public void setExtensionClassesExported(boolean extensionClassesExported) {
+        this.extensionClassesExported = extensionClassesExported;
+    }
+
+    /**
+     * Tells whether the project's class realm exposes classes of its build extensions to the plugins.
+     * <strong>Warning:</strong> This is an internal utility method that is only public for technical reasons, it is not
+     * part of the public API. In particular, this method can be changed or deleted without prior notice and must not be
+     * used by plugins.
+     *
+     * @return {@code true} unless the build extensions are known to only provide components.
+     * @since 4.0.0
+     */
+    public boolean isExtensionClassesExported() {
+        return extensionClassesExported;
+    }
+
     /**
      * Sets the transitive dependency artifacts that have been resolved/collected for this project.
      * <strong>Warning:</strong> This is an internal utility method that is only public for technical reasons, it is not
@@ -26,9 +26,10 @@
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ForkJoinPool;
-import java.util.concurrent.ForkJoinTask;
 import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 import java.util.concurrent.atomic.AtomicReference;
 
 import org.apache.maven.api.model.Dependency;
@@ -58,12 +59,14 @@
 /**
  * A model resolver to assist building of projects. This resolver gives priority to those repositories that have been
  * declared in the POM.
+ * <p>
+ * The resolutions of parents and imported POMs are shared through the given cache: the first thread needing a POM
+ * resolves it, while the other ones wait for its result. As the projects are built in parallel, distinct POMs are
+ * resolved in parallel by the threads of the project builder, without creating threads of their own.
  *
  */
 public class ProjectModelResolver implements ModelResolver {
 
-    private static final int MAX_CAP = 0x7fff;
-
     private final RepositorySystemSession session;
 
     private final RequestTrace trace;
@@ -86,7 +89,7 @@ public class ProjectModelResolver implements ModelResolver {
 
     private final ProjectBuildingRequest.RepositoryMerging repositoryMerging;
 
-    private final Map<String, Future<Result>> parentCache;
+    private final Map<Object, Future<Result>> parentCache;
 
     @SuppressWarnings("checkstyle:ParameterNumber")
     public ProjectModelResolver(
@@ -184,60 +187,118 @@ public ModelSource resolveModel(String groupId, String artifactId, String versio
         return new ArtifactModelSource(pomArtifact.getFile(), groupId, artifactId, version);
     }
 
-    record Result(ModelSource source, Parent parent, Exception e) {}
+    record Result(ModelSource source, String version, Exception e) {}
+
+    /**
+     * The key of an imported POM, which depends on the repositories it is resolved from, unlike a parent POM.
+     */
+    record ImportKey(String id, List<RemoteRepository> repositories) {}
 
     @Override
     public ModelSource resolveModel(final Parent parent, AtomicReference<Parent> modified)
             throws UnresolvableModelException {
+        Result result = resolve(
+                parent.getId(),
+                parent.getGroupId(),
+                parent.getArtifactId(),
+                parent.getVersion(),
+                () -> {
+                    AtomicReference<Parent> resolved = new AtomicReference<>();
+                    ModelSource source = doResolveModel(parent, resolved);
+                    return new Result(source, resolved.get() != null ? resolved.get().getVersion() : null, null);
+                });
+        if (result.version != null && modified != null) {
+            modified.set(parent.withVersion(result.version));
+        }
+        return result.source;
+    }
+
+    @Override
+    public ModelSource resolveModel(final Dependency dependency, AtomicReference<Dependency> modified)
+            throws UnresolvableModelException {
+        Result result = resolve(
+                new ImportKey(
+                        dependency.getGroupId() + ":" + dependency.getArtifactId() + ":" + dependency.getVersion(),
+                        List.copyOf(repositories)),
+                dependency.getGroupId(),
+                dependency.getArtifactId(),
+                dependency.getVersion(),
+                () -> {
+                    AtomicReference<Dependency> resolved = new AtomicReference<>();
+                    ModelSource source = doResolveModel(dependency, resolved);
+                    return new Result(source, resolved.get() != null ? resolved.get().getVersion() : null, null);
+                });
+        if (result.version != null && modified != null) {
+            modified.set(dependency.withVersion(result.version));
+        }
+        return result.source;
+    }
+
+    /**
+     * Resolves a POM once for all the callers requesting it with the same key. The first caller runs the resolution in
+     * its own thread, the other ones wait for its result.
+     */
+    private Result resolve(Object key, String groupId, String artifactId, String version, ResultSupplier resolution)
+            throws UnresolvableModelException {
         Result result;
         try {
-            Future<Result> future = parentCache.computeIfAbsent(parent.getId(), id -> {
-                ForkJoinPool pool = new ForkJoinPool(MAX_CAP);
-                ForkJoinTask<Result> task = new ForkJoinTask<>() {
-                    Result result;
-
-                    @Override
-                    public Result getRawResult() {
-                        return result;
-                    }
-
-                    @Override
-                    protected void setRawResult(Result result) {
-                        this.result = result;
-                    }
-
-                    @Override
-                    protected boolean exec() {
-                        try {
-                            AtomicReference<Parent> modified = new AtomicReference<>();
-                            ModelSource source = doResolveModel(parent, modified);
-                            result = new Result(source, modified.get(), null);
-                        } catch (Exception e) {
-                            result = new Result(null, null, e);
-                        } finally {
-                            pool.shutdown();
-                        }
-                        return true;
-                    }
-                };
-                pool.submit(task);
-                return task;
+            FutureTask<Result> task = new FutureTask<>(() -> {
+                try {
+                    return resolution.get();
+                } catch (Exception e) {
+                    return new Result(null, null, e);
+                }
             });
-            result = future.get();
+            Future<Result> future = parentCache.putIfAbsent(key, task);
+            ForkJoinPool.managedBlock(new ResolutionBlocker(future != null ? future : task, future == null));
+            result = (future != null ? future : task).get();
         } catch (Exception e) {
-            throw new UnresolvableModelException(e, parent.getGroupId(), parent.getArtifactId(), parent.getVersion());
+            throw new UnresolvableModelException(e, groupId, artifactId, version);
         }
         if (result.e != null) {
             uncheckedThrow(result.e);
-            return null;
-        } else {
-            if (result.parent != null && modified != null) {
-                modified.set(result.parent);
+        }
+        return result;
+    }
+
+    /**
+     * Runs a resolution, or waits for the one run by another thread. Both mostly wait for I/O, so that a fork/join
+     * pool of the project builder starts a spare worker meanwhile if it has other work to do.
+     */
+    private static class ResolutionBlocker implements ForkJoinPool.ManagedBlocker {
+        private final Future<Result> future;
+
+        private final boolean run;
+
+        ResolutionBlocker(Future<Result> future, boolean run) {
+            this.future = future;
+            this.run = run;
+        }
+
+        @Override
+        public boolean block() throws InterruptedException {
+            if (run) {
+                ((FutureTask<Result>) future).run();
+            } else {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    // reported by the caller
+                }
             }
-            return result.source;
+            return true;
+        }
+
+        @Override
+        public boolean isReleasable() {
+            return future.isDone();
         }
     }
 
+    interface ResultSupplier {
+        Result get() throws UnresolvableModelException;
+    }
+
     static <T extends Throwable> void uncheckedThrow(Throwable t) throws T {
         throw (T) t; // rely on vacuous cast
     }
@@ -287,8 +348,7 @@ private ModelSource doResolveModel(Parent parent, AtomicReference<Parent> modifi
         }
     }
 
-    @Override
-    public ModelSource resolveModel(final Dependency dependency, AtomicReference<Dependency> modified)
+    private ModelSource doResolveModel(Dependency dependency, AtomicReference<Dependency> modified)
             throws UnresolvableModelException {
         try {
             final Artifact artifact = new DefaultArtifact(
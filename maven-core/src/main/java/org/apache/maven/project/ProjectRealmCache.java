@@ -51,13 +51,30 @@ public DependencyFilter getExtensionArtifactFilter() {
             return extensionArtifactFilter;
         }
 
+        /**
+         * Tells whether the project realm exposes classes to the plugins besides the ones of the Maven API realm, that
+         * is whether its extensions export packages or are loaded in the project realm itself.
+         *
+         * @since 4.0.0
+         */
+        public boolean isExportingClasses() {
+            return exportingClasses;
+        }
+
         private final ClassRealm realm;
 
         private final DependencyFilter extensionArtifactFilter;
 
+        private final boolean exportingClasses;
+
         CacheRecord(ClassRealm realm, DependencyFilter extensionArtifactFilter) {
+            this(realm, extensionArtifactFilter, realm != null);
+        }
+
+        CacheRecord(ClassRealm realm, DependencyFilter extensionArtifactFilter, boolean exportingClasses) {
             this.realm = realm;
             this.extensionArtifactFilter = extensionArtifactFilter;
+            this.exportingClasses = exportingClasses;
         }
     }
 
@@ -67,6 +84,16 @@ public DependencyFilter getExtensionArtifactFilter() {
 
     CacheRecord put(Key key, ClassRealm projectRealm, DependencyFilter extensionArtifactFilter);
 
+    /**
+     * Caches the given project realm, recording whether it exposes classes to the plugins.
+     *
+     * @since 4.0.0
+     */
+    default CacheRecord put(
+            Key key, ClassRealm projectRealm, DependencyFilter extensionArtifactFilter, boolean exportingClasses) {
+        return put(key, projectRealm, extensionArtifactFilter);
+    }
+
     void flush();
 
     /**
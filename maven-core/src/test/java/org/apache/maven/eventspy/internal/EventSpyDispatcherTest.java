@@ -0,0 +1,167 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.eventspy.internal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+
+import org.apache.maven.api.feature.Features;
+import org.apache.maven.eventspy.AbstractEventSpy;
+import org.apache.maven.eventspy.EventSpy;
+import org.apache.maven.execution.DefaultMavenExecutionRequest;
+import org.apache.maven.execution.DefaultMavenExecutionResult;
+import org.apache.maven.execution.ExecutionEvent;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.MojoExecution;
+import org.apache.maven.project.MavenProject;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EventSpyDispatcherTest {
+
+    static class RecordingSpy extends AbstractEventSpy {
+        final List<Object> events = Collections.synchronizedList(new ArrayList<>());
+
+        final CountDownLatch entered = new CountDownLatch(1);
+
+        final CountDownLatch released = new CountDownLatch(1);
+
+        volatile Thread thread;
+
+        volatile boolean closed;
+
+        @Override
+        public void onEvent(Object event) throws Exception {
+            thread = Thread.currentThread();
+            entered.countDown();
+            released.await();
+            events.add(event);
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+
+    @Test
+    void testAsyncPreservesOrder() {
+        RecordingSpy spy = new RecordingSpy();
+        EventSpyDispatcher dispatcher = new EventSpyDispatcher(Collections.singletonList(spy));
+        dispatcher.init(context(new Properties()));
+
+        for (int i = 0; i < 1000; i++) {
+            dispatcher.onEvent(i);
+        }
+        assertTrue(spy.events.isEmpty());
+        spy.released.countDown();
+        dispatcher.close();
+
+        assertTrue(spy.closed);
+        assertEquals(1000, spy.events.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, spy.events.get(i));
+        }
+        assertNotSame(Thread.currentThread(), spy.thread);
+    }
+
+    @Test
+    void testAsyncDropsOnOverflow() throws Exception {
+        RecordingSpy spy = new RecordingSpy();
+        EventSpyDispatcher dispatcher = new EventSpyDispatcher(Collections.singletonList(spy));
+        Properties userProperties = new Properties();
+        userProperties.setProperty(EventSpyDispatcher.ASYNC_CAPACITY, "10");
+        userProperties.setProperty(EventSpyDispatcher.ASYNC_OVERFLOW, "drop");
+        dispatcher.init(context(userProperties));
+
+        // the first event is being delivered, the next ten fill the queue and the others are dropped
+        dispatcher.onEvent(0);
+        spy.entered.await();
+        for (int i = 1; i < 100; i++) {
+            dispatcher.onEvent(i);
+        }
+        spy.released.countDown();
+        dispatcher.close();
+
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10), spy.events);
+    }
+
+    @Test
+    void testAsyncExecutionEventKeepsCurrentProject() throws Exception {
+        List<MavenProject> projects = Collections.synchronizedList(new ArrayList<>());
+        EventSpy spy = new AbstractEventSpy() {
+            @Override
+            public void onEvent(Object event) {
+                ExecutionEvent executionEvent = (ExecutionEvent) event;
+                projects.add(executionEvent.getProject());
+                projects.add(executionEvent.getSession().getCurrentProject());
+            }
+        };
+        EventSpyDispatcher dispatcher = new EventSpyDispatcher(Collections.singletonList(spy));
+        dispatcher.init(context(new Properties()));
+
+        MavenSession session = new MavenSession(
+                null, null, new DefaultMavenExecutionRequest(), new DefaultMavenExecutionResult());
+        MavenProject project = new MavenProject();
+        session.setCurrentProject(project);
+        dispatcher.onEvent(new ExecutionEvent() {
+            @Override
+            public Type getType() {
+                return Type.ProjectStarted;
+            }
+
+            @Override
+            public MavenSession getSession() {
+                return session;
+            }
+
+            @Override
+            public MavenProject getProject() {
+                return session.getCurrentProject();
+            }
+
+            @Override
+            public MojoExecution getMojoExecution() {
+                return null;
+            }
+
+            @Override
+            public Exception getException() {
+                return null;
+            }
+        });
+        session.setCurrentProject(new MavenProject());
+        dispatcher.close();
+
+        assertEquals(Arrays.asList(project, project), projects);
+    }
+
+    private static EventSpy.Context context(Properties userProperties) {
+        userProperties.setProperty(Features.ASYNC_EVENT_SPIES, "true");
+        return () -> Map.of("userProperties", userProperties);
+    }
+}
@@ -29,6 +29,9 @@
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  */
@@ -129,6 +132,53 @@ void testGetUpstreamProjects() throws CycleDetectedException, DuplicateProjectEx
         assertEquals(aProject, downstreamProjects.get(0));
     }
 
+    @Test
+    void testGetTransitiveUpstreamProjects() throws CycleDetectedException, DuplicateProjectException {
+        final ProjectDependencyGraph graph = new DefaultProjectDependencyGraph(
+                Arrays.asList(depender1, depender4, depender2, depender3, aProject, transitiveOnly));
+
+        assertEquals(Arrays.asList(depender3), graph.getUpstreamProjects(transitiveOnly, false));
+        assertEquals(Arrays.asList(aProject, depender3), graph.getUpstreamProjects(transitiveOnly, true));
+        assertEquals(Arrays.asList(depender4, transitiveOnly), graph.getDownstreamProjects(depender3, false));
+    }
+
+    @Test
+    void testIsUpstreamProject() throws CycleDetectedException, DuplicateProjectException {
+        final DefaultProjectDependencyGraph graph =
+                new DefaultProjectDependencyGraph(Arrays.asList(aProject, depender3, transitiveOnly));
+
+        assertTrue(graph.isUpstreamProject(transitiveOnly, depender3, false));
+        assertFalse(graph.isUpstreamProject(transitiveOnly, aProject, false));
+        assertTrue(graph.isUpstreamProject(transitiveOnly, aProject, true));
+        assertFalse(graph.isUpstreamProject(aProject, transitiveOnly, true));
+        assertFalse(graph.isUpstreamProject(transitiveOnly, depender1, true));
+    }
+
+    @Test
+    void testDuplicateDependencies() throws CycleDetectedException, DuplicateProjectException {
+        Dependency testJar = toDependency(aProject);
+        testJar.setType("test-jar");
+        MavenProject depender = createProject(Arrays.asList(toDependency(aProject), testJar), "depender6");
+        final ProjectDependencyGraph graph = new DefaultProjectDependencyGraph(Arrays.asList(aProject, depender));
+
+        assertEquals(Arrays.asList(aProject), graph.getUpstreamProjects(depender, false));
+        assertEquals(Arrays.asList(depender), graph.getDownstreamProjects(aProject, false));
+    }
+
+    @Test
+    void testQueriesReturnCopies() throws CycleDetectedException, DuplicateProjectException {
+        final ProjectDependencyGraph graph = threeProjectsDependingOnASingle();
+
+        final List<MavenProject> downstreamProjects = graph.getDownstreamProjects(aProject, true);
+        assertNotSame(downstreamProjects, graph.getDownstreamProjects(aProject, true));
+        downstreamProjects.clear();
+        assertEquals(3, graph.getDownstreamProjects(aProject, true).size());
+
+        final List<MavenProject> upstreamProjects = graph.getUpstreamProjects(depender1, false);
+        upstreamProjects.add(depender2);
+        assertEquals(Arrays.asList(aProject), graph.getUpstreamProjects(depender1, false));
+    }
+
     private ProjectDependencyGraph threeProjectsDependingOnASingle()
             throws CycleDetectedException, DuplicateProjectException {
         return new DefaultProjectDependencyGraph(Arrays.asList(depender1, depender2, depender3, aProject));
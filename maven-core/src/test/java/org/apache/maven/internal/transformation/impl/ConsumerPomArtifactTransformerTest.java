@@ -23,14 +23,21 @@
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
 
 import org.apache.maven.model.Model;
 import org.apache.maven.model.building.TransformerContext;
 import org.apache.maven.model.v4.MavenStaxReader;
 import org.apache.maven.project.MavenProject;
+import org.eclipse.aether.DefaultSessionData;
 import org.eclipse.aether.RepositorySystemSession;
 import org.eclipse.aether.SessionData;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mockito;
 import org.xmlunit.assertj.XmlAssert;
 
@@ -111,6 +118,85 @@ void injectTransformedArtifactsWithoutPomShouldNotInjectAnyArtifacts() throws IO
         assertThat(emptyProject.getAttachedArtifacts()).isEmpty();
     }
 
+    @Test
+    void transformOnlyWhenSourceChanges(@TempDir Path dir) throws Exception {
+        Path src = dir.resolve("pom.xml");
+        Files.writeString(src, "<project/>");
+        Path consumer = dir.resolve("consumer.pom");
+        Model model = new Model();
+        model.setGroupId("org.example");
+        model.setArtifactId("example");
+        model.setVersion("1.0");
+        model.setPackaging("pom");
+        MavenProject project = new MavenProject(model);
+        project.setFile(src.toFile());
+
+        AtomicInteger transformations = new AtomicInteger();
+        TransformedArtifact artifact = new DefaultConsumerPomArtifactTransformer((s, p, f) -> {
+                    transformations.incrementAndGet();
+                    return org.apache.maven.api.model.Model.newBuilder()
+                            .modelVersion("4.0.0")
+                            .build();
+                })
+                .createConsumerPomArtifact(project, consumer, Mockito.mock(RepositorySystemSession.class));
+
+        assertThat(artifact.getFile()).isEqualTo(consumer.toFile());
+        assertThat(artifact.getFile()).isEqualTo(consumer.toFile());
+        assertThat(transformations.get()).isEqualTo(1);
+
+        Files.setLastModifiedTime(src, FileTime.fromMillis(Files.getLastModifiedTime(src).toMillis() + 2000));
+        assertThat(artifact.getFile()).isEqualTo(consumer.toFile());
+        assertThat(transformations.get()).isEqualTo(1);
+
+        Files.writeString(src, "<project></project>");
+        assertThat(artifact.getFile()).isEqualTo(consumer.toFile());
+        assertThat(transformations.get()).isEqualTo(2);
+
+        Files.delete(consumer);
+        assertThat(artifact.getFile()).isEqualTo(consumer.toFile());
+        assertThat(consumer).exists();
+        assertThat(transformations.get()).isEqualTo(3);
+    }
+
+    @Test
+    void awaitPreparationsWhenClosed(@TempDir Path dir) throws Exception {
+        Path src = dir.resolve("pom.xml");
+        Files.writeString(src, "<project/>");
+        Path consumer = dir.resolve("consumer.pom");
+        Model model = new Model();
+        model.setGroupId("org.example");
+        model.setArtifactId("example");
+        model.setVersion("1.0");
+        model.setPackaging("pom");
+        MavenProject project = new MavenProject(model);
+        project.setFile(src.toFile());
+
+        RepositorySystemSession repositorySession = Mockito.mock(RepositorySystemSession.class);
+        SessionData data = new DefaultSessionData();
+        when(repositorySession.getData()).thenReturn(data);
+
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicInteger transformations = new AtomicInteger();
+        DefaultConsumerPomArtifactTransformer transformer = new DefaultConsumerPomArtifactTransformer((s, p, f) -> {
+            started.countDown();
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(200));
+            transformations.incrementAndGet();
+            return org.apache.maven.api.model.Model.newBuilder()
+                    .modelVersion("4.0.0")
+                    .build();
+        });
+        project.addAttachedArtifact(transformer.createConsumerPomArtifact(project, consumer, repositorySession));
+
+        transformer.prepareTransformedArtifacts(repositorySession, project);
+        assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+        transformer.closePreparations(repositorySession);
+
+        assertThat(transformations.get()).isEqualTo(1);
+        assertThat(consumer).exists();
+        assertThat(data.get(DefaultConsumerPomArtifactTransformer.class.getName() + ".preparations"))
+                .isNull();
+    }
+
     private static class NoTransformerContext implements TransformerContext {
         @Override
         public String getUserProperty(String key) {
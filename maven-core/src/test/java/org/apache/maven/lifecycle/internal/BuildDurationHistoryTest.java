@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.lifecycle.internal;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.maven.execution.AbstractExecutionListener;
+import org.apache.maven.execution.ExecutionEvent;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.lifecycle.internal.stub.ProjectDependencyGraphStub;
+import org.apache.maven.project.MavenProject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BuildDurationHistoryTest {
+    @TempDir
+    Path rootDirectory;
+
+    @Test
+    void testDisabledByDefault() {
+        MavenSession session = ProjectDependencyGraphStub.getMavenSession();
+        session.getRequest().setRootDirectory(rootDirectory);
+
+        BuildDurationHistory history = BuildDurationHistory.load(session);
+        TaskSegment segment = new TaskSegment(false);
+        history.record(ProjectDependencyGraphStub.A, segment, 100);
+        history.store();
+
+        assertFalse(history.isEnabled());
+        assertFalse(history.getDuration(ProjectDependencyGraphStub.A, segment).isPresent());
+        assertFalse(Files.exists(rootDirectory.resolve(".mvn")));
+    }
+
+    @Test
+    void testStoreAndLoad() {
+        MavenSession session = newSession();
+        TaskSegment segment = new TaskSegment(false, new GoalTask("t1"));
+
+        BuildDurationHistory history = BuildDurationHistory.load(session);
+        assertTrue(history.isEnabled());
+        history.record(ProjectDependencyGraphStub.A, segment, 100);
+        history.record(ProjectDependencyGraphStub.B, segment, 300);
+        history.store();
+        assertTrue(Files.exists(rootDirectory.resolve(".mvn").resolve(BuildDurationHistory.DURATION_HISTORY_FILENAME)));
+
+        history = BuildDurationHistory.load(session);
+        assertEquals(
+                100, history.getDuration(ProjectDependencyGraphStub.A, segment).getAsLong());
+        assertEquals(
+                300, history.getDuration(ProjectDependencyGraphStub.B, segment).getAsLong());
+        // unknown projects are estimated with the average of the segment
+        assertFalse(history.getDuration(ProjectDependencyGraphStub.C, segment).isPresent());
+        assertEquals(200, history.estimateDuration(ProjectDependencyGraphStub.C, segment));
+        assertEquals(1, history.estimateDuration(ProjectDependencyGraphStub.C, new TaskSegment(false)));
+
+        // new durations are averaged with the previous ones
+        history.record(ProjectDependencyGraphStub.A, segment, 200);
+        assertEquals(
+                150, history.getDuration(ProjectDependencyGraphStub.A, segment).getAsLong());
+    }
+
+    @Test
+    void testRecorder() {
+        MavenSession session = newSession();
+        TaskSegment first = new TaskSegment(false, new GoalTask("t1"));
+        TaskSegment second = new TaskSegment(true, new GoalTask("t2"));
+        List<ProjectSegment> segments = new ArrayList<>();
+        segments.add(new ProjectSegment(ProjectDependencyGraphStub.A, first, session));
+        segments.add(new ProjectSegment(ProjectDependencyGraphStub.B, first, session));
+        segments.add(new ProjectSegment(ProjectDependencyGraphStub.A, second, session));
+
+        BuildDurationHistory history = BuildDurationHistory.load(session);
+        List<ExecutionEvent.Type> forwarded = new ArrayList<>();
+        BuildDurationRecorder recorder =
+                new BuildDurationRecorder(history, new ProjectBuildList(segments), new AbstractExecutionListener() {
+                    @Override
+                    public void projectSucceeded(ExecutionEvent event) {
+                        forwarded.add(event.getType());
+                    }
+                });
+
+        recorder.projectStarted(event(ExecutionEvent.Type.ProjectStarted, session, ProjectDependencyGraphStub.A));
+        recorder.projectSucceeded(event(ExecutionEvent.Type.ProjectSucceeded, session, ProjectDependencyGraphStub.A));
+        recorder.projectSkipped(event(ExecutionEvent.Type.ProjectSkipped, session, ProjectDependencyGraphStub.B));
+        recorder.projectStarted(event(ExecutionEvent.Type.ProjectStarted, session, ProjectDependencyGraphStub.A));
+        recorder.projectSucceeded(event(ExecutionEvent.Type.ProjectSucceeded, session, ProjectDependencyGraphStub.A));
+
+        assertEquals(2, forwarded.size());
+        assertTrue(history.getDuration(ProjectDependencyGraphStub.A, first).isPresent());
+        assertTrue(history.getDuration(ProjectDependencyGraphStub.A, second).isPresent());
+        assertFalse(history.getDuration(ProjectDependencyGraphStub.B, first).isPresent());
+    }
+
+    private MavenSession newSession() {
+        MavenSession session = ProjectDependencyGraphStub.getMavenSession();
+        session.getRequest().setRootDirectory(rootDirectory);
+        session.getRequest().getUserProperties().setProperty(BuildDurationHistory.DURATION_HISTORY, "true");
+        return session;
+    }
+
+    private static ExecutionEvent event(ExecutionEvent.Type type, MavenSession session, MavenProject project) {
+        session.setCurrentProject(project);
+        return new DefaultExecutionEvent(type, session, null, null);
+    }
+}
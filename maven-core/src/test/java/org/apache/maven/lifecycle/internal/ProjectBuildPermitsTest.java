@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.lifecycle.internal;
+
+import java.util.concurrent.Semaphore;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ProjectBuildPermitsTest {
+    @Test
+    void testBlockingGivesPermitBack() throws Exception {
+        Semaphore permits = new Semaphore(2);
+        permits.acquire();
+        ProjectBuildPermits.hold(permits);
+        try {
+            assertEquals(1, permits.availablePermits());
+            ProjectBuildPermits.blocking(() -> {
+                assertEquals(2, permits.availablePermits());
+                // nested blocking actions do not release twice
+                ProjectBuildPermits.blocking(() -> assertEquals(2, permits.availablePermits()));
+            });
+            assertEquals(1, permits.availablePermits());
+        } finally {
+            ProjectBuildPermits.release();
+        }
+        assertEquals(2, permits.availablePermits());
+
+        // releasing without a permit is a no-op
+        ProjectBuildPermits.release();
+        assertEquals(2, permits.availablePermits());
+    }
+
+    @Test
+    void testBlockingWithoutPermit() throws Exception {
+        int[] runs = new int[1];
+        ProjectBuildPermits.blocking(() -> runs[0]++);
+        assertEquals(1, runs[0]);
+    }
+}
@@ -18,8 +18,12 @@
  */
 package org.apache.maven.lifecycle.internal.builder.multithreaded;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
 
 import org.apache.maven.execution.ProjectDependencyGraph;
 import org.apache.maven.lifecycle.internal.ProjectBuildList;
@@ -88,4 +92,112 @@ void testGraph() throws Exception {
         // waiting for C
         assertEquals(1, activeDependenciesX.size());
     }
+
+    @Test
+    void testCriticalPath() throws Exception {
+        ProjectBuildList projectBuildList =
+                ProjectDependencyGraphStub.getProjectBuildList(ProjectDependencyGraphStub.getMavenSession());
+
+        ConcurrencyDependencyGraph graph =
+                new ConcurrencyDependencyGraph(projectBuildList, new ProjectDependencyGraphStub());
+
+        // A -> B -> X, Y and A -> C -> X, Z
+        assertEquals(3, graph.getCriticalPathLength(ProjectDependencyGraphStub.A));
+        assertEquals(2, graph.getCriticalPathLength(ProjectDependencyGraphStub.B));
+        assertEquals(2, graph.getCriticalPathLength(ProjectDependencyGraphStub.C));
+        assertEquals(1, graph.getCriticalPathLength(ProjectDependencyGraphStub.X));
+    }
+
+    @Test
+    void testWeightedCriticalPath() throws Exception {
+        ProjectBuildList projectBuildList =
+                ProjectDependencyGraphStub.getProjectBuildList(ProjectDependencyGraphStub.getMavenSession());
+
+        ConcurrencyDependencyGraph graph = new ConcurrencyDependencyGraph(
+                projectBuildList,
+                new ProjectDependencyGraphStub(),
+                p -> p == ProjectDependencyGraphStub.Z ? 100L : 10L);
+
+        assertEquals(120, graph.getCriticalPathLength(ProjectDependencyGraphStub.A));
+        assertEquals(20, graph.getCriticalPathLength(ProjectDependencyGraphStub.B));
+        assertEquals(110, graph.getCriticalPathLength(ProjectDependencyGraphStub.C));
+
+        List<MavenProject> ready = new ArrayList<>(graph.markAsFinished(ProjectDependencyGraphStub.A));
+        ready.sort(graph.getCriticalPathComparator());
+        // C leads to the expensive Z and must start first
+        assertEquals(Arrays.asList(ProjectDependencyGraphStub.C, ProjectDependencyGraphStub.B), ready);
+    }
+
+    @Test
+    void testMarkAsReleased() throws Exception {
+        ProjectBuildList projectBuildList =
+                ProjectDependencyGraphStub.getProjectBuildList(ProjectDependencyGraphStub.getMavenSession());
+
+        ConcurrencyDependencyGraph graph =
+                new ConcurrencyDependencyGraph(projectBuildList, new ProjectDependencyGraphStub());
+
+        // A releases B while still running, C waits for A to finish
+        assertEquals(
+                Arrays.asList(ProjectDependencyGraphStub.B),
+                graph.markAsReleased(ProjectDependencyGraphStub.A, p -> p == ProjectDependencyGraphStub.B));
+        assertEquals(
+                0,
+                graph.markAsReleased(ProjectDependencyGraphStub.A, p -> p == ProjectDependencyGraphStub.B)
+                        .size());
+        assertEquals(6, graph.getUnfinishedProjects().size());
+
+        assertEquals(Arrays.asList(ProjectDependencyGraphStub.C), graph.markAsFinished(ProjectDependencyGraphStub.A));
+
+        // X waits for both B and C
+        assertEquals(
+                Arrays.asList(ProjectDependencyGraphStub.Y),
+                graph.markAsReleased(ProjectDependencyGraphStub.B, p -> true));
+        assertEquals(0, graph.markAsFinished(ProjectDependencyGraphStub.B).size());
+        assertEquals(2, graph.markAsFinished(ProjectDependencyGraphStub.C).size());
+    }
+
+    @Test
+    void testConcurrentMarkAsFinished() throws Exception {
+        ProjectBuildList projectBuildList =
+                ProjectDependencyGraphStub.getProjectBuildList(ProjectDependencyGraphStub.getMavenSession());
+
+        for (int run = 0; run < 100; run++) {
+            ConcurrencyDependencyGraph graph =
+                    new ConcurrencyDependencyGraph(projectBuildList, new ProjectDependencyGraphStub());
+            graph.markAsFinished(ProjectDependencyGraphStub.A);
+
+            // X depends on both B and C and must be released exactly once
+            List<MavenProject> released = new CopyOnWriteArrayList<>();
+            CountDownLatch start = new CountDownLatch(1);
+            Thread finishB = new Thread(() -> {
+                awaitQuietly(start);
+                released.addAll(graph.markAsFinished(ProjectDependencyGraphStub.B));
+            });
+            Thread finishC = new Thread(() -> {
+                awaitQuietly(start);
+                released.addAll(graph.markAsFinished(ProjectDependencyGraphStub.C));
+            });
+            finishB.start();
+            finishC.start();
+            start.countDown();
+            finishB.join();
+            finishC.join();
+
+            assertEquals(3, released.size());
+            assertEquals(
+                    1,
+                    released.stream()
+                            .filter(p -> p == ProjectDependencyGraphStub.X)
+                            .count());
+            assertEquals(3, graph.getUnfinishedProjects().size());
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
 }
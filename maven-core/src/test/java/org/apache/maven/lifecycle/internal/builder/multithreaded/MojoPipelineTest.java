@@ -0,0 +1,302 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.lifecycle.internal.builder.multithreaded;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.ArtifactHandler;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.execution.DefaultMavenExecutionRequest;
+import org.apache.maven.execution.DefaultMavenExecutionResult;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.execution.ProjectDependencyGraph;
+import org.apache.maven.graph.DefaultProjectDependencyGraph;
+import org.apache.maven.lifecycle.LifecycleExecutionException;
+import org.apache.maven.lifecycle.internal.ProjectBuildList;
+import org.apache.maven.lifecycle.internal.ProjectSegment;
+import org.apache.maven.lifecycle.internal.ReactorBuildStatus;
+import org.apache.maven.lifecycle.internal.TaskSegment;
+import org.apache.maven.model.Build;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.plugin.MojoExecution;
+import org.apache.maven.plugin.descriptor.MojoDescriptor;
+import org.apache.maven.project.MavenProject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MojoPipelineTest {
+
+    private static final List<String> PHASES = Arrays.asList(
+            "validate",
+            "compile",
+            "process-classes",
+            "test-compile",
+            "process-test-classes",
+            "test",
+            "prepare-package",
+            "package",
+            "install");
+
+    private static final ArtifactHandler JAR =
+            new DefaultArtifactHandler("jar", "jar", null, null, "jar", false, "java", true);
+
+    private static final ArtifactHandler TEST_JAR =
+            new DefaultArtifactHandler("test-jar", "jar", "tests", null, "jar", false, "java", true);
+
+    @TempDir
+    Path dir;
+
+    // lib <- app (jar), lib <- it (test-jar), lib <- tool (plugin dependency)
+    private MavenProject lib;
+
+    private MavenProject app;
+
+    private MavenProject it;
+
+    private MavenProject tool;
+
+    private MavenSession session;
+
+    private ReactorBuildStatus reactorBuildStatus;
+
+    private final List<MavenProject> released = new CopyOnWriteArrayList<>();
+
+    private MojoPipeline pipeline;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        lib = project("lib");
+        app = project("app", dependency("lib", "jar", null));
+        it = project("it", dependency("lib", "test-jar", null));
+        tool = project("tool");
+        Plugin plugin = new Plugin();
+        plugin.setGroupId("org.example");
+        plugin.setArtifactId("maven-tool-plugin");
+        plugin.setVersion("1.0");
+        plugin.addDependency(dependency("lib", "jar", null));
+        Build build = new Build();
+        build.addPlugin(plugin);
+        tool.getModel().setBuild(build);
+
+        ProjectDependencyGraph graph = new DefaultProjectDependencyGraph(Arrays.asList(lib, app, it, tool));
+        DefaultMavenExecutionRequest request = new DefaultMavenExecutionRequest();
+        session = new MavenSession(null, null, request, new DefaultMavenExecutionResult());
+        session.setProjectDependencyGraph(graph);
+        session.setProjects(graph.getSortedProjects());
+
+        TaskSegment taskSegment = new TaskSegment(false);
+        List<ProjectSegment> segments = new ArrayList<>();
+        for (MavenProject project : graph.getSortedProjects()) {
+            segments.add(new ProjectSegment(project, taskSegment, session));
+        }
+        ConcurrencyDependencyGraph analyzer = new ConcurrencyDependencyGraph(new ProjectBuildList(segments), graph);
+        assertEquals(Collections.singletonList(lib), analyzer.getRootSchedulableBuilds());
+        reactorBuildStatus = new ReactorBuildStatus(graph);
+        pipeline = new MojoPipeline(
+                analyzer, graph, reactorBuildStatus, PHASES, Collections.singletonList("clean"), released::addAll);
+    }
+
+    @Test
+    void testReleaseAfterProcessClasses() throws Exception {
+        MojoPipeline.Stage stage = pipeline.newProjectPipeline(lib);
+        session.setCurrentProject(lib);
+
+        execute(stage, "compile");
+        execute(stage, "process-classes");
+        assertTrue(released.isEmpty());
+
+        // process-classes is done
+        execute(stage, "test-compile");
+        assertEquals(Collections.singletonList(app), released);
+
+        // process-test-classes is done
+        execute(stage, "test");
+        assertEquals(Arrays.asList(app, it), released);
+
+        // a plugin dependency waits for the upstream project to finish
+        execute(stage, "install");
+        assertEquals(Arrays.asList(app, it), released);
+    }
+
+    @Test
+    void testForkedExecutionsDoNotRelease() throws Exception {
+        MojoPipeline.Stage stage = pipeline.newProjectPipeline(lib);
+        session.setCurrentProject(lib.clone());
+
+        execute(stage, "test");
+        assertTrue(released.isEmpty());
+    }
+
+    @Test
+    void testAwaitUpstreamBeforePreparePackage() throws Exception {
+        MojoPipeline.Stage stage = pipeline.newProjectPipeline(app);
+        session.setCurrentProject(app);
+        execute(stage, "compile");
+        execute(stage, "test");
+
+        CompletableFuture<Void> packaging = executeAsync(stage, mojoExecution("prepare-package", false));
+        assertRunning(packaging);
+
+        pipeline.finished(lib);
+        packaging.get(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void testAwaitUpstreamBeforeAggregator() throws Exception {
+        MojoPipeline.Stage stage = pipeline.newProjectPipeline(app);
+        session.setCurrentProject(app);
+
+        CompletableFuture<Void> aggregating = executeAsync(stage, mojoExecution(null, true));
+        assertRunning(aggregating);
+
+        pipeline.finished(lib);
+        aggregating.get(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void testSwapToPackagedArtifacts() throws Exception {
+        File classes = Files.createDirectories(dir.resolve("lib/target/classes")).toFile();
+        File testClasses =
+                Files.createDirectories(dir.resolve("lib/target/test-classes")).toFile();
+        File jar = Files.createFile(dir.resolve("lib/target/lib-1.0.jar")).toFile();
+        File testJar = Files.createFile(dir.resolve("lib/target/lib-1.0-tests.jar")).toFile();
+
+        Artifact libArtifact = artifact("lib", "jar", JAR, null, jar);
+        lib.setArtifact(libArtifact);
+        lib.addAttachedArtifact(artifact("lib", "test-jar", TEST_JAR, "tests", testJar));
+
+        Artifact resolved = artifact("lib", "jar", JAR, null, classes);
+        Artifact resolvedTests = artifact("lib", "test-jar", TEST_JAR, "tests", testClasses);
+        app.setArtifacts(new LinkedHashSet<>(Arrays.asList(resolved, resolvedTests)));
+
+        MojoPipeline.Stage stage = pipeline.newProjectPipeline(app);
+        session.setCurrentProject(app);
+        execute(stage, "test");
+        assertEquals(classes, resolved.getFile());
+
+        pipeline.finished(lib);
+        execute(stage, "package");
+        assertEquals(jar, resolved.getFile());
+        assertEquals(testJar, resolvedTests.getFile());
+    }
+
+    @Test
+    void testUpstreamFailure() throws Exception {
+        MojoPipeline.Stage stage = pipeline.newProjectPipeline(app);
+        session.setCurrentProject(app);
+        execute(stage, "test");
+
+        CompletableFuture<Void> packaging = executeAsync(stage, mojoExecution("package", false));
+        assertRunning(packaging);
+
+        reactorBuildStatus.blackList(lib);
+        pipeline.finished(lib);
+        ExecutionException e = assertThrows(ExecutionException.class, () -> packaging.get(10, TimeUnit.SECONDS));
+        assertInstanceOf(LifecycleExecutionException.class, e.getCause());
+    }
+
+    private void execute(MojoPipeline.Stage stage, String phase) throws Exception {
+        stage.beforeExecution(session, mojoExecution(phase, false));
+    }
+
+    private CompletableFuture<Void> executeAsync(MojoPipeline.Stage stage, MojoExecution mojoExecution) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        MavenProject currentProject = session.getCurrentProject();
+        Thread thread = new Thread(() -> {
+            session.setCurrentProject(currentProject);
+            try {
+                stage.beforeExecution(session, mojoExecution);
+                future.complete(null);
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        });
+        thread.setDaemon(true);
+        thread.start();
+        return future;
+    }
+
+    private static void assertRunning(CompletableFuture<Void> future) throws Exception {
+        assertThrows(TimeoutException.class, () -> future.get(200, TimeUnit.MILLISECONDS));
+        assertFalse(future.isDone());
+    }
+
+    private static MojoExecution mojoExecution(String phase, boolean aggregator) {
+        MojoDescriptor mojoDescriptor = new MojoDescriptor();
+        mojoDescriptor.setGoal("goal");
+        mojoDescriptor.setAggregator(aggregator);
+        MojoExecution mojoExecution = new MojoExecution(mojoDescriptor, "default");
+        mojoExecution.setLifecyclePhase(phase);
+        return mojoExecution;
+    }
+
+    private static MavenProject project(String artifactId, Dependency... dependencies) {
+        Model model = new Model();
+        model.setModelVersion("4.0.0");
+        model.setGroupId("org.example");
+        model.setArtifactId(artifactId);
+        model.setVersion("1.0");
+        model.setPackaging("jar");
+        for (Dependency dependency : dependencies) {
+            model.addDependency(dependency);
+        }
+        return new MavenProject(model);
+    }
+
+    private static Dependency dependency(String artifactId, String type, String classifier) {
+        Dependency dependency = new Dependency();
+        dependency.setGroupId("org.example");
+        dependency.setArtifactId(artifactId);
+        dependency.setVersion("1.0");
+        dependency.setType(type);
+        dependency.setClassifier(classifier);
+        return dependency;
+    }
+
+    private static Artifact artifact(
+            String artifactId, String type, ArtifactHandler handler, String classifier, File file) {
+        Artifact artifact =
+                new DefaultArtifact("org.example", artifactId, "1.0", "compile", type, classifier, handler);
+        artifact.setFile(file);
+        return artifact;
+    }
+}
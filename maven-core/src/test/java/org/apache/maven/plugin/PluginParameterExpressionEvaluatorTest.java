@@ -234,6 +234,37 @@ void testMultipleSubExpressionsInLargerExpression() throws Exception {
         assertEquals("test with version: 1", value);
     }
 
+    @Test
+    void testLargerExpressionEvaluatedForEachProject() throws Exception {
+        String key = "prefix-${project.artifactId}-${project.version}-suffix";
+
+        Model model = new Model();
+        model.setArtifactId("first");
+        model.setVersion("1");
+        Model other = new Model();
+        other.setArtifactId("second");
+        other.setVersion("2");
+
+        ExpressionEvaluator ee = createExpressionEvaluator(new MavenProject(model), null, new Properties());
+        ExpressionEvaluator otherEe = createExpressionEvaluator(new MavenProject(other), null, new Properties());
+
+        assertEquals("prefix-first-1-suffix", ee.evaluate(key));
+        assertEquals("prefix-second-2-suffix", otherEe.evaluate(key));
+        assertEquals("prefix-first-1-suffix", ee.evaluate(key));
+    }
+
+    @Test
+    void testEscapedVariableAfterPrefixInLargerExpression() throws Exception {
+        Model model = new Model();
+        model.setVersion("1");
+
+        ExpressionEvaluator ee = createExpressionEvaluator(new MavenProject(model), null, new Properties());
+
+        assertEquals("cost: ${var} at 1", ee.evaluate("cost: $${var} at ${project.version}"));
+        assertEquals("cost: ${var} at 1", ee.evaluate("cost: $${var} at ${project.version}"));
+        assertEquals("cost: $ at $version", ee.evaluate("cost: $$ at $$version"));
+    }
+
     @Test
     void testMissingPOMPropertyRefInLargerExpression() throws Exception {
         String expr = "/path/to/someproject-${baseVersion}";
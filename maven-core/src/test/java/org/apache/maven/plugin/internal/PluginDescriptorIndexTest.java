@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugin.internal;
+
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import org.apache.maven.api.xml.XmlNode;
+import org.apache.maven.internal.xml.XmlNodeImpl;
+import org.apache.maven.internal.xml.XmlNodeStaxBuilder;
+import org.apache.maven.plugin.descriptor.MojoDescriptor;
+import org.apache.maven.plugin.descriptor.PluginDescriptor;
+import org.apache.maven.plugin.descriptor.PluginDescriptorBuilder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for the {@code PluginDescriptorIndex}.
+ */
+class PluginDescriptorIndexTest {
+
+    private static final String PLUGIN_XML = "<plugin>\n"
+            + "  <groupId>g</groupId>\n"
+            + "  <artifactId>p</artifactId>\n"
+            + "  <version>1.0</version>\n"
+            + "  <goalPrefix>p</goalPrefix>\n"
+            + "  <mojos>\n"
+            + "    <mojo>\n"
+            + "      <goal>run</goal>\n"
+            + "      <description>Runs &lt;things&gt; éverywhere</description>\n"
+            + "      <implementation>g.p.RunMojo</implementation>\n"
+            + "      <parameters>\n"
+            + "        <parameter>\n"
+            + "          <name>message</name>\n"
+            + "          <type>java.lang.String</type>\n"
+            + "          <required>false</required>\n"
+            + "          <editable>true</editable>\n"
+            + "        </parameter>\n"
+            + "      </parameters>\n"
+            + "      <configuration>\n"
+            + "        <message implementation=\"java.lang.String\" default-value=\"hello\">${message}</message>\n"
+            + "      </configuration>\n"
+            + "    </mojo>\n"
+            + "  </mojos>\n"
+            + "</plugin>\n";
+
+    @TempDir
+    Path localRepository;
+
+    @Test
+    void testRoundTrip() throws Exception {
+        PluginDescriptorIndex index = new PluginDescriptorIndex(localRepository);
+        Path jar = writeJar("g/p/1.0/p-1.0.jar", PLUGIN_XML);
+        XmlNode node = XmlNodeStaxBuilder.build(new StringReader(PLUGIN_XML), null);
+
+        assertNull(index.read(jar));
+        index.write(jar, node);
+        XmlNode indexed = index.read(jar);
+
+        assertNotNull(indexed);
+        assertEquals(node, indexed);
+        assertTrue(Files.isRegularFile(
+                localRepository.resolve(PluginDescriptorIndex.INDEX_DIRECTORY).resolve("g/p/1.0/p-1.0.jar.bin")));
+
+        PluginDescriptor descriptor = new PluginDescriptorBuilder().build(indexed, jar.toString());
+        MojoDescriptor mojo = descriptor.getMojo("run");
+        assertEquals("g:p:1.0", descriptor.getId());
+        assertEquals("Runs <things> éverywhere", mojo.getDescription());
+        assertEquals("hello", mojo.getMojoConfiguration().getChild("message").getAttribute("default-value"));
+    }
+
+    @Test
+    void testChangedJar() throws Exception {
+        PluginDescriptorIndex index = new PluginDescriptorIndex(localRepository);
+        Path jar = writeJar("g/p/1.0/p-1.0.jar", PLUGIN_XML);
+        index.write(jar, XmlNodeStaxBuilder.build(new StringReader(PLUGIN_XML), null));
+
+        writeJar("g/p/1.0/p-1.0.jar", PLUGIN_XML.replace("run", "walk"));
+
+        assertNull(index.read(jar));
+    }
+
+    @Test
+    void testNamespaceOnly() throws Exception {
+        PluginDescriptorIndex index = new PluginDescriptorIndex(localRepository);
+        Path jar = writeJar("g/p/1.0/p-1.0.jar", PLUGIN_XML);
+        index.write(jar, new XmlNodeImpl("", PluginDescriptorBuilder.PLUGIN_2_0_0, "plugin", null, null, null, null));
+
+        XmlNode indexed = index.read(jar);
+        assertNotNull(indexed);
+        assertEquals(PluginDescriptorBuilder.PLUGIN_2_0_0, indexed.getNamespaceUri());
+        assertTrue(indexed.getChildren().isEmpty());
+    }
+
+    @Test
+    void testIndexable() throws Exception {
+        PluginDescriptorIndex index = new PluginDescriptorIndex(localRepository);
+
+        assertTrue(index.isIndexable(localRepository.resolve("g/p/1.0/p-1.0.jar")));
+        assertFalse(index.isIndexable(localRepository.resolve("g/p/1.0-SNAPSHOT/p-1.0-SNAPSHOT.jar")));
+        assertFalse(index.isIndexable(localRepository.resolve("g/p/1.0/p-1.0.pom")));
+        assertFalse(index.isIndexable(localRepository.resolveSibling("project").resolve("target/p-1.0.jar")));
+        assertFalse(index.isIndexable(null));
+    }
+
+    private Path writeJar(String path, String pluginXml) throws Exception {
+        Path jar = localRepository.resolve(path);
+        Files.createDirectories(jar.getParent());
+        try (OutputStream os = Files.newOutputStream(jar);
+                JarOutputStream jos = new JarOutputStream(os)) {
+            jos.putNextEntry(new JarEntry("META-INF/maven/plugin.xml"));
+            jos.write(pluginXml.getBytes(StandardCharsets.UTF_8));
+            jos.closeEntry();
+        }
+        return jar;
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.project;
+
+import java.util.Collections;
+
+import org.codehaus.plexus.classworlds.ClassWorld;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DefaultProjectRealmCacheTest {
+
+    @Test
+    void testExportingClasses() throws Exception {
+        ClassWorld world = new ClassWorld();
+        DefaultProjectRealmCache cache = new DefaultProjectRealmCache();
+
+        ProjectRealmCache.CacheRecord exporting = cache.put(
+                cache.createKey(Collections.singletonList(world.newRealm("a"))), world.newRealm("exporting"), null);
+        ProjectRealmCache.CacheRecord componentsOnly = cache.put(
+                cache.createKey(Collections.singletonList(world.newRealm("b"))),
+                world.newRealm("components-only"),
+                null,
+                false);
+
+        assertTrue(exporting.isExportingClasses());
+        assertFalse(componentsOnly.isExportingClasses());
+        assertTrue(new MavenProject().isExtensionClassesExported());
+    }
+}
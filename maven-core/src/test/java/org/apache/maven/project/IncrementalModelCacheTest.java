@@ -0,0 +1,178 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.project;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import org.apache.maven.api.model.Activation;
+import org.apache.maven.api.model.ActivationFile;
+import org.apache.maven.api.model.Model;
+import org.apache.maven.api.model.Parent;
+import org.apache.maven.api.model.Profile;
+import org.apache.maven.api.services.ModelBuilderResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class IncrementalModelCacheTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testReuseUntilLineageChanges() throws Exception {
+        Path parentPom = write("pom.xml", "parent");
+        Path childPom = write("child/pom.xml", "child");
+        Model parent = model(parentPom, "parent", "1.0-SNAPSHOT", null);
+        Model child = model(childPom, "child", null, parent);
+        ModelBuilderResult result = result(child, parent);
+        List<Model> reactor = Arrays.asList(parent, child);
+
+        IncrementalModelCache cache = new IncrementalModelCache();
+        cache.put(childPom, context("key", reactor), result, parent);
+        IncrementalModelCache.Entry entry = cache.get(childPom, context("key", reactor));
+        assertSame(result, entry.result());
+        assertSame(parent, entry.assembledModel());
+        assertNull(cache.get(childPom, context("other", reactor)));
+
+        write("pom.xml", "parent changed");
+        assertNull(cache.get(childPom, context("key", reactor)));
+    }
+
+    @Test
+    void testReactorCoordinatesChange() throws Exception {
+        Path pom = write("pom.xml", "project");
+        Model model = model(pom, "project", "1.0-SNAPSHOT", null);
+        Model sibling = model(dir.resolve("sibling/pom.xml"), "sibling", "1.0-SNAPSHOT", null);
+
+        ModelBuilderResult result = result(model);
+
+        IncrementalModelCache cache = new IncrementalModelCache();
+        cache.put(pom, context("key", Arrays.asList(model, sibling)), result, null);
+        assertSame(result, cache.get(pom, context("key", Arrays.asList(model, sibling))).result());
+        Model bumped = sibling.withVersion("1.1-SNAPSHOT");
+        assertNull(cache.get(pom, context("key", Arrays.asList(model, bumped))));
+    }
+
+    @Test
+    void testUncoveredInputsAreNotKept() throws Exception {
+        Path pom = write("pom.xml", "project");
+        Model snapshotParent = model(null, "parent", "1.0-SNAPSHOT", null)
+                .withPomFile(dir.resolve("repository/parent-1.0-SNAPSHOT.pom"));
+        Model child = model(pom, "child", null, snapshotParent);
+        Model activated = model(pom, "project", "1.0", null)
+                .withProfiles(Collections.singletonList(Profile.newBuilder()
+                        .id("file")
+                        .activation(Activation.newBuilder()
+                                .file(ActivationFile.newBuilder()
+                                        .exists("marker")
+                                        .build())
+                                .build())
+                        .build()));
+
+        IncrementalModelCache cache = new IncrementalModelCache();
+        cache.put(pom, context("key", Collections.singletonList(child)), result(child, snapshotParent), null);
+        assertEquals(0, cache.size());
+        cache.put(pom, context("key", Collections.singletonList(activated)), result(activated), null);
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testParentVersionRangeIsNotKept() throws Exception {
+        Path parentPom = write("pom.xml", "parent");
+        Path childPom = write("child/pom.xml", "child");
+        Model parent = model(parentPom, "parent", "1.0", null);
+        Model child = model(childPom, "child", null, parent.withVersion("[1.0,2.0)"));
+
+        IncrementalModelCache cache = new IncrementalModelCache();
+        cache.put(childPom, context("key", Arrays.asList(parent, child)), result(child, parent), null);
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testRetainReactor() throws Exception {
+        Path pom = write("pom.xml", "project");
+        Path otherPom = write("other/pom.xml", "other");
+        Model model = model(pom, "project", "1.0", null);
+        Model other = model(otherPom, "other", "1.0", null);
+        List<Model> reactor = Arrays.asList(model, other);
+
+        IncrementalModelCache cache = new IncrementalModelCache();
+        cache.put(pom, context("key", reactor), result(model), null);
+        cache.put(otherPom, context("key", reactor), result(other), null);
+        assertEquals(2, cache.size());
+
+        cache.retain(Collections.singleton(pom));
+        assertEquals(1, cache.size());
+        assertNull(cache.get(otherPom, context("key", reactor)));
+    }
+
+    private Path write(String name, String content) throws Exception {
+        Path file = dir.resolve(name);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content);
+        return file;
+    }
+
+    private static IncrementalModelCache.Context context(String key, List<Model> reactor) {
+        return new IncrementalModelCache.Context(key, reactor, Collections.emptyMap());
+    }
+
+    private static Model model(Path pomFile, String artifactId, String version, Model parent) {
+        return Model.newBuilder()
+                .pomFile(pomFile)
+                .groupId(parent == null ? "org.example" : null)
+                .artifactId(artifactId)
+                .version(version)
+                .parent(
+                        parent != null
+                                ? Parent.newBuilder()
+                                        .groupId("org.example")
+                                        .artifactId(parent.getArtifactId())
+                                        .version(parent.getVersion())
+                                        .build()
+                                : null)
+                .build();
+    }
+
+    private static ModelBuilderResult result(Model... lineage) {
+        ModelBuilderResult result = mock(ModelBuilderResult.class);
+        List<String> ids = new ArrayList<>();
+        for (Model model : lineage) {
+            String id = model.getArtifactId();
+            ids.add(id);
+            when(result.getRawModel(id)).thenReturn(Optional.of(model));
+        }
+        ids.add("");
+        when(result.getModelIds()).thenReturn(ids);
+        when(result.getEffectiveModel()).thenReturn(lineage[0]);
+        return result;
+    }
+}
@@ -19,13 +19,18 @@
 package org.apache.maven.project;
 
 import java.io.File;
+import java.io.IOException;
+import java.net.URL;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Enumeration;
 import java.util.List;
 import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.maven.AbstractCoreMavenComponentTestCase;
@@ -51,7 +56,9 @@
 import static org.hamcrest.Matchers.hasKey;
 import static org.hamcrest.Matchers.is;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -297,6 +304,58 @@ private MavenProject findChildProject(List<ProjectBuildingResult> results) {
         return null;
     }
 
+    @Test
+    void testBuildReactorWithContextClassLoader(@TempDir Path tempDir) throws Exception {
+        StringBuilder modules = new StringBuilder();
+        for (int i = 0; i < 8; i++) {
+            modules.append("<module>module-").append(i).append("</module>");
+            Path module = Files.createDirectories(tempDir.resolve("module-" + i));
+            Files.writeString(
+                    module.resolve("pom.xml"),
+                    "<project><modelVersion>4.0.0</modelVersion>"
+                            + "<parent><groupId>org.example</groupId><artifactId>parent</artifactId>"
+                            + "<version>1.0-SNAPSHOT</version></parent>"
+                            + "<artifactId>module-" + i + "</artifactId></project>");
+        }
+        Path pom = tempDir.resolve("pom.xml");
+        Files.writeString(
+                pom,
+                "<project><modelVersion>4.0.0</modelVersion>"
+                        + "<groupId>org.example</groupId><artifactId>parent</artifactId>"
+                        + "<version>1.0-SNAPSHOT</version><packaging>pom</packaging>"
+                        + "<modules>" + modules + "</modules></project>");
+
+        MavenSession mavenSession = createMavenSession(null);
+        ProjectBuildingRequest configuration = new DefaultProjectBuildingRequest();
+        configuration.setRepositorySession(mavenSession.getRepositorySession());
+        configuration.getUserProperties().setProperty("maven.projectBuilder.parallelism", "4");
+
+        // the StAX implementation is looked up through the context class loader
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        Thread current = Thread.currentThread();
+        ClassLoader contextClassLoader = current.getContextClassLoader();
+        ClassLoader recording = new ClassLoader(contextClassLoader) {
+            @Override
+            public Enumeration<URL> getResources(String name) throws IOException {
+                threads.add(Thread.currentThread());
+                return super.getResources(name);
+            }
+        };
+        List<ProjectBuildingResult> results;
+        current.setContextClassLoader(recording);
+        try {
+            results = projectBuilder.build(Collections.singletonList(pom.toFile()), true, configuration);
+            assertSame(recording, current.getContextClassLoader());
+        } finally {
+            current.setContextClassLoader(contextClassLoader);
+        }
+
+        assertEquals(9, results.size());
+        assertResultShowNoError(results);
+        threads.remove(current);
+        assertFalse(threads.isEmpty(), "the context class loader is not used by the workers");
+    }
+
     private void assertResultShowNoError(List<ProjectBuildingResult> results) {
         for (ProjectBuildingResult result : results) {
             assertThat(result.getProblems(), is(empty()));
@@ -20,13 +20,15 @@
 
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
-import java.util.Hashtable;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * A cache of introspection information for a specific class instance.
  * Keys {@link Method} objects by a concatenation of the
  * method name and the names of classes that make up the parameters.
+ * Lookups do not lock, so a single instance can be shared by concurrent
+ * interpolations.
  */
 class ClassMap {
     private static final class CacheMiss {}
@@ -45,9 +47,9 @@ private static final class CacheMiss {}
      * Cache of Methods, or CACHE_MISS, keyed by method
      * name and actual arguments used to find it.
      */
-    private final Map<String, Object> methodCache = new Hashtable<>();
+    private final Map<String, Object> methodCache = new ConcurrentHashMap<>();
 
-    private MethodMap methodMap = new MethodMap();
+    private final MethodMap methodMap = new MethodMap();
 
     /**
      * Standard constructor
@@ -95,11 +97,7 @@ public Method findMethod(String name, Object... params) throws MethodMap.Ambiguo
                 throw ae;
             }
 
-            if (cacheEntry == null) {
-                methodCache.put(methodKey, CACHE_MISS);
-            } else {
-                methodCache.put(methodKey, cacheEntry);
-            }
+            methodCache.put(methodKey, cacheEntry == null ? CACHE_MISS : cacheEntry);
         }
 
         // Yes, this might just be null.
@@ -176,6 +174,10 @@ private String makeMethodKey(Method method) {
     }
 
     private static String makeMethodKey(String method, Object... params) {
+        if (params.length == 0) {
+            return method;
+        }
+
         StringBuilder methodKey = new StringBuilder().append(method);
 
         for (Object param : params) {
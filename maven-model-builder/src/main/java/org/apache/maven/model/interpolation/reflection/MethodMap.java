@@ -20,7 +20,7 @@
 
 import java.lang.reflect.Method;
 import java.util.ArrayList;
-import java.util.Hashtable;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
@@ -34,9 +34,10 @@ class MethodMap {
     private static final int INCOMPARABLE = 2;
 
     /**
-     * Keep track of all methods with the same name.
+     * Keep track of all methods with the same name. Only populated while the owning
+     * {@link ClassMap} is constructed, and read-only afterwards.
      */
-    private final Map<String, List<Method>> methodByNameMap = new Hashtable<>();
+    private final Map<String, List<Method>> methodByNameMap = new HashMap<>();
 
     /**
      * Add a method to a list of methods by name.
@@ -18,16 +18,14 @@
  */
 package org.apache.maven.model.interpolation.reflection;
 
-import java.lang.ref.Reference;
-import java.lang.ref.WeakReference;
 import java.lang.reflect.Array;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.maven.api.annotations.Nonnull;
 import org.apache.maven.api.annotations.Nullable;
@@ -44,11 +42,43 @@ public class ReflectionValueExtractor {
     private static final Object[] OBJECT_ARGS = new Object[0];
 
     /**
-     * Use a WeakHashMap here, so the keys (Class objects) can be garbage collected.
-     * This approach prevents permgen space overflows due to retention of discarded
-     * classloaders.
+     * The introspection information per class, shared by all threads and sessions. A {@link ClassValue} keeps it
+     * with the class, so the classes and their class loaders can still be garbage collected.
      */
-    private static final Map<Class<?>, WeakReference<ClassMap>> CLASS_MAPS = new WeakHashMap<>();
+    private static final ClassValue<ClassMap> CLASS_MAPS = new ClassValue<ClassMap>() {
+        @Override
+        protected ClassMap computeValue(Class<?> type) {
+            return new ClassMap(type);
+        }
+    };
+
+    private static final String[] ACCESSOR_PREFIXES = {"get", "is", "to", "as"};
+
+    private static final Object NO_ACCESSOR = new Object();
+
+    /**
+     * The accessor methods resolved per class, keyed by the capitalized property name, or {@link #NO_ACCESSOR}. A
+     * {@link ClassValue} keeps the entries with the class, so it does not prevent class loaders from being discarded.
+     */
+    private static final ClassValue<Map<String, Object>> ACCESSORS = new ClassValue<Map<String, Object>>() {
+        @Override
+        protected Map<String, Object> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private static final int MAX_CACHED_EXPRESSIONS = 10000;
+
+    /**
+     * The compiled expressions, which only hold the parsed accessor chains and no reference to any class.
+     */
+    private static final Map<String, Step[]> EXPRESSIONS = new ConcurrentHashMap<>();
+
+    private static final Map<String, Step[]> TRIMMED_EXPRESSIONS = new ConcurrentHashMap<>();
+
+    private static final Step NULL_STEP = value -> null;
+
+    private static final Step[] NULL_STEPS = {NULL_STEP};
 
     static final int EOF = -1;
 
@@ -120,6 +150,14 @@ public String toString() {
         }
     }
 
+    /**
+     * One accessor of a compiled expression, applied to the non-null value of the previous one.
+     */
+    @FunctionalInterface
+    private interface Step {
+        Object apply(Object value) throws IntrospectionException;
+    }
+
     private ReflectionValueExtractor() {}
 
     /**
@@ -161,15 +199,42 @@ public static Object evaluate(@Nonnull String expression, @Nullable Object root)
      */
     public static Object evaluate(@Nonnull String expression, @Nullable Object root, boolean trimRootToken)
             throws IntrospectionException {
-        Object value = root;
+        if (expression == null) {
+            return null;
+        }
+
+        Map<String, Step[]> cache = trimRootToken ? TRIMMED_EXPRESSIONS : EXPRESSIONS;
+        Step[] steps = cache.get(expression);
+        if (steps == null) {
+            steps = compile(expression, trimRootToken);
+            if (cache.size() < MAX_CACHED_EXPRESSIONS) {
+                cache.putIfAbsent(expression, steps);
+            }
+        }
 
         // ----------------------------------------------------------------------
         // Walk the dots and retrieve the ultimate value desired from the
         // MavenProject instance.
         // ----------------------------------------------------------------------
 
-        if (expression == null || expression.isEmpty() || !Character.isJavaIdentifierStart(expression.charAt(0))) {
-            return null;
+        Object value = root;
+        for (int i = 0; value != null && i < steps.length; i++) {
+            value = steps[i].apply(value);
+        }
+
+        if (value instanceof Optional) {
+            value = ((Optional<?>) value).orElse(null);
+        }
+        return value;
+    }
+
+    /**
+     * Compiles the given expression into the chain of accessors to apply to the root object. An expression that
+     * cannot be parsed ends with a step that yields {@code null}, as its evaluation stops there.
+     */
+    private static Step[] compile(String expression, boolean trimRootToken) {
+        if (expression.isEmpty() || !Character.isJavaIdentifierStart(expression.charAt(0))) {
+            return NULL_STEPS;
         }
 
         boolean hasDots = expression.indexOf(PROPERTY_START) >= 0;
@@ -179,54 +244,52 @@ public static Object evaluate(@Nonnull String expression, @Nullable Object root,
             tokenizer = new Tokenizer(expression);
             tokenizer.nextPropertyName();
             if (tokenizer.getPosition() == EOF) {
-                return null;
+                return NULL_STEPS;
             }
         } else {
             tokenizer = new Tokenizer("." + expression);
         }
 
+        List<Step> steps = new ArrayList<>();
         int propertyPosition = tokenizer.getPosition();
-        while (value != null && tokenizer.peekChar() != EOF) {
+        while (tokenizer.peekChar() != EOF) {
+            Step step;
             switch (tokenizer.skipChar()) {
                 case INDEXED_START:
-                    value = getIndexedValue(
-                            expression,
-                            propertyPosition,
-                            tokenizer.getPosition(),
-                            value,
-                            tokenizer.nextToken(INDEXED_END));
+                    step = indexedStep(
+                            expression, propertyPosition, tokenizer.getPosition(), tokenizer.nextToken(INDEXED_END));
                     break;
                 case MAPPED_START:
-                    value = getMappedValue(
-                            expression,
-                            propertyPosition,
-                            tokenizer.getPosition(),
-                            value,
-                            tokenizer.nextToken(MAPPED_END));
+                    step = mappedStep(
+                            expression, propertyPosition, tokenizer.getPosition(), tokenizer.nextToken(MAPPED_END));
                     break;
                 case PROPERTY_START:
                     propertyPosition = tokenizer.getPosition();
-                    value = getPropertyValue(value, tokenizer.nextPropertyName());
+                    step = propertyStep(tokenizer.nextPropertyName());
                     break;
                 default:
                     // could not parse expression
-                    return null;
+                    step = NULL_STEP;
+                    break;
+            }
+            steps.add(step);
+            if (step == NULL_STEP) {
+                break;
             }
         }
+        return steps.toArray(new Step[0]);
+    }
 
-        if (value instanceof Optional) {
-            value = ((Optional<?>) value).orElse(null);
+    private static Step mappedStep(final String expression, final int from, final int to, final String key) {
+        if (key == null) {
+            return NULL_STEP;
         }
-        return value;
+        return value -> getMappedValue(expression, from, to, value, key);
     }
 
     private static Object getMappedValue(
             final String expression, final int from, final int to, final Object value, final String key)
             throws IntrospectionException {
-        if (value == null || key == null) {
-            return null;
-        }
-
         if (value instanceof Map) {
             return ((Map) value).get(key);
         }
@@ -239,12 +302,20 @@ private static Object getMappedValue(
         throw new IntrospectionException(message);
     }
 
+    private static Step indexedStep(final String expression, final int from, final int to, final String indexStr) {
+        final int index;
+        try {
+            index = Integer.parseInt(indexStr);
+        } catch (NumberFormatException e) {
+            return NULL_STEP;
+        }
+        return value -> getIndexedValue(expression, from, to, value, index);
+    }
+
     private static Object getIndexedValue(
-            final String expression, final int from, final int to, final Object value, final String indexStr)
+            final String expression, final int from, final int to, final Object value, final int index)
             throws IntrospectionException {
         try {
-            int index = Integer.parseInt(indexStr);
-
             if (value.getClass().isArray()) {
                 return Array.get(value, index);
             }
@@ -252,7 +323,7 @@ private static Object getIndexedValue(
             if (value instanceof List) {
                 return ((List) value).get(index);
             }
-        } catch (NumberFormatException | IndexOutOfBoundsException e) {
+        } catch (IndexOutOfBoundsException e) {
             return null;
         }
 
@@ -264,21 +335,18 @@ private static Object getIndexedValue(
         throw new IntrospectionException(message);
     }
 
-    private static Object getPropertyValue(Object value, String property) throws IntrospectionException {
-        if (value == null || property == null || property.isEmpty()) {
-            return null;
+    private static Step propertyStep(String property) {
+        if (property == null || property.isEmpty()) {
+            return NULL_STEP;
         }
-
-        ClassMap classMap = getClassMap(value.getClass());
         String methodBase = Character.toTitleCase(property.charAt(0)) + property.substring(1);
+        return value -> getPropertyValue(value, methodBase);
+    }
+
+    private static Object getPropertyValue(Object value, String methodBase) throws IntrospectionException {
         try {
-            for (String prefix : Arrays.asList("get", "is", "to", "as")) {
-                Method method = classMap.findMethod(prefix + methodBase);
-                if (method != null) {
-                    return method.invoke(value, OBJECT_ARGS);
-                }
-            }
-            return null;
+            Method method = findAccessor(value.getClass(), methodBase);
+            return method != null ? method.invoke(value, OBJECT_ARGS) : null;
         } catch (InvocationTargetException e) {
             throw new IntrospectionException(e.getTargetException());
         } catch (AmbiguousException | IllegalAccessException e) {
@@ -286,16 +354,25 @@ private static Object getPropertyValue(Object value, String property) throws Int
         }
     }
 
-    private static ClassMap getClassMap(Class<?> clazz) {
-        Reference<ClassMap> ref = CLASS_MAPS.get(clazz);
-        ClassMap classMap = ref != null ? ref.get() : null;
-
-        if (classMap == null) {
-            classMap = new ClassMap(clazz);
-
-            CLASS_MAPS.put(clazz, new WeakReference<>(classMap));
+    private static Method findAccessor(Class<?> clazz, String methodBase) throws AmbiguousException {
+        Map<String, Object> accessors = ACCESSORS.get(clazz);
+        Object accessor = accessors.get(methodBase);
+        if (accessor == null) {
+            ClassMap classMap = getClassMap(clazz);
+            accessor = NO_ACCESSOR;
+            for (String prefix : ACCESSOR_PREFIXES) {
+                Method method = classMap.findMethod(prefix + methodBase);
+                if (method != null) {
+                    accessor = method;
+                    break;
+                }
+            }
+            accessors.putIfAbsent(methodBase, accessor);
         }
+        return accessor instanceof Method ? (Method) accessor : null;
+    }
 
-        return classMap;
+    private static ClassMap getClassMap(Class<?> clazz) {
+        return CLASS_MAPS.get(clazz);
     }
 }
@@ -332,6 +332,20 @@ public void testTrimRootToken() throws Exception {
      *
      * @throws Exception if any.
      */
+    @Test
+    public void testSameExpressionOnDifferentTypes() throws Exception {
+        Dependency dependency = new Dependency();
+        dependency.setArtifactId("dep");
+        Artifact artifact = new Artifact("g", "a", "v", "e", "c");
+
+        for (int i = 0; i < 2; i++) {
+            assertEquals("maven-core", ReflectionValueExtractor.evaluate("x.artifactId", project));
+            assertEquals("dep", ReflectionValueExtractor.evaluate("x.artifactId", dependency));
+            assertEquals("a", ReflectionValueExtractor.evaluate("x.artifactId", artifact));
+            assertNull(ReflectionValueExtractor.evaluate("x.artifactId", new Build()));
+        }
+    }
+
     @Test
     public void testArtifactMap() throws Exception {
         assertEquals(
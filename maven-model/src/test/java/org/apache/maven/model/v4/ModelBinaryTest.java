@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.model.v4;
+
+import javax.xml.stream.XMLStreamException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StreamCorruptedException;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.apache.maven.api.model.InputLocation;
+import org.apache.maven.api.model.InputSource;
+import org.apache.maven.api.model.Model;
+import org.apache.maven.api.model.Plugin;
+import org.apache.maven.api.xml.XmlNode;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ModelBinaryTest {
+
+    private static final Path POM = Paths.get("src/test/resources/xml/pom.xml");
+
+    @Test
+    void testBinaryRoundtrip() throws Exception {
+        Model model = readPom();
+
+        Model read = fromBinary(toBinary(model, false));
+
+        assertEquals(toXml(model), toXml(read));
+        assertNull(read.getLocation(""));
+    }
+
+    @Test
+    void testBinaryRoundtripWithLocations() throws Exception {
+        Model model = readPom();
+
+        Model read = fromBinary(toBinary(model, true));
+
+        assertEquals(toXml(model), toXml(read));
+        InputLocation location = read.getLocation("artifactId");
+        assertNotNull(location);
+        assertEquals(model.getLocation("artifactId").getLineNumber(), location.getLineNumber());
+        assertEquals(model.getLocation("artifactId").getColumnNumber(), location.getColumnNumber());
+        assertEquals("org.apache.maven:maven-model:4.0.0", location.getSource().getModelId());
+        // sources are shared as in the original model
+        assertSame(location.getSource(), read.getLocation("name").getSource());
+        Plugin plugin = read.getBuild().getPlugins().get(0);
+        assertEquals(
+                plugin.getArtifactId(), model.getBuild().getPlugins().get(0).getArtifactId());
+    }
+
+    @Test
+    void testStringTable() throws Exception {
+        Model model = readPom();
+
+        byte[] binary = toBinary(model, false);
+
+        assertTrue(binary.length < Files.size(POM) / 2, "binary size " + binary.length);
+    }
+
+    @Test
+    void testDomRoundtrip() throws Exception {
+        XmlNode configuration = readPom()
+                .getBuild()
+                .getPlugins()
+                .get(0)
+                .getExecutions()
+                .get(0)
+                .getConfiguration();
+        assertNotNull(configuration);
+
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        new MavenBinaryWriter().writeDom(baos, configuration);
+        XmlNode read = new MavenBinaryReader().readDom(new ByteArrayInputStream(baos.toByteArray()));
+
+        assertEquals(configuration, read);
+        assertNull(read.getInputLocation());
+    }
+
+    @Test
+    void testInvalidStream() {
+        assertThrows(StreamCorruptedException.class, () -> new MavenBinaryReader()
+                .read(new ByteArrayInputStream(new byte[] {0, 0, 0, 0})));
+    }
+
+    Model readPom() throws IOException, XMLStreamException {
+        try (InputStream is = Files.newInputStream(POM)) {
+            return new MavenStaxReader()
+                    .read(is, true, new InputSource("org.apache.maven:maven-model:4.0.0", POM.toString()));
+        }
+    }
+
+    byte[] toBinary(Model model, boolean locations) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        MavenBinaryWriter writer = new MavenBinaryWriter();
+        writer.setAddLocationInformation(locations);
+        writer.write(baos, model);
+        return baos.toByteArray();
+    }
+
+    Model fromBinary(byte[] binary) throws IOException {
+        return new MavenBinaryReader().read(new ByteArrayInputStream(binary));
+    }
+
+    String toXml(Model model) throws IOException, XMLStreamException {
+        StringWriter sw = new StringWriter();
+        MavenStaxWriter writer = new MavenStaxWriter();
+        writer.setAddLocationInformation(false);
+        writer.write(sw, model);
+        return sw.toString();
+    }
+}
@@ -26,6 +26,7 @@
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.nio.file.Files;
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -116,6 +117,38 @@ public PluginDescriptor(PluginDescriptor original) {
         this.setDependencyNode(original.getDependencyNode());
     }
 
+    private PluginDescriptor(PluginDescriptor shared, List<MojoDescriptor> mojos) {
+        this.setGroupId(shared.getGroupId());
+        this.setArtifactId(shared.getArtifactId());
+        this.setVersion(shared.getVersion());
+        this.setGoalPrefix(shared.getGoalPrefix());
+        this.setInheritedByDefault(shared.isInheritedByDefault());
+        this.setName(shared.getName());
+        this.setDescription(shared.getDescription());
+        this.setRequiredMavenVersion(shared.getRequiredMavenVersion());
+        this.setRequiredJavaVersion(shared.getRequiredJavaVersion());
+        this.setPluginArtifact(ArtifactUtils.copyArtifactSafe(shared.getPluginArtifact()));
+        this.setComponents(mojos != null ? new MojoView(mojos, this) : null);
+        this.setId(shared.getId());
+        this.setIsolatedRealm(shared.isIsolatedRealm());
+        this.setSource(shared.getSource());
+        this.setDependencies(shared.getDependencies());
+        this.setDependencyNode(shared.getDependencyNode());
+    }
+
+    /**
+     * Creates a lightweight copy of this descriptor for a single use, e.g. to carry the class realm and artifacts of
+     * one plugin realm. Unlike the copy constructor, the mojo descriptors are only copied once they are accessed, so
+     * this descriptor can be shared (e.g. by a cache) and handed out cheaply. This descriptor must not be modified
+     * once views have been created from it.
+     *
+     * @return a new descriptor whose mojo descriptors refer to it, never {@code null}
+     * @since 4.0.0
+     */
+    public PluginDescriptor newView() {
+        return new PluginDescriptor(this, getMojos());
+    }
+
     private static List<ComponentDescriptor<?>> clone(List<MojoDescriptor> mojos, PluginDescriptor pluginDescriptor) {
         List<ComponentDescriptor<?>> clones = null;
         if (mojos != null) {
@@ -325,6 +358,10 @@ public MojoDescriptor getMojo(String goal) {
             return null; // no mojo in this POM
         }
 
+        if (getComponents() instanceof MojoView view) {
+            return view.get(goal);
+        }
+
         // TODO could we use a map? Maybe if the parent did that for components too, as this is too vulnerable to
         // changes above not being propagated to the map
         for (MojoDescriptor desc : getMojos()) {
@@ -499,4 +536,89 @@ public org.apache.maven.api.plugin.descriptor.PluginDescriptor getPluginDescript
         }
         return pluginDescriptorV4;
     }
+
+    /**
+     * The mojo descriptors of a {@link #newView() view}: copies the shared mojo descriptors on first access, so that
+     * they refer to the view, and falls back to a plain list once modified.
+     */
+    private static final class MojoView extends AbstractList<ComponentDescriptor<?>> {
+
+        private final List<MojoDescriptor> shared;
+
+        private final PluginDescriptor pluginDescriptor;
+
+        private MojoDescriptor[] copies;
+
+        private List<ComponentDescriptor<?>> modified;
+
+        MojoView(List<MojoDescriptor> shared, PluginDescriptor pluginDescriptor) {
+            this.shared = shared;
+            this.pluginDescriptor = pluginDescriptor;
+            this.copies = new MojoDescriptor[shared.size()];
+        }
+
+        @Override
+        public synchronized ComponentDescriptor<?> get(int index) {
+            if (modified != null) {
+                return modified.get(index);
+            }
+            MojoDescriptor copy = copies[index];
+            if (copy == null) {
+                copy = shared.get(index).clone();
+                copy.setPluginDescriptor(pluginDescriptor);
+                copies[index] = copy;
+            }
+            return copy;
+        }
+
+        synchronized MojoDescriptor get(String goal) {
+            if (modified != null) {
+                for (ComponentDescriptor<?> desc : modified) {
+                    if (goal.equals(((MojoDescriptor) desc).getGoal())) {
+                        return (MojoDescriptor) desc;
+                    }
+                }
+                return null;
+            }
+            for (int i = 0; i < copies.length; i++) {
+                if (goal.equals(shared.get(i).getGoal())) {
+                    return (MojoDescriptor) get(i);
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public synchronized int size() {
+            return modified != null ? modified.size() : copies.length;
+        }
+
+        @Override
+        public synchronized ComponentDescriptor<?> set(int index, ComponentDescriptor<?> element) {
+            return modified().set(index, element);
+        }
+
+        @Override
+        public synchronized void add(int index, ComponentDescriptor<?> element) {
+            modified().add(index, element);
+        }
+
+        @Override
+        public synchronized ComponentDescriptor<?> remove(int index) {
+            return modified().remove(index);
+        }
+
+        private List<ComponentDescriptor<?>> modified() {
+            if (modified == null) {
+                List<ComponentDescriptor<?>> list = new ArrayList<>(copies.length + 1);
+                for (int i = 0; i < copies.length; i++) {
+                    list.add(get(i));
+                }
+                modified = list;
+                copies = null;
+            }
+            modCount++;
+            return modified;
+        }
+    }
 }
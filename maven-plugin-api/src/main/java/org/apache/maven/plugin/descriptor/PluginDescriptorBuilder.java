@@ -120,6 +120,22 @@ public PluginDescriptor build(StreamSupplier inputSupplier, String source) throw
         }
     }
 
+    /**
+     * Builds a plugin descriptor from an already parsed {@code plugin.xml}, which must not use the
+     * {@value #PLUGIN_2_0_0} namespace.
+     *
+     * @param node the root node of the descriptor
+     * @param source the location the descriptor was read from, may be {@code null}
+     * @since 4.0.0
+     */
+    public PluginDescriptor build(XmlNode node, String source) throws PlexusConfigurationException {
+        if (PLUGIN_2_0_0.equals(node.getNamespaceUri())) {
+            throw new PlexusConfigurationException(
+                    "Plugin descriptors in the " + PLUGIN_2_0_0 + " namespace can not be built from a parsed node");
+        }
+        return build(source, XmlPlexusConfiguration.toPlexusConfiguration(node));
+    }
+
     private static BufferedInputStream reset(StreamSupplier inputSupplier, BufferedInputStream bis) throws IOException {
         try {
             bis.reset();
@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugin.descriptor;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class PluginDescriptorTest {
+
+    private static PluginDescriptor newPluginDescriptor() throws DuplicateMojoDescriptorException {
+        PluginDescriptor pluginDescriptor = new PluginDescriptor();
+        pluginDescriptor.setGroupId("org.apache.maven.plugins");
+        pluginDescriptor.setArtifactId("maven-test-plugin");
+        pluginDescriptor.setVersion("1.0");
+        pluginDescriptor.setGoalPrefix("test");
+        for (String goal : new String[] {"first", "second"}) {
+            MojoDescriptor mojoDescriptor = new MojoDescriptor();
+            mojoDescriptor.setGoal(goal);
+            mojoDescriptor.setPluginDescriptor(pluginDescriptor);
+            pluginDescriptor.addMojo(mojoDescriptor);
+        }
+        return pluginDescriptor;
+    }
+
+    @Test
+    void newViewCopiesMojosOnAccess() throws Exception {
+        PluginDescriptor shared = newPluginDescriptor();
+        PluginDescriptor view = shared.newView();
+
+        assertEquals(shared.getId(), view.getId());
+        assertEquals(2, view.getMojos().size());
+
+        MojoDescriptor mojo = view.getMojo("second");
+        assertNotSame(shared.getMojo("second"), mojo);
+        assertSame(view, mojo.getPluginDescriptor());
+        assertSame(mojo, view.getMojo("second"));
+        assertSame(mojo, view.getMojos().get(1));
+        assertSame(shared, shared.getMojo("second").getPluginDescriptor());
+        assertNull(view.getMojo("third"));
+    }
+
+    @Test
+    void newViewIsModifiable() throws Exception {
+        PluginDescriptor shared = newPluginDescriptor();
+        PluginDescriptor view = shared.newView();
+        MojoDescriptor first = view.getMojo("first");
+
+        MojoDescriptor mojoDescriptor = new MojoDescriptor();
+        mojoDescriptor.setGoal("third");
+        view.addMojo(mojoDescriptor);
+
+        assertEquals(3, view.getMojos().size());
+        assertSame(first, view.getMojo("first"));
+        assertSame(mojoDescriptor, view.getMojo("third"));
+        assertEquals(2, shared.getMojos().size());
+    }
+}
@@ -0,0 +1,299 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.internal.xml;
+
+import javax.xml.stream.Location;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.util.StreamReaderDelegate;
+
+import java.io.Serializable;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.maven.api.xml.XmlNode;
+
+/**
+ * A node whose content is only parsed when it is first accessed. It keeps the text of the element, with its position in
+ * the document it has been read from, and parses that fragment on demand, reporting the input locations of the
+ * document. The name, attributes and input location of the element, and the names of its children, are known upfront:
+ * reading them, looking up a missing child, or merging in a node that adds neither children nor attributes does not
+ * parse a node that has children. Reading the text of a leaf, or the children of any other node, does.
+ *
+ * @since 4.0.0
+ * @see XmlNodeStaxBuilder#buildDeferrable(XMLStreamReader, boolean, XmlNodeStaxBuilder.InputLocationBuilderStax,
+ *      Interner)
+ */
+public class DeferredXmlNode implements XmlNode, Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private static final XMLInputFactory FACTORY = newFactory();
+
+    private final String prefix;
+
+    private final String namespaceUri;
+
+    private final String name;
+
+    private final Map<String, String> attributes;
+
+    private final Object location;
+
+    private final boolean trim;
+
+    private transient String[] childNames;
+
+    private transient String fragment;
+
+    private transient int line;
+
+    private transient int column;
+
+    /**
+     * The namespaces in scope of the element that are used by the fragment, as prefix and URI pairs.
+     */
+    private transient String[] namespaces;
+
+    private transient XmlNodeStaxBuilder.InputLocationBuilderStax locationBuilder;
+
+    private transient Interner interner;
+
+    private transient volatile XmlNode node;
+
+    @SuppressWarnings("checkstyle:ParameterNumber")
+    DeferredXmlNode(
+            String prefix,
+            String namespaceUri,
+            String name,
+            Map<String, String> attributes,
+            String[] childNames,
+            Object location,
+            String fragment,
+            int line,
+            int column,
+            String[] namespaces,
+            boolean trim,
+            XmlNodeStaxBuilder.InputLocationBuilderStax locationBuilder,
+            Interner interner) {
+        this.prefix = prefix;
+        this.namespaceUri = namespaceUri;
+        this.name = name;
+        this.attributes = ImmutableCollections.copy(attributes);
+        this.childNames = childNames;
+        this.location = location;
+        this.fragment = fragment;
+        this.line = line;
+        this.column = column;
+        this.namespaces = namespaces;
+        this.trim = trim;
+        this.locationBuilder = locationBuilder;
+        this.interner = interner;
+    }
+
+    /**
+     * Checks whether the raw fragment, including markup, contains the given text. As character references are not
+     * resolved, a {@code false} result is only reliable for texts that cannot be written as character references.
+     *
+     * @param text the text to look for
+     * @return {@code true} if the fragment contains the text or has already been parsed
+     */
+    public boolean mayContain(String text) {
+        String fragment = this.fragment;
+        return node != null || fragment == null || fragment.contains(text) || fragment.contains("&#");
+    }
+
+    /**
+     * @return {@code true} if the fragment has already been parsed
+     */
+    public boolean isParsed() {
+        return node != null;
+    }
+
+    XmlNode getNode() {
+        XmlNode node = this.node;
+        if (node == null) {
+            synchronized (this) {
+                node = this.node;
+                if (node == null) {
+                    node = parse();
+                    this.node = node;
+                    fragment = null;
+                    childNames = null;
+                    namespaces = null;
+                    locationBuilder = null;
+                    interner = null;
+                }
+            }
+        }
+        return node;
+    }
+
+    private XmlNode parse() {
+        StringBuilder wrapped = new StringBuilder(fragment.length() + 64);
+        wrapped.append("<fragment");
+        for (int i = 0; i < namespaces.length; i += 2) {
+            wrapped.append(namespaces[i].isEmpty() ? " xmlns" : " xmlns:" + namespaces[i]);
+            wrapped.append("=\"")
+                    .append(namespaces[i + 1].replace("&", "&amp;").replace("\"", "&quot;"));
+            wrapped.append('"');
+        }
+        // the fragment starts on the second line, so that its first line can be shifted by the column of the element
+        wrapped.append(">\n").append(fragment).append("</fragment>");
+        try {
+            XMLStreamReader parser = FACTORY.createXMLStreamReader(new StringReader(wrapped.toString()));
+            parser.nextTag();
+            parser.nextTag();
+            return XmlNodeStaxBuilder.build(new LocatingReader(parser), trim, locationBuilder, interner);
+        } catch (XMLStreamException e) {
+            // the fragment was well-formed when the document was read
+            throw new IllegalStateException("Unable to parse the element " + name + " at line " + line, e);
+        }
+    }
+
+    private static XMLInputFactory newFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.IS_REPLACING_ENTITY_REFERENCES, false);
+        return factory;
+    }
+
+    /**
+     * Reports the locations of the fragment as locations in the document.
+     */
+    private class LocatingReader extends StreamReaderDelegate {
+        LocatingReader(XMLStreamReader reader) {
+            super(reader);
+        }
+
+        @Override
+        public Location getLocation() {
+            Location location = super.getLocation();
+            int fragmentLine = location.getLineNumber() - 1;
+            int documentLine = line + fragmentLine - 1;
+            int documentColumn =
+                    fragmentLine == 1 ? column + location.getColumnNumber() - 1 : location.getColumnNumber();
+            return new Location() {
+                @Override
+                public int getLineNumber() {
+                    return documentLine;
+                }
+
+                @Override
+                public int getColumnNumber() {
+                    return documentColumn;
+                }
+
+                @Override
+                public int getCharacterOffset() {
+                    return -1;
+                }
+
+                @Override
+                public String getPublicId() {
+                    return location.getPublicId();
+                }
+
+                @Override
+                public String getSystemId() {
+                    return location.getSystemId();
+                }
+            };
+        }
+    }
+
+    @Override
+    public String getPrefix() {
+        return prefix;
+    }
+
+    @Override
+    public String getNamespaceUri() {
+        return namespaceUri;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return {@code null} without parsing the node if it has children, as their text is not kept
+     */
+    @Override
+    public String getValue() {
+        String[] childNames = this.childNames;
+        return childNames != null && childNames.length > 0 ? null : getNode().getValue();
+    }
+
+    @Override
+    public Map<String, String> getAttributes() {
+        return attributes;
+    }
+
+    @Override
+    public String getAttribute(String name) {
+        return attributes.get(name);
+    }
+
+    @Override
+    public List<XmlNode> getChildren() {
+        String[] childNames = this.childNames;
+        return childNames != null && childNames.length == 0 ? List.of() : getNode().getChildren();
+    }
+
+    @Override
+    public XmlNode getChild(String name) {
+        String[] childNames = this.childNames;
+        if (childNames != null && (name == null || !Arrays.asList(childNames).contains(name))) {
+            return null;
+        }
+        return getNode().getChild(name);
+    }
+
+    @Override
+    public Object getInputLocation() {
+        return location;
+    }
+
+    @Override
+    public XmlNode merge(XmlNode source, Boolean childMergeOverride) {
+        return XmlNodeImpl.merge(this, source, childMergeOverride);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || getNode().equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        return getNode().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return getNode().toString();
+    }
+
+    private Object writeReplace() {
+        return getNode();
+    }
+}
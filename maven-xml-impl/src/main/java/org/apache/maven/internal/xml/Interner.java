@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.internal.xml;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A pool of strings and immutable objects, used to share equal instances between the parsed documents.
+ * The pool only grows, so it should be discarded along with the session it has been created for.
+ * Strings longer than {@value #MAX_STRING_LENGTH} characters, such as descriptions, are unlikely to be shared and
+ * are not pooled.
+ *
+ * @since 4.0.0
+ */
+public class Interner {
+    static final int MAX_STRING_LENGTH = 256;
+
+    private final Map<Object, Object> pool = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the pooled instance equal to the given value, or the value itself if none.
+     *
+     * @param value the value, may be {@code null}
+     * @return the pooled value
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T intern(T value) {
+        if (value == null || value instanceof String s && s.length() > MAX_STRING_LENGTH) {
+            return value;
+        }
+        Object pooled = pool.putIfAbsent(value, value);
+        return pooled != null ? (T) pooled : value;
+    }
+
+    /**
+     * @return the number of pooled values
+     */
+    public int size() {
+        return pool.size();
+    }
+}
@@ -24,16 +24,14 @@
 import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
 import java.util.Set;
 import java.util.function.Function;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import org.apache.maven.api.xml.XmlNode;
 
@@ -57,6 +55,16 @@ public class XmlNodeImpl implements Serializable, XmlNode {
 
     protected final Object location;
 
+    /**
+     * The number of children from which {@link #getChild(String)} uses an index instead of scanning them.
+     */
+    private static final int CHILD_INDEX_THRESHOLD = 8;
+
+    /**
+     * The last child of each name, built on the first lookup on a node with many children.
+     */
+    private transient volatile Map<String, XmlNode> childIndex;
+
     public XmlNodeImpl(String name) {
         this(name, null, null, null, null);
     }
@@ -141,7 +149,17 @@ public String getAttribute(String name) {
     // ----------------------------------------------------------------------
 
     public XmlNode getChild(String name) {
-        if (name != null) {
+        if (name != null && children.size() >= CHILD_INDEX_THRESHOLD) {
+            Map<String, XmlNode> index = childIndex;
+            if (index == null) {
+                index = new HashMap<>();
+                for (XmlNode child : children) {
+                    index.put(child.getName(), child);
+                }
+                childIndex = index;
+            }
+            return index.get(name);
+        } else if (name != null) {
             ListIterator<XmlNode> it = children.listIterator(children.size());
             while (it.hasPrevious()) {
                 XmlNode child = it.previous();
@@ -258,44 +276,28 @@ public static XmlNode merge(XmlNode dominant, XmlNode recessive, Boolean childMe
                     }
                 }
 
-                Map<String, Iterator<XmlNode>> commonChildren = new HashMap<>();
-                Set<String> names =
-                        recessive.getChildren().stream().map(XmlNode::getName).collect(Collectors.toSet());
-                for (String name : names) {
-                    List<XmlNode> dominantChildren = dominant.getChildren().stream()
-                            .filter(n -> n.getName().equals(name))
-                            .collect(Collectors.toList());
-                    if (!dominantChildren.isEmpty()) {
-                        commonChildren.put(name, dominantChildren.iterator());
-                    }
-                }
+                List<XmlNode> dominantChildren = dominant.getChildren();
+                Map<String, Iterator<XmlNode>> commonChildren =
+                        commonChildren(dominantChildren, recessive.getChildren());
 
                 String keysValue = recessive.getAttribute(KEYS_COMBINATION_MODE_ATTRIBUTE);
+                String[] keys = !isEmpty(keysValue) ? keysValue.split(",") : null;
 
                 for (XmlNode recessiveChild : recessive.getChildren()) {
                     String idValue = recessiveChild.getAttribute(ID_COMBINATION_MODE_ATTRIBUTE);
 
                     XmlNode childDom = null;
                     if (!isEmpty(idValue)) {
-                        for (XmlNode dominantChild : dominant.getChildren()) {
+                        for (XmlNode dominantChild : dominantChildren) {
                             if (idValue.equals(dominantChild.getAttribute(ID_COMBINATION_MODE_ATTRIBUTE))) {
                                 childDom = dominantChild;
                                 // we have a match, so don't append but merge
                                 mergeChildren = true;
                             }
                         }
-                    } else if (!isEmpty(keysValue)) {
-                        String[] keys = keysValue.split(",");
-                        Map<String, Optional<String>> recessiveKeyValues = Stream.of(keys)
-                                .collect(Collectors.toMap(
-                                        k -> k, k -> Optional.ofNullable(recessiveChild.getAttribute(k))));
-
-                        for (XmlNode dominantChild : dominant.getChildren()) {
-                            Map<String, Optional<String>> dominantKeyValues = Stream.of(keys)
-                                    .collect(Collectors.toMap(
-                                            k -> k, k -> Optional.ofNullable(dominantChild.getAttribute(k))));
-
-                            if (recessiveKeyValues.equals(dominantKeyValues)) {
+                    } else if (keys != null) {
+                        for (XmlNode dominantChild : dominantChildren) {
+                            if (hasSameKeys(keys, recessiveChild, dominantChild)) {
                                 childDom = dominantChild;
                                 // we have a match, so don't append but merge
                                 mergeChildren = true;
@@ -306,18 +308,10 @@ public static XmlNode merge(XmlNode dominant, XmlNode recessive, Boolean childMe
                     }
 
                     if (mergeChildren && childDom != null) {
-                        String name = recessiveChild.getName();
-                        Iterator<XmlNode> it =
-                                commonChildren.computeIfAbsent(name, n1 -> Stream.of(dominant.getChildren().stream()
-                                                .filter(n2 -> n2.getName().equals(n1))
-                                                .collect(Collectors.toList()))
-                                        .filter(l -> !l.isEmpty())
-                                        .map(List::iterator)
-                                        .findFirst()
-                                        .orElse(null));
+                        Iterator<XmlNode> it = commonChildren.get(recessiveChild.getName());
                         if (it == null) {
                             if (children == null) {
-                                children = new ArrayList<>(dominant.getChildren());
+                                children = new ArrayList<>(dominantChildren);
                             }
                             children.add(recessiveChild);
                         } else if (it.hasNext()) {
@@ -327,23 +321,22 @@ public static XmlNode merge(XmlNode dominant, XmlNode recessive, Boolean childMe
                                     dominantChild.getAttribute(SELF_COMBINATION_MODE_ATTRIBUTE);
                             if (SELF_COMBINATION_REMOVE.equals(dominantChildCombinationMode)) {
                                 if (children == null) {
-                                    children = new ArrayList<>(dominant.getChildren());
+                                    children = new ArrayList<>(dominantChildren);
                                 }
                                 children.remove(dominantChild);
                             } else {
-                                int idx = dominant.getChildren().indexOf(dominantChild);
                                 XmlNode merged = merge(dominantChild, recessiveChild, childMergeOverride);
                                 if (merged != dominantChild) {
                                     if (children == null) {
-                                        children = new ArrayList<>(dominant.getChildren());
+                                        children = new ArrayList<>(dominantChildren);
                                     }
-                                    children.set(idx, merged);
+                                    children.set(indexOf(dominantChildren, dominantChild), merged);
                                 }
                             }
                         }
                     } else {
                         if (children == null) {
-                            children = new ArrayList<>(dominant.getChildren());
+                            children = new ArrayList<>(dominantChildren);
                         }
                         int idx = mergeChildren
                                 ? children.size()
@@ -354,12 +347,14 @@ public static XmlNode merge(XmlNode dominant, XmlNode recessive, Boolean childMe
             }
 
             if (value != null || attrs != dominant.getAttributes() || children != null) {
+                // a copy of the children is only made once they are changed: merged children that differ from the
+                // dominant ones are distinct instances, so compare by identity instead of walking the subtrees
                 if (children == null) {
                     children = dominant.getChildren();
                 }
                 if (!Objects.equals(value, dominant.getValue())
                         || !Objects.equals(attrs, dominant.getAttributes())
-                        || !Objects.equals(children, dominant.getChildren())
+                        || children != dominant.getChildren()
                         || !Objects.equals(location, dominant.getInputLocation())) {
                     return new XmlNodeImpl(
                             dominant.getName(), value != null ? value : dominant.getValue(), attrs, children, location);
@@ -371,6 +366,50 @@ public static XmlNode merge(XmlNode dominant, XmlNode recessive, Boolean childMe
         return dominant;
     }
 
+    /**
+     * Groups the dominant children by name, in document order, for the names that also occur in the recessive
+     * children.
+     */
+    private static Map<String, Iterator<XmlNode>> commonChildren(
+            List<XmlNode> dominantChildren, List<XmlNode> recessiveChildren) {
+        Set<String> names = new HashSet<>();
+        for (XmlNode recessiveChild : recessiveChildren) {
+            names.add(recessiveChild.getName());
+        }
+        Map<String, List<XmlNode>> byName = new HashMap<>();
+        for (XmlNode dominantChild : dominantChildren) {
+            if (names.contains(dominantChild.getName())) {
+                byName.computeIfAbsent(dominantChild.getName(), n -> new ArrayList<>())
+                        .add(dominantChild);
+            }
+        }
+        Map<String, Iterator<XmlNode>> commonChildren = new HashMap<>();
+        byName.forEach((name, list) -> commonChildren.put(name, list.iterator()));
+        return commonChildren;
+    }
+
+    private static boolean hasSameKeys(String[] keys, XmlNode recessiveChild, XmlNode dominantChild) {
+        for (String key : keys) {
+            if (!Objects.equals(recessiveChild.getAttribute(key), dominantChild.getAttribute(key))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Looks up the position of the given child by identity, which neither walks the subtrees like
+     * {@link List#indexOf(Object)} nor confuses it with an equal sibling.
+     */
+    private static int indexOf(List<XmlNode> children, XmlNode child) {
+        for (int i = 0; i < children.size(); i++) {
+            if (children.get(i) == child) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
     /**
      * Merge two DOMs, with one having dominance in the case of collision. Merge mechanisms (vs. override for nodes, or
      * vs. append for children) is determined by attributes of the dominant root node.
@@ -394,14 +433,13 @@ public boolean equals(Object o) {
         if (this == o) {
             return true;
         }
-        if (o == null || getClass() != o.getClass()) {
+        if (!(o instanceof XmlNode that)) {
             return false;
         }
-        XmlNodeImpl that = (XmlNodeImpl) o;
-        return Objects.equals(this.name, that.name)
-                && Objects.equals(this.value, that.value)
-                && Objects.equals(this.attributes, that.attributes)
-                && Objects.equals(this.children, that.children);
+        return Objects.equals(this.name, that.getName())
+                && Objects.equals(this.value, that.getValue())
+                && Objects.equals(this.attributes, that.getAttributes())
+                && Objects.equals(this.children, that.getChildren());
     }
 
     @Override
@@ -18,18 +18,25 @@
  */
 package org.apache.maven.internal.xml;
 
+import javax.xml.stream.Location;
 import javax.xml.stream.XMLInputFactory;
 import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.util.StreamReaderDelegate;
 
 import java.io.InputStream;
 import java.io.Reader;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import org.apache.maven.api.xml.XmlNode;
+import org.codehaus.stax2.XMLStreamReader2;
 
 /**
  * All methods in this class attempt to fully parse the XML.
@@ -60,6 +67,18 @@ public static XmlNodeImpl build(XMLStreamReader parser, InputLocationBuilderStax
 
     public static XmlNodeImpl build(XMLStreamReader parser, boolean trim, InputLocationBuilderStax locationBuilder)
             throws XMLStreamException {
+        return build(parser, trim, locationBuilder, null);
+    }
+
+    /**
+     * Builds the node at the current position of the parser, sharing the names and values through the given
+     * interner, if any.
+     *
+     * @since 4.0.0
+     */
+    public static XmlNodeImpl build(
+            XMLStreamReader parser, boolean trim, InputLocationBuilderStax locationBuilder, Interner interner)
+            throws XMLStreamException {
         boolean spacePreserve = false;
         String lPrefix = null;
         String lNamespaceUri = null;
@@ -75,35 +94,17 @@ public static XmlNodeImpl build(XMLStreamReader parser, boolean trim, InputLocat
                 lastStartTag = parser.getLocation().getLineNumber() * 1000
                         + parser.getLocation().getColumnNumber();
                 if (lName == null) {
-                    int namespacesSize = parser.getNamespaceCount();
                     lPrefix = parser.getPrefix();
                     lNamespaceUri = parser.getNamespaceURI();
                     lName = parser.getLocalName();
                     location = locationBuilder != null ? locationBuilder.toInputLocation(parser) : null;
-                    int attributesSize = parser.getAttributeCount();
-                    if (attributesSize > 0 || namespacesSize > 0) {
-                        attrs = new HashMap<>();
-                        for (int i = 0; i < namespacesSize; i++) {
-                            String nsPrefix = parser.getNamespacePrefix(i);
-                            String nsUri = parser.getNamespaceURI(i);
-                            attrs.put(nsPrefix != null && !nsPrefix.isEmpty() ? "xmlns:" + nsPrefix : "xmlns", nsUri);
-                        }
-                        for (int i = 0; i < attributesSize; i++) {
-                            String aName = parser.getAttributeLocalName(i);
-                            String aValue = parser.getAttributeValue(i);
-                            String aPrefix = parser.getAttributePrefix(i);
-                            if (aPrefix != null && !aPrefix.isEmpty()) {
-                                aName = aPrefix + ":" + aName;
-                            }
-                            attrs.put(aName, aValue);
-                            spacePreserve = spacePreserve || ("xml:space".equals(aName) && "preserve".equals(aValue));
-                        }
-                    }
+                    attrs = readAttributes(parser, interner);
+                    spacePreserve = attrs != null && "preserve".equals(attrs.get("xml:space"));
                 } else {
                     if (children == null) {
                         children = new ArrayList<>();
                     }
-                    XmlNode child = build(parser, trim, locationBuilder);
+                    XmlNode child = build(parser, trim, locationBuilder, interner);
                     children.add(child);
                 }
             } else if (eventType == XMLStreamReader.CHARACTERS || eventType == XMLStreamReader.CDATA) {
@@ -116,6 +117,12 @@ public static XmlNodeImpl build(XMLStreamReader parser, boolean trim, InputLocat
                 if (lValue != null && trim && !spacePreserve) {
                     lValue = lValue.trim();
                 }
+                if (interner != null) {
+                    lPrefix = interner.intern(lPrefix);
+                    lNamespaceUri = interner.intern(lNamespaceUri);
+                    lName = interner.intern(lName);
+                    lValue = interner.intern(lValue);
+                }
                 return new XmlNodeImpl(
                         lPrefix,
                         lNamespaceUri,
@@ -130,6 +137,124 @@ public static XmlNodeImpl build(XMLStreamReader parser, boolean trim, InputLocat
         throw new IllegalStateException("End of document found before returning to 0 depth");
     }
 
+    private static Map<String, String> readAttributes(XMLStreamReader parser, Interner interner) {
+        int namespacesSize = parser.getNamespaceCount();
+        int attributesSize = parser.getAttributeCount();
+        if (attributesSize == 0 && namespacesSize == 0) {
+            return null;
+        }
+        Map<String, String> attrs = new HashMap<>();
+        for (int i = 0; i < namespacesSize; i++) {
+            String nsPrefix = parser.getNamespacePrefix(i);
+            String nsUri = parser.getNamespaceURI(i);
+            attrs.put(nsPrefix != null && !nsPrefix.isEmpty() ? "xmlns:" + nsPrefix : "xmlns", nsUri);
+        }
+        for (int i = 0; i < attributesSize; i++) {
+            String aName = parser.getAttributeLocalName(i);
+            String aValue = parser.getAttributeValue(i);
+            String aPrefix = parser.getAttributePrefix(i);
+            if (aPrefix != null && !aPrefix.isEmpty()) {
+                aName = aPrefix + ":" + aName;
+            }
+            if (interner != null) {
+                aName = interner.intern(aName);
+                aValue = interner.intern(aValue);
+            }
+            attrs.put(aName, aValue);
+        }
+        return attrs;
+    }
+
+    /**
+     * Builds the node at the current position of the parser. If the parser is a {@link DocumentStreamReader}, the
+     * element is only skipped and the returned node parses it from the document when it is first accessed. Its
+     * name, attributes, input location and the names of its children are read while skipping it.
+     *
+     * @since 4.0.0
+     */
+    public static XmlNode buildDeferrable(
+            XMLStreamReader parser, boolean trim, InputLocationBuilderStax locationBuilder, Interner interner)
+            throws XMLStreamException {
+        if (!(parser instanceof DocumentStreamReader reader)) {
+            return build(parser, trim, locationBuilder, interner);
+        }
+        String document = reader.document;
+        Location location = parser.getLocation();
+        int start = location.getCharacterOffset();
+        String name = parser.getLocalName();
+        String prefix = parser.getPrefix();
+        int nameStart = start + 1 + (prefix == null || prefix.isEmpty() ? 0 : prefix.length() + 1);
+        if (reader.isEmptyElement() || !document.startsWith("<", start) || !document.startsWith(name, nameStart)) {
+            return build(parser, trim, locationBuilder, interner);
+        }
+        String namespaceUri = parser.getNamespaceURI();
+        Object inputLocation = locationBuilder != null ? locationBuilder.toInputLocation(parser) : null;
+        Map<String, String> attributes = readAttributes(parser, interner);
+        Set<String> childNames = new LinkedHashSet<>();
+        Map<String, String> namespaces = new LinkedHashMap<>();
+        namespaces.put("", namespaceUri != null && (prefix == null || prefix.isEmpty()) ? namespaceUri : "");
+        int depth = 0;
+        int eventType = parser.getEventType();
+        while (true) {
+            if (eventType == XMLStreamReader.START_ELEMENT) {
+                if (++depth == 2) {
+                    childNames.add(parser.getLocalName());
+                }
+                addNamespace(namespaces, parser.getPrefix(), parser.getNamespaceURI());
+                for (int i = 0; i < parser.getAttributeCount(); i++) {
+                    addNamespace(namespaces, parser.getAttributePrefix(i), parser.getAttributeNamespace(i));
+                }
+            } else if (eventType == XMLStreamReader.END_ELEMENT && --depth == 0) {
+                break;
+            }
+            eventType = parser.next();
+        }
+        int end = document.indexOf('>', parser.getLocation().getCharacterOffset()) + 1;
+        return new DeferredXmlNode(
+                interner != null ? interner.intern(prefix) : prefix,
+                interner != null ? interner.intern(namespaceUri) : namespaceUri,
+                interner != null ? interner.intern(name) : name,
+                attributes,
+                childNames.toArray(String[]::new),
+                inputLocation,
+                document.substring(start, end),
+                location.getLineNumber(),
+                location.getColumnNumber(),
+                namespaces.entrySet().stream()
+                        .flatMap(e -> Stream.of(e.getKey(), e.getValue()))
+                        .toArray(String[]::new),
+                trim,
+                locationBuilder,
+                interner);
+    }
+
+    private static void addNamespace(Map<String, String> namespaces, String prefix, String namespaceUri) {
+        if (prefix != null && !prefix.isEmpty() && !"xml".equals(prefix) && namespaceUri != null) {
+            namespaces.putIfAbsent(prefix, namespaceUri);
+        }
+    }
+
+    /**
+     * A parser of a document held in memory, whose elements are built as {@link DeferredXmlNode deferred nodes} by
+     * {@link #buildDeferrable(XMLStreamReader, boolean, InputLocationBuilderStax, Interner)}. The parser must read
+     * exactly the given document, so that its character offsets refer to it, and must not expand entities defined
+     * in a DTD.
+     *
+     * @since 4.0.0
+     */
+    public static class DocumentStreamReader extends StreamReaderDelegate {
+        private final String document;
+
+        public DocumentStreamReader(XMLStreamReader parser, String document) {
+            super(parser);
+            this.document = document;
+        }
+
+        boolean isEmptyElement() throws XMLStreamException {
+            return !(getParent() instanceof XMLStreamReader2 reader2) || reader2.isEmptyElement();
+        }
+    }
+
     /**
      * Input location builder interface, to be implemented to choose how to store data.
      *
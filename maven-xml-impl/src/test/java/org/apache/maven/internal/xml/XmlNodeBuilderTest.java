@@ -28,6 +28,11 @@
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class XmlNodeBuilderTest {
 
@@ -55,4 +60,58 @@ void testWithNamespace() throws Exception {
         assertEquals(1, node.getAttributes().size());
         assertEquals("foo:bar", node.getAttribute("xmlns"));
     }
+
+    @Test
+    void testWithInterner() throws Exception {
+        String doc = "<?xml version='1.0'?><doc a='value'><child>value</child><child>value</child></doc>";
+        XMLStreamReader xsr = XMLInputFactory.newFactory().createXMLStreamReader(new StringReader(doc));
+        Interner interner = new Interner();
+        XmlNode node = XmlNodeStaxBuilder.build(xsr, true, null, interner);
+        String value = node.getAttribute("a");
+        assertEquals("value", value);
+        assertSame(value, node.getChildren().get(0).getValue());
+        assertSame(value, node.getChildren().get(1).getValue());
+        assertSame(
+                node.getChildren().get(0).getName(), node.getChildren().get(1).getName());
+    }
+
+    @Test
+    void testDeferred() throws Exception {
+        String doc = "<?xml version='1.0'?>\n<doc xmlns:p='foo:bar'>\n  <configuration>\n    <a>value</a>\n"
+                + "    <p:b x='y'>&amp;</p:b>\n  </configuration>\n</doc>";
+        XmlNodeStaxBuilder.InputLocationBuilderStax locationBuilder =
+                p -> p.getLocation().getLineNumber() + ":" + p.getLocation().getColumnNumber();
+
+        XMLStreamReader xsr = XMLInputFactory.newFactory().createXMLStreamReader(new StringReader(doc));
+        xsr.nextTag();
+        xsr.nextTag();
+        XmlNode expected = XmlNodeStaxBuilder.build(xsr, true, locationBuilder, null);
+
+        xsr = new XmlNodeStaxBuilder.DocumentStreamReader(
+                XMLInputFactory.newFactory().createXMLStreamReader(new StringReader(doc)), doc);
+        xsr.nextTag();
+        xsr.nextTag();
+        XmlNode node = XmlNodeStaxBuilder.buildDeferrable(xsr, true, locationBuilder, null);
+        assertEquals(XMLStreamReader.END_ELEMENT, xsr.nextTag());
+        assertEquals("doc", xsr.getLocalName());
+
+        DeferredXmlNode deferred = assertInstanceOf(DeferredXmlNode.class, node);
+        assertEquals("configuration", deferred.getName());
+        assertTrue(deferred.mayContain("value"));
+        assertFalse(deferred.mayContain("${"));
+        assertEquals(expected.getAttributes(), node.getAttributes());
+        assertEquals(expected.getInputLocation(), node.getInputLocation());
+        assertNull(node.getValue());
+        assertNull(node.getChild("c"));
+        assertSame(node, node.merge(new XmlNodeImpl("configuration")));
+        assertFalse(deferred.isParsed());
+
+        assertEquals(expected, node);
+        assertTrue(deferred.isParsed());
+        assertEquals(expected.getInputLocation(), node.getInputLocation());
+        assertEquals(expected.getChild("a").getInputLocation(), node.getChild("a").getInputLocation());
+        assertEquals(expected.getChild("b").getInputLocation(), node.getChild("b").getInputLocation());
+        assertEquals("&", node.getChild("b").getValue());
+        assertEquals("foo:bar", node.getChild("b").getNamespaceUri());
+    }
 }
@@ -40,6 +40,7 @@
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 class XmlNodeImplTest {
 
@@ -560,6 +561,50 @@ void testDupeChildren() throws IOException, XMLStreamException {
         assertEquals("y", dom.getChild("foo").getValue());
     }
 
+    @Test
+    void testGetChildOfWideNode() throws IOException, XMLStreamException {
+        StringBuilder sb = new StringBuilder("<configuration>");
+        for (int i = 0; i < 20; i++) {
+            sb.append("<p")
+                    .append(i)
+                    .append(">")
+                    .append(i)
+                    .append("</p")
+                    .append(i)
+                    .append(">");
+        }
+        sb.append("<p3>last</p3></configuration>");
+        XmlNode dom = toXmlNode(sb.toString());
+        assertEquals("0", dom.getChild("p0").getValue());
+        assertEquals("19", dom.getChild("p19").getValue());
+        assertEquals("last", dom.getChild("p3").getValue());
+        assertNull(dom.getChild("p20"));
+        assertNull(dom.getChild(null));
+    }
+
+    @Test
+    void testMergeIntoEqualSiblings() throws IOException, XMLStreamException {
+        XmlNode dominant = toXmlNode("<items><item>x</item><item>x</item></items>");
+        XmlNode recessive = toXmlNode("<items><item a='1'/><item b='2'/></items>");
+
+        XmlNode result = XmlNodeImpl.merge(dominant, recessive);
+
+        assertEquals(2, result.getChildren().size());
+        assertEquals("1", result.getChildren().get(0).getAttribute("a"));
+        assertEquals("2", result.getChildren().get(1).getAttribute("b"));
+    }
+
+    @Test
+    void testNoOpMergeReturnsDominant() throws IOException, XMLStreamException {
+        String xml =
+                "<configuration><a>1</a><b><c>2</c><c>3</c></b><d combine.children='append'><e/></d></configuration>";
+        XmlNode dominant = toXmlNode(xml);
+
+        assertSame(
+                dominant, XmlNodeImpl.merge(dominant, toXmlNode("<configuration><a>0</a><b><c/></b></configuration>")));
+        assertSame(dominant, XmlNodeImpl.merge(dominant, toXmlNode("<configuration/>")));
+    }
+
     /**
      * <p>testShouldRemoveEntireElementWithAttributesAndChildren.</p>
      *